@@ -0,0 +1,30 @@
+#!/bin/sh
+# Builds and runs the JMH benchmarks of the game engine.
+#
+#   JMH_LIB=/path/to/jmh/jars benchmarks/run-benchmarks.sh [JMH options] [benchmark regex]
+#
+# JMH_LIB must hold jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3.
+# Only the engine is compiled, so JavaFX is not needed. Every run uses the GC
+# profiler for allocation rates and writes its results as JSON to benchmarks/results/
+# (override with RESULTS=file). Extra arguments go to JMH, e.g. "-f 2 AIPlayer".
+set -e
+
+cd "$(dirname "$0")/.."
+: "${JMH_LIB:?Set JMH_LIB to a directory containing the JMH jars}"
+
+BUILD=benchmarks/build
+RESULTS=${RESULTS:-benchmarks/results/jmh-$(date +%Y%m%d-%H%M%S).json}
+CLASSPATH=$(find "$JMH_LIB" -name '*.jar' | tr '\n' ':')
+
+rm -rf "$BUILD"
+mkdir -p "$BUILD/classes" "$(dirname "$RESULTS")"
+
+# The engine is compiled without its module descriptor so the benchmarks and JMH can sit
+# beside it on the class path; taking every engine source keeps new dependencies covered.
+javac -encoding UTF-8 -d "$BUILD/classes" -cp "$CLASSPATH" -processorpath "$CLASSPATH" \
+    $(find engine/src -name '*.java' ! -name module-info.java) \
+    benchmarks/src/bench/*.java
+
+java -cp "$BUILD/classes:$CLASSPATH" org.openjdk.jmh.Main \
+    -prof gc -rf json -rff "$RESULTS" "$@"
+echo "Results written to $RESULTS"
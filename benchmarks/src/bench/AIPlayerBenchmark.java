@@ -0,0 +1,52 @@
+package bench;
+
+import logic.AIPlayer;
+import logic.GameLogic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move choice of {@link AIPlayer} at each difficulty. The AI only chooses a move, so
+ * the board is left unchanged between invocations.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AIPlayerBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String position;
+
+    @Param({"Easy", "Medium", "Hard"})
+    public String difficulty;
+
+    private AIPlayer ai;
+
+    @Setup
+    public void setUp() {
+        GameLogic gameLogic = Positions.load(position);
+        ai = new AIPlayer(gameLogic, difficulty, Positions.playerToMove(position));
+    }
+
+    /** Chooses a move as the game does on the AI's turn. */
+    @Benchmark
+    public int getMove() {
+        return ai.getMove();
+    }
+}
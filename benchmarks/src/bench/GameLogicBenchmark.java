@@ -0,0 +1,85 @@
+package bench;
+
+import logic.AIPlayer;
+import logic.GameLogic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board operations of {@link GameLogic}: win detection, finding the landing row, and
+ * playing and undoing a move in every column; and the {@link AIPlayer} static
+ * evaluation that the search applies to every position at its depth limit.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameLogicBenchmark {
+    @Param({"opening", "midgame", "endgame"})
+    public String position;
+
+    private GameLogic gameLogic;
+    private AIPlayer ai;
+    private int player;
+
+    @Setup
+    public void setUp() {
+        gameLogic = Positions.load(position);
+        player = Positions.playerToMove(position);
+        ai = new AIPlayer(gameLogic, "Hard", player);
+    }
+
+    /** Scans the whole board for four in a row for both players; neither has one. */
+    @Benchmark
+    public void checkWinState(Blackhole blackhole) {
+        blackhole.consume(gameLogic.checkWinState(1));
+        blackhole.consume(gameLogic.checkWinState(2));
+    }
+
+    /** Finds the landing row of every column. */
+    @Benchmark
+    public void getAvailableRow(Blackhole blackhole) {
+        for (int col = 0; col < 7; col++) {
+            blackhole.consume(gameLogic.getAvailableRow(col));
+        }
+    }
+
+    /** Plays and takes back a move in every column with room, as a search does. */
+    @Benchmark
+    public void makeAndUndoMove(Blackhole blackhole) {
+        for (int col = 0; col < 7; col++) {
+            if (gameLogic.makeMove(col, player)) {
+                blackhole.consume(gameLogic.undoMove(col));
+            }
+        }
+    }
+
+    /** Copies the board out, which the AI does before every search. */
+    @Benchmark
+    public int[][] getBoard() {
+        return gameLogic.getBoard();
+    }
+
+    /** Scores the board by its open lines for the player to move, from a copy of the board. */
+    @Benchmark
+    public int evaluateBoard() {
+        return ai.evaluatePosition();
+    }
+}
@@ -0,0 +1,61 @@
+package bench;
+
+import logic.GameLogic;
+
+/**
+ * The fixed positions the benchmarks run on, as move strings (columns 1-7). None of
+ * them is won, and the side to move has no immediate win, so every search is a full one.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class Positions {
+    /** Four moves in: a nearly empty board. */
+    static final String OPENING = "2673";
+    /** Sixteen moves in. */
+    static final String MIDGAME = "3754662363415342";
+    /** Thirty-two moves in: several columns full, few moves left. */
+    static final String ENDGAME = "16141477354234513622255337513775";
+
+    private Positions() {
+    }
+
+    /**
+     * Returns the moves of a named position.
+     *
+     * @param name "opening", "midgame" or "endgame"
+     * @return the move string
+     * @throws IllegalArgumentException for any other name
+     */
+    static String moves(String name) {
+        return switch (name) {
+            case "opening" -> OPENING;
+            case "midgame" -> MIDGAME;
+            case "endgame" -> ENDGAME;
+            default -> throw new IllegalArgumentException("Unknown position: " + name);
+        };
+    }
+
+    /**
+     * Plays a named position on a new board.
+     *
+     * @param name "opening", "midgame" or "endgame"
+     * @return the board
+     */
+    static GameLogic load(String name) {
+        String moves = moves(name);
+        GameLogic gameLogic = new GameLogic();
+        for (int ply = 0; ply < moves.length(); ply++) {
+            gameLogic.makeMove(moves.charAt(ply) - '1', ply % 2 + 1);
+        }
+        return gameLogic;
+    }
+
+    /**
+     * @param name "opening", "midgame" or "endgame"
+     * @return the player to move in the named position (1 or 2)
+     */
+    static int playerToMove(String name) {
+        return moves(name).length() % 2 + 1;
+    }
+}
@@ -0,0 +1,90 @@
+#!/bin/sh
+# Builds Connect 4 on Linux and macOS.
+#
+#   ./build.sh engine   compile the headless engine into app/Connect4_Engine.jar
+#   ./build.sh game     also compile the JavaFX game into app/Connect4_Local_GamePlay.jar
+#   ./build.sh image    build the engine and a small runtime image of it in dist/engine
+#   ./build.sh cds      build the game and record a class data sharing archive for it
+#   ./build.sh test     build the engine and run its tests from engine/test
+#
+# The engine (game rules, AI, storage and the command-line tools) needs only the JDK.
+# The game also needs JAVAFX_LIB, the lib directory of a JavaFX SDK. The engine image
+# has no graphics stack and includes launchers for the tools, e.g. dist/engine/bin/arena,
+# and for console play, dist/engine/bin/console.
+# The cds target launches the game once (it needs a display and closes itself when the
+# menu is ready) and saves the classes it loaded to app/Connect4.jsa, which cuts the
+# class loading part of later starts. The archive is only used by the same JDK with the
+# same module path, so rebuild it after upgrading either.
+set -e
+
+cd "$(dirname "$0")"
+TARGET=${1:-game}
+
+build_engine() {
+    echo "Compiling engine..."
+    rm -rf build/engine app/Connect4_Engine.jar
+    mkdir -p build/engine app
+    javac -encoding UTF-8 -d build/engine $(find engine/src -name '*.java')
+    jar --create --file=app/Connect4_Engine.jar --module-version=1.0 -C build/engine .
+}
+
+build_game() {
+    : "${JAVAFX_LIB:?Set JAVAFX_LIB to the lib directory of a JavaFX SDK}"
+    echo "Compiling game..."
+    rm -rf build/game app/Connect4_Local_GamePlay.jar
+    mkdir -p build/game
+    javac -encoding UTF-8 --module-path "$JAVAFX_LIB:app/Connect4_Engine.jar" -d build/game \
+        $(find src -name '*.java')
+    cp -r resources/. build/game/
+    jar --create --file=app/Connect4_Local_GamePlay.jar --main-class=ui.Main --module-version=1.0 \
+        -C build/game .
+    cp jfr/connect4.jfc app/
+    echo "Run with: java --module-path \"$JAVAFX_LIB:app\" -m Connect4_Local_GamePlay/ui.Main"
+}
+
+build_cds() {
+    echo "Recording class data sharing archive..."
+    rm -f app/Connect4.jsa
+    java -XX:ArchiveClassesAtExit=app/Connect4.jsa -Dconnect4.exitAfterStartup=true \
+        --module-path "$JAVAFX_LIB:app" -m Connect4_Local_GamePlay/ui.Main
+    echo "Run with: java -XX:SharedArchiveFile=app/Connect4.jsa --module-path \"$JAVAFX_LIB:app\"" \
+        "-m Connect4_Local_GamePlay/ui.Main"
+}
+
+build_tests() {
+    echo "Running engine tests..."
+    rm -rf build/test
+    mkdir -p build/test
+    # Compiled without the module descriptor so the tests can share the engine's packages
+    javac -encoding UTF-8 -d build/test \
+        $(find engine/src -name '*.java' ! -name module-info.java) $(find engine/test -name '*.java')
+    # Every *Test class is a suite, named after its path below engine/test
+    java -cp build/test testing.TestRunner \
+        $(cd engine/test && find . -name '*Test.java' | sed 's|^\./||; s|\.java$||; s|/|.|g' | sort)
+}
+
+build_image() {
+    echo "Creating engine runtime image..."
+    rm -rf dist/engine
+    jlink --module-path "${JAVA_HOME:+$JAVA_HOME/jmods:}app/Connect4_Engine.jar" \
+        --add-modules Connect4_Engine \
+        --launcher analyze=Connect4_Engine/cli.PositionAnalyzer \
+        --launcher arena=Connect4_Engine/cli.Arena \
+        --launcher perft=Connect4_Engine/cli.Perft \
+        --launcher ratings=Connect4_Engine/cli.RatingHarness \
+        --launcher transfer=Connect4_Engine/cli.GameTransfer \
+        --launcher query=Connect4_Engine/cli.PositionQuery \
+        --launcher consoleload=Connect4_Engine/cli.ConsoleLoad \
+        --launcher console=Connect4_Engine/cli.ConsolePlay \
+        --strip-debug --no-header-files --no-man-pages \
+        --output dist/engine
+}
+
+case "$TARGET" in
+    engine) build_engine ;;
+    game) build_engine; build_game ;;
+    image) build_engine; build_image ;;
+    cds) build_engine; build_game; build_cds ;;
+    test) build_engine; build_tests ;;
+    *) echo "Usage: $0 [engine | game | image | cds | test]" >&2; exit 2 ;;
+esac
@@ -0,0 +1,409 @@
+package cli;
+
+import logic.AIPlayer;
+import logic.GameLogic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless AI vs AI matches.
+ * <pre>
+ * Arena [--games &lt;n&gt;] [--threads &lt;n&gt;] [--random-plies &lt;n&gt; | --book &lt;file&gt;] [--seed &lt;n&gt;] &lt;ai&gt; &lt;ai&gt;
+ * </pre>
+ * The two AIs are given as described in {@link EngineConfig}, e.g. {@code Hard d5}.
+ * Games are played in pairs from the same opening with the AIs swapping seats, so
+ * neither gains from moving first. An opening is either a number of random moves
+ * (default {@value #DEFAULT_RANDOM_PLIES}, at most {@value #MAX_RANDOM_PLIES}) or the next
+ * line of a book file of move strings; the default number of games is {@value #DEFAULT_GAMES}, or two per book line.
+ * The same seed replays the same openings.
+ * <p>
+ * The report gives the first AI's wins, draws and losses, overall and by seat, its
+ * score with a 95% confidence interval and the matching Elo difference, and for each
+ * AI a histogram of the time it took per move and its mean CPU time per move.
+ * </p>
+ * <p>
+ * Games are spread over one thread per processor by default; each thread keeps its
+ * own tallies and histograms, which are merged at the end, so threads never contend.
+ * Nothing here touches JavaFX.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class Arena {
+    // Random play rarely gets much further without a win, and opening() retries until it does
+    static final int MAX_RANDOM_PLIES = 20;
+    private static final String USAGE = "Usage: Arena [--games <n>] [--threads <n>] "
+            + "[--random-plies <n> | --book <file>] [--seed <n>] <ai> <ai>\n"
+            + "  <ai> is Easy, Medium, Hard, d<plies> (e.g. d5), t<ms> (e.g. t50) or d<plies>t<ms>\n"
+            + "  --random-plies is at most " + MAX_RANDOM_PLIES;
+    private static final int DEFAULT_GAMES = 1000;
+    private static final int DEFAULT_RANDOM_PLIES = 4;
+    private static final int COLUMNS = 7;
+    private static final double Z_95 = 1.96;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final EngineConfig first;
+    private final EngineConfig second;
+    private final List<byte[]> book;
+    private final int randomPlies;
+    private final long seed;
+
+    /**
+     * Creates an arena for two AIs.
+     *
+     * @param first       the AI the results are reported for
+     * @param second      its opponent
+     * @param book        the openings to play, or null for random openings
+     * @param randomPlies the length of random openings, at most {@value #MAX_RANDOM_PLIES}
+     * @param seed        the seed of the random openings
+     * @throws IllegalArgumentException if the random openings are too long
+     */
+    Arena(EngineConfig first, EngineConfig second, List<byte[]> book, int randomPlies, long seed) {
+        if (book == null && (randomPlies < 0 || randomPlies > MAX_RANDOM_PLIES)) {
+            throw new IllegalArgumentException("random openings must be 0 to " + MAX_RANDOM_PLIES
+                    + " moves, not " + randomPlies);
+        }
+        this.first = first;
+        this.second = second;
+        this.book = book;
+        this.randomPlies = randomPlies;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) {
+        int games = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int randomPlies = DEFAULT_RANDOM_PLIES;
+        long seed = System.nanoTime();
+        Path bookFile = null;
+        List<EngineConfig> configs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games" -> games = Integer.parseInt(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--random-plies" -> randomPlies = Integer.parseInt(args[++i]);
+                    case "--book" -> bookFile = Path.of(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    default -> configs.add(EngineConfig.parse(args[i]));
+                }
+            }
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException && e.getMessage() != null) {
+                System.err.println(e.getMessage());
+            }
+            configs.clear();
+        }
+        if (configs.size() != 2 || threads < 1 || randomPlies < 0 || randomPlies > MAX_RANDOM_PLIES) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        List<byte[]> book = null;
+        if (bookFile != null) {
+            try {
+                book = readBook(bookFile);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Cannot read opening book: " + e.getMessage());
+                System.exit(1);
+            }
+        }
+        if (games < 0) {
+            games = book == null ? DEFAULT_GAMES : 2 * book.size();
+        }
+
+        Arena arena = new Arena(configs.get(0), configs.get(1), book, randomPlies, seed);
+        long start = System.nanoTime();
+        Tally tally = arena.play(games, threads);
+        System.out.printf("%s vs %s: %d games, %s, %d threads, %.1f s%n", arena.first, arena.second,
+                tally.getGames(), book == null ? randomPlies + " random opening moves, seed " + seed
+                        : book.size() + " book openings",
+                threads, (System.nanoTime() - start) / 1e9);
+        tally.print(arena.first.getName(), arena.second.getName());
+    }
+
+    /**
+     * Plays a match.
+     *
+     * @param games   the number of games; pairs of games share an opening
+     * @param threads the number of threads to play on
+     * @return the combined results
+     */
+    Tally play(int games, int threads) {
+        AtomicLong nextGame = new AtomicLong();
+        AtomicLong finished = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "arena");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Tally>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                Tally tally = new Tally();
+                for (long game; (game = nextGame.getAndIncrement()) < games; ) {
+                    playGame(game, tally);
+                    finished.incrementAndGet();
+                }
+                return tally;
+            }));
+        }
+        pool.shutdown();
+
+        Tally total = new Tally();
+        try {
+            long reported = 0;
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                long done = finished.get();
+                if (done != reported) {
+                    System.err.printf("%d / %d games%n", done, games);
+                    reported = done;
+                }
+            }
+            for (Future<Tally> worker : workers) {
+                total.add(worker.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Arena interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Arena game failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return total;
+    }
+
+    /**
+     * Plays one game. Even games give the first AI the first move, odd games the second,
+     * and both games of a pair start from the same opening.
+     */
+    private void playGame(long game, Tally tally) {
+        boolean firstMovesFirst = game % 2 == 0;
+        EngineConfig[] configs = firstMovesFirst
+                ? new EngineConfig[]{first, second}
+                : new EngineConfig[]{second, first};
+
+        GameLogic gameLogic = new GameLogic();
+        byte[] opening = opening(game / 2);
+        for (int ply = 0; ply < opening.length; ply++) {
+            gameLogic.makeMove(opening[ply], ply % 2 + 1);
+        }
+        AIPlayer[] ais = {configs[0].create(gameLogic, 1), configs[1].create(gameLogic, 2)};
+
+        int winner = 0;
+        for (int ply = opening.length; winner == 0 && !gameLogic.isBoardFull(); ply++) {
+            int player = ply % 2 + 1;
+            long cpuStart = threadCpuTime();
+            long start = System.nanoTime();
+            int col = configs[player - 1].chooseMove(ais[player - 1]);
+            long elapsed = System.nanoTime() - start;
+            long cpu = cpuStart < 0 ? elapsed : threadCpuTime() - cpuStart;
+            if ((player == 1) == firstMovesFirst) {
+                tally.firstLatency.record(elapsed);
+                tally.firstCpuNanos += cpu;
+            } else {
+                tally.secondLatency.record(elapsed);
+                tally.secondCpuNanos += cpu;
+            }
+
+            if (!gameLogic.makeMove(col, player)) {
+                throw new IllegalStateException(configs[player - 1] + " played into a full column");
+            }
+            if (gameLogic.checkWinState(player)) {
+                winner = player;
+            }
+        }
+
+        int outcome = winner == 0 ? Tally.DRAW
+                : (winner == 1) == firstMovesFirst ? Tally.WIN : Tally.LOSS;
+        tally.results[firstMovesFirst ? 0 : 1][outcome]++;
+    }
+
+    /**
+     * @return the CPU time of the current thread in nanoseconds, or -1 if it is not measured
+     */
+    private static long threadCpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Returns the moves of an opening: a book line, or random moves drawn from a
+     * generator seeded by the opening number, so any thread produces the same opening.
+     * Random openings never end the game.
+     */
+    private byte[] opening(long index) {
+        if (book != null) {
+            return book.get((int) (index % book.size()));
+        }
+        SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+        byte[] moves = new byte[randomPlies];
+        GameLogic gameLogic = new GameLogic();
+        for (int ply = 0; ply < randomPlies; ) {
+            int col = random.nextInt(COLUMNS);
+            if (gameLogic.isColumnFull(col)) continue;
+            gameLogic.makeMove(col, ply % 2 + 1);
+            if (gameLogic.checkWinState(ply % 2 + 1) || gameLogic.isBoardFull()) {
+                // Start over rather than hand either side a finished game
+                gameLogic.resetBoard();
+                ply = 0;
+                continue;
+            }
+            moves[ply++] = (byte) col;
+        }
+        return moves;
+    }
+
+    /**
+     * Reads an opening book: one move string per line, anything after the first space,
+     * tab or comma ignored, blank lines and lines starting with {@code #} skipped.
+     *
+     * @param file the book
+     * @return the openings as columns 0-6
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a line is not a legal opening of an unfinished game
+     */
+    static List<byte[]> readBook(Path file) throws IOException {
+        List<byte[]> book = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            for (int lineNumber = 1; (line = reader.readLine()) != null; lineNumber++) {
+                String moves = line.split("[ \t,;]", 2)[0].strip();
+                if (moves.isEmpty() || moves.startsWith("#")) continue;
+
+                byte[] opening = new byte[moves.length()];
+                GameLogic gameLogic = new GameLogic();
+                for (int ply = 0; ply < moves.length(); ply++) {
+                    int col = moves.charAt(ply) - '1';
+                    if (col < 0 || col >= COLUMNS || !gameLogic.makeMove(col, ply % 2 + 1)
+                            || gameLogic.checkWinState(ply % 2 + 1) || gameLogic.isBoardFull()) {
+                        throw new IllegalArgumentException("line " + lineNumber
+                                + " is not an opening of an unfinished game: " + moves);
+                    }
+                    opening[ply] = (byte) col;
+                }
+                book.add(opening);
+            }
+        }
+        if (book.isEmpty()) {
+            throw new IllegalArgumentException("no openings in " + file);
+        }
+        return book;
+    }
+
+    /**
+     * The results of a match from the first AI's point of view, with the move times of
+     * both AIs.
+     */
+    static final class Tally {
+        static final int WIN = 0;
+        static final int DRAW = 1;
+        static final int LOSS = 2;
+
+        // [seat of the first AI: 0 moving first, 1 moving second][WIN, DRAW, LOSS]
+        final long[][] results = new long[2][3];
+        final LatencyHistogram firstLatency = new LatencyHistogram();
+        final LatencyHistogram secondLatency = new LatencyHistogram();
+        // CPU time spent choosing moves; wall time where the JVM cannot measure it
+        long firstCpuNanos;
+        long secondCpuNanos;
+
+        void add(Tally other) {
+            for (int seat = 0; seat < 2; seat++) {
+                for (int outcome = 0; outcome < 3; outcome++) {
+                    results[seat][outcome] += other.results[seat][outcome];
+                }
+            }
+            firstLatency.add(other.firstLatency);
+            secondLatency.add(other.secondLatency);
+            firstCpuNanos += other.firstCpuNanos;
+            secondCpuNanos += other.secondCpuNanos;
+        }
+
+        long getCount(int outcome) {
+            return results[0][outcome] + results[1][outcome];
+        }
+
+        long getGames() {
+            return getCount(WIN) + getCount(DRAW) + getCount(LOSS);
+        }
+
+        /** @return the first AI's mean score per game, a win counting 1 and a draw 1/2 */
+        double getScore() {
+            long games = getGames();
+            return games == 0 ? 0.5 : (getCount(WIN) + 0.5 * getCount(DRAW)) / games;
+        }
+
+        /** @return half the width of the 95% confidence interval of {@link #getScore()} */
+        double getScoreMargin() {
+            long games = getGames();
+            if (games < 2) return 0.5;
+            double score = getScore();
+            double variance = (getCount(WIN) * (1 - score) * (1 - score)
+                    + getCount(DRAW) * (0.5 - score) * (0.5 - score)
+                    + getCount(LOSS) * score * score) / (games - 1);
+            return Z_95 * Math.sqrt(variance / games);
+        }
+
+        void print(String firstName, String secondName) {
+            double score = getScore();
+            double margin = getScoreMargin();
+            System.out.printf("  %-12s W %d  D %d  L %d   score %.1f%% ± %.1f%%   Elo %s [%s, %s]%n",
+                    firstName, getCount(WIN), getCount(DRAW), getCount(LOSS),
+                    100 * score, 100 * margin,
+                    formatElo(score), formatElo(score - margin), formatElo(score + margin));
+            String[] seats = {"moving first", "moving second"};
+            for (int seat = 0; seat < 2; seat++) {
+                System.out.printf("    %-14s W %d  D %d  L %d%n",
+                        seats[seat], results[seat][WIN], results[seat][DRAW], results[seat][LOSS]);
+            }
+
+            System.out.printf("%n  %-12s %9s %10s %10s %10s %10s %10s %10s%n",
+                    "Move time", "moves", "mean", "p50", "p90", "p99", "max", "CPU mean");
+            printLatency(firstName, firstLatency, firstCpuNanos);
+            printLatency(secondName, secondLatency, secondCpuNanos);
+            System.out.println();
+            System.out.println("  " + firstName);
+            firstLatency.print(System.out, "  ");
+            System.out.println("  " + secondName);
+            secondLatency.print(System.out, "  ");
+        }
+
+        private static void printLatency(String name, LatencyHistogram histogram, long cpuNanos) {
+            System.out.printf("  %-12s %9d %10s %10s %10s %10s %10s %10s%n", name, histogram.getCount(),
+                    LatencyHistogram.format(histogram.getMean()),
+                    LatencyHistogram.format(histogram.percentile(0.50)),
+                    LatencyHistogram.format(histogram.percentile(0.90)),
+                    LatencyHistogram.format(histogram.percentile(0.99)),
+                    LatencyHistogram.format(histogram.getMax()),
+                    LatencyHistogram.format(histogram.getCount() == 0 ? 0
+                            : (double) cpuNanos / histogram.getCount()));
+        }
+
+        /**
+         * Converts a score to the Elo difference that predicts it.
+         */
+        private static String formatElo(double score) {
+            if (score <= 0) return "-inf";
+            if (score >= 1) return "+inf";
+            return String.format("%+.0f", -400 * Math.log10(1 / score - 1));
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package cli;
+
+import core.AgainstComputerLogic;
+import core.LogicForConsole;
+import logic.DifficultyPreset;
+import logic.GameLogic;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Scripted load driver for the console game modes.
+ * <pre>
+ * ConsoleLoad [--games &lt;n&gt;] [--mode pvp|pvc] [--difficulty Easy|Medium|Hard] [--seed &lt;n&gt;] [--echo]
+ * </pre>
+ * Plays {@value #DEFAULT_GAMES} games by default through {@link LogicForConsole#playGame()}
+ * or {@link AgainstComputerLogic#playGame_againstComputer()}, exactly as a person at the
+ * terminal would: the moves and the answers to "play again?" are typed into the game's
+ * input, and everything it prints goes to its output. The whole session is scripted up
+ * front from the seed, the computer moves without its pause, and the output is counted
+ * and discarded, or echoed with {@code --echo}, so the run measures the console code
+ * itself.
+ * <p>
+ * Player vs player scripts are random legal games played until one player wins or the
+ * board is full. Against the computer, at {@value #DEFAULT_DIFFICULTY} difficulty unless
+ * another is given, the script cannot know the computer's moves, so the player cycles
+ * through the columns in a random order; a full column is rejected and the next one
+ * tried, so the game's error handling is exercised too. Moves left over when a game
+ * ends early are rejected as answers to "play again?".
+ * </p>
+ * <p>
+ * The output is not a terminal, so the board is printed whole every move; run with
+ * {@code -Dconnect4.ansi=true} to measure the in-place redraw used on terminals instead.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class ConsoleLoad {
+    private static final String USAGE = "Usage: ConsoleLoad [--games <n>] [--mode pvp|pvc] "
+            + "[--difficulty Easy|Medium|Hard] [--seed <n>] [--echo]";
+    private static final int DEFAULT_GAMES = 10000;
+    private static final String DEFAULT_DIFFICULTY = "Medium";
+    private static final int ROWS = 6;
+    private static final int COLUMNS = 7;
+
+    private ConsoleLoad() {
+    }
+
+    public static void main(String[] args) {
+        int games = DEFAULT_GAMES;
+        boolean againstComputer = false;
+        boolean echo = false;
+        String difficulty = DEFAULT_DIFFICULTY;
+        long seed = System.nanoTime();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games" -> games = Integer.parseInt(args[++i]);
+                    case "--mode" -> againstComputer = switch (args[++i]) {
+                        case "pvp" -> false;
+                        case "pvc" -> true;
+                        default -> throw new IllegalArgumentException("Unknown mode: " + args[i]);
+                    };
+                    case "--difficulty" -> difficulty = DifficultyPreset.valueOf(
+                            args[++i].toUpperCase(Locale.ROOT)).getName();
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--echo" -> echo = true;
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException && e.getMessage() != null) {
+                System.err.println(e.getMessage());
+            }
+            games = -1;
+        }
+        if (games < 1) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        byte[] script = script(games, againstComputer ? difficulty : null, seed);
+        CountingOutputStream sink = new CountingOutputStream(echo ? System.out : OutputStream.nullOutputStream());
+        PrintStream out = new PrintStream(sink, false, StandardCharsets.UTF_8);
+        ByteArrayInputStream input = new ByteArrayInputStream(script);
+
+        long start = System.nanoTime();
+        if (againstComputer) {
+            new AgainstComputerLogic(input, out, 0).playGame_againstComputer();
+        } else {
+            new LogicForConsole(input, out).playGame();
+        }
+        out.flush();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.err.printf("%s: %d games, seed %d, %.2f s, %.0f games/s%n",
+                againstComputer ? "Player vs computer (" + difficulty + ")" : "Player vs player",
+                games, seed, seconds, games / seconds);
+        System.err.printf("  input %d bytes, output %d bytes (%.1f KB per game)%n",
+                script.length, sink.count, sink.count / 1024.0 / games);
+    }
+
+    /**
+     * Writes the input of a whole session: for each game the computer's difficulty, if
+     * it plays, and the moves, one per line, followed by "y" to play again, or "n" after
+     * the last game.
+     *
+     * @param games      the number of games
+     * @param difficulty the computer's difficulty, or null to script player vs player games
+     * @param seed       the seed the moves are drawn from
+     * @return the session's input
+     */
+    static byte[] script(int games, String difficulty, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        StringBuilder sb = new StringBuilder();
+        for (int game = 0; game < games; game++) {
+            if (difficulty != null) {
+                sb.append(difficulty).append('\n');
+                appendColumnCycles(sb, random);
+            } else {
+                appendRandomGame(sb, random);
+            }
+            sb.append(game == games - 1 ? "n\n" : "y\n");
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends the moves of a random game between two players, up to the winning move or
+     * until the board is full.
+     */
+    private static void appendRandomGame(StringBuilder sb, SplittableRandom random) {
+        GameLogic gameLogic = new GameLogic();
+        int[] open = new int[COLUMNS];
+        for (int move = 0; move < ROWS * COLUMNS; move++) {
+            int openCount = 0;
+            for (int col = 0; col < COLUMNS; col++) {
+                if (!gameLogic.isColumnFull(col)) open[openCount++] = col;
+            }
+            int col = open[random.nextInt(openCount)];
+            int player = move % 2 + 1;
+            gameLogic.makeMove(col, player);
+            sb.append(col + 1).append('\n');
+            if (gameLogic.checkWinState(player)) return;
+        }
+    }
+
+    /**
+     * Appends the player's moves of a game against the computer: a random order of the
+     * columns, repeated often enough that any seven moves in a row try every column, so
+     * the player always finds an open one for each of their 21 turns.
+     */
+    private static void appendColumnCycles(StringBuilder sb, SplittableRandom random) {
+        int[] order = new int[COLUMNS];
+        for (int col = 0; col < COLUMNS; col++) {
+            int j = random.nextInt(col + 1);
+            order[col] = order[j];
+            order[j] = col + 1;
+        }
+        for (int turn = 0; turn < ROWS * COLUMNS / 2; turn++) {
+            for (int col : order) {
+                sb.append(col).append('\n');
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes written through it to the wrapped stream.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream target;
+        private long count;
+
+        CountingOutputStream(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package cli;
+
+import core.AgainstComputerLogic;
+import core.LogicForConsole;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Plays Connect 4 in the terminal, without the graphical game or JavaFX.
+ * <pre>
+ * ConsolePlay [pvp | pvc]
+ * </pre>
+ * {@code pvp} is two players taking turns at the keyboard, {@code pvc} a game against
+ * the computer at a difficulty chosen when it starts; without either, the mode is asked
+ * for. The engine runtime image built by {@code ./build.sh image} starts it as
+ * {@code bin/console}, and the console choice of {@code ui.ConsoleUI} hands over to it.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class ConsolePlay {
+    private static final String USAGE = "Usage: ConsolePlay [pvp | pvc]";
+    private static final String RESET = "\u001B[0m";
+    private static final String GREEN = "\u001B[32m";
+
+    private ConsolePlay() {
+    }
+
+    public static void main(String[] args) {
+        String mode = null;
+        if (args.length == 1 && (args[0].equals("pvp") || args[0].equals("pvc"))) {
+            mode = args[0];
+        } else if (args.length > 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        if (mode == null) {
+            try {
+                mode = chooseMode(System.in);
+            } catch (IOException e) {
+                System.err.println("Failed to read input: " + e.getMessage());
+                System.exit(1);
+            }
+            if (mode == null) return;
+        }
+
+        if (mode.equals("pvc")) {
+            new AgainstComputerLogic().playGame_againstComputer();
+        } else {
+            new LogicForConsole().playGame();
+        }
+    }
+
+    /**
+     * Asks whether to play against another player or the computer until the answer is
+     * P or C. The answer is read a byte at a time, so none of the input meant for the
+     * game is buffered here.
+     *
+     * @param input the terminal input
+     * @return "pvp" or "pvc", or null if the input ended first
+     * @throws IOException if the input cannot be read
+     */
+    private static String chooseMode(InputStream input) throws IOException {
+        while (true) {
+            System.out.print(GREEN + "Begin game. Enter 'P' if you want to play against another player; "
+                    + "enter 'C' to play against the computer: " + RESET);
+            String answer = readLine(input);
+            System.out.println();
+            if (answer == null) return null;
+            if (answer.equalsIgnoreCase("P")) return "pvp";
+            if (answer.equalsIgnoreCase("C")) return "pvc";
+            System.out.println("Please choose a valid input.");
+        }
+    }
+
+    /**
+     * @return the next line without surrounding blanks, or null at the end of the input
+     */
+    private static String readLine(InputStream input) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = input.read()) != -1 && c != '\n') {
+            line.append((char) c);
+        }
+        return c == -1 && line.length() == 0 ? null : line.toString().trim();
+    }
+}
@@ -0,0 +1,131 @@
+package cli;
+
+import logic.AIPlayer;
+import logic.DifficultyPreset;
+import logic.GameLogic;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An {@link AIPlayer} configuration named on the command line.
+ * <ul>
+ *     <li>{@code Easy}, {@code Medium}, {@code Hard}: the difficulty levels as played in
+ *     the game, through {@link AIPlayer#getMove()}.</li>
+ *     <li>{@code random}, {@code block}: the {@link DifficultyPreset.Strategy} of that name.</li>
+ *     <li>{@code d<plies>}: minimax to a fixed depth, e.g. {@code d5}.</li>
+ *     <li>{@code t<ms>}: iterative deepening within a time budget per move, e.g.
+ *     {@code t50}; combine with a depth limit as {@code d9t50}.</li>
+ * </ul>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class EngineConfig {
+    private static final Pattern SEARCH_SPEC = Pattern.compile("(?:d(\\d+))?(?:t(\\d+))?");
+    private static final int MAX_DEPTH = 42;
+
+    private final String name;
+    private final String difficulty;
+    private final DifficultyPreset.Strategy strategy;
+    private final int depth;
+    private final long budgetNanos;
+
+    private EngineConfig(String name, String difficulty, DifficultyPreset.Strategy strategy,
+                         int depth, long budgetNanos) {
+        this.name = name;
+        this.difficulty = difficulty;
+        this.strategy = strategy;
+        this.depth = depth;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Parses a configuration.
+     *
+     * @param spec the configuration as described above
+     * @return the configuration
+     * @throws IllegalArgumentException if the text is not a valid configuration
+     */
+    static EngineConfig parse(String spec) {
+        for (DifficultyPreset preset : DifficultyPreset.values()) {
+            if (preset.getName().equalsIgnoreCase(spec)) {
+                return new EngineConfig(preset.getName(), preset.getName(), null, 0, 0);
+            }
+        }
+        for (DifficultyPreset.Strategy strategy : new DifficultyPreset.Strategy[]{
+                DifficultyPreset.Strategy.RANDOM, DifficultyPreset.Strategy.BLOCK}) {
+            if (strategy.name().equalsIgnoreCase(spec)) {
+                return new EngineConfig(strategy.name().toLowerCase(Locale.ROOT), null, strategy, 0, 0);
+            }
+        }
+        Matcher matcher = SEARCH_SPEC.matcher(spec.toLowerCase(Locale.ROOT));
+        if (spec.isEmpty() || !matcher.matches()) {
+            throw new IllegalArgumentException("Unknown AI configuration: " + spec);
+        }
+        int depth = matcher.group(1) == null ? MAX_DEPTH : Integer.parseInt(matcher.group(1));
+        long budgetNanos = matcher.group(2) == null ? 0 : Long.parseLong(matcher.group(2)) * 1_000_000;
+        if (depth < 1 || depth > MAX_DEPTH || (matcher.group(2) != null && budgetNanos <= 0)) {
+            throw new IllegalArgumentException("Depth must be 1-" + MAX_DEPTH
+                    + " and the time budget positive: " + spec);
+        }
+        return new EngineConfig(spec.toLowerCase(Locale.ROOT), null,
+                DifficultyPreset.Strategy.SEARCH, depth, budgetNanos);
+    }
+
+    /** @return the configuration as it was given, for reports */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns whether this configuration is a plain strategy that a
+     * {@link DifficultyPreset} can name: not a difficulty level and without a time budget.
+     *
+     * @return true for {@code random}, {@code block} and {@code d<plies>}
+     */
+    boolean isPresetCandidate() {
+        return difficulty == null && budgetNanos == 0;
+    }
+
+    /**
+     * Returns the name a preset's strategy has as a configuration.
+     *
+     * @param preset the preset
+     * @return e.g. {@code block} or {@code d7}
+     */
+    static String nameOf(DifficultyPreset preset) {
+        return preset.getStrategy() == DifficultyPreset.Strategy.SEARCH
+                ? "d" + preset.getSearchDepth()
+                : preset.getStrategy().name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Creates an AI that plays this configuration on a board.
+     *
+     * @param gameLogic  the board to play on
+     * @param aiPlayerId the player the AI moves for (1 or 2)
+     * @return the AI
+     */
+    AIPlayer create(GameLogic gameLogic, int aiPlayerId) {
+        return new AIPlayer(gameLogic, difficulty, aiPlayerId);
+    }
+
+    /**
+     * Chooses the AI's next move in this configuration.
+     *
+     * @param ai an AI created by {@link #create}, which must be the player to move
+     * @return the column (0-6)
+     */
+    int chooseMove(AIPlayer ai) {
+        if (difficulty != null) return ai.getMove();
+        if (budgetNanos > 0) return ai.analyze(depth, budgetNanos).getBestMove();
+        return ai.getMove(strategy, depth);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,89 @@
+package cli;
+
+import storage.GameDatabase;
+import storage.GameExporter;
+import storage.GameImporter;
+import storage.PositionIndex;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line import and export of games in move-string notation.
+ * <pre>
+ * GameTransfer [--db &lt;directory&gt;] import &lt;file&gt;
+ * GameTransfer [--db &lt;directory&gt;] export-moves &lt;file&gt;
+ * GameTransfer [--db &lt;directory&gt;] export-csv &lt;file&gt;
+ * </pre>
+ * After an import the position index is brought up to date. An import needs the
+ * database to itself and fails while the game or another import has it open; exports
+ * only read it. See {@link GameImporter} and {@link GameExporter} for the file formats.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class GameTransfer {
+    private static final String USAGE =
+            "Usage: GameTransfer [--db <directory>] (import | export-moves | export-csv) <file>";
+
+    private GameTransfer() {
+    }
+
+    public static void main(String[] args) {
+        Path dbDirectory = GameDatabase.defaultDirectory();
+        String command = null;
+        Path file = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--db")) {
+                    dbDirectory = Path.of(args[++i]);
+                } else if (command == null) {
+                    command = args[i];
+                } else {
+                    file = Path.of(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            command = null;
+        }
+        if (command == null || file == null
+                || !(command.equals("import") || command.equals("export-moves") || command.equals("export-csv"))) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        try (GameDatabase database = command.equals("import")
+                ? GameDatabase.open(dbDirectory)
+                : GameDatabase.openReadOnly(dbDirectory)) {
+            switch (command) {
+                case "import" -> {
+                    GameImporter.Summary summary = GameImporter.importMoves(file, database);
+                    System.out.printf("Imported %d games, rejected %d lines in %.1f s%n",
+                            summary.getImported(), summary.getRejected(), seconds(start));
+                    summary.getErrors().forEach(error -> System.out.println("  " + error));
+                    if (summary.getLabelled() > 0) {
+                        System.out.printf("%d games were stored with their label%n", summary.getLabelled());
+                    }
+
+                    try (PositionIndex index = PositionIndex.open(PositionIndex.defaultDirectory(database))) {
+                        long indexed = index.update(database);
+                        System.out.printf("Indexed %d games in %.1f s%n", indexed, seconds(start));
+                    }
+                }
+                case "export-moves" -> System.out.printf("Exported %d games in %.1f s%n",
+                        GameExporter.exportMoves(database, file), seconds(start));
+                default -> System.out.printf("Exported %d games in %.1f s%n",
+                        GameExporter.exportResults(database, file), seconds(start));
+            }
+        } catch (IOException e) {
+            System.err.println("Transfer failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+}
@@ -0,0 +1,152 @@
+package cli;
+
+import java.io.PrintStream;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds with about 12% resolution.
+ * <p>
+ * Values are bucketed by their power of two, with each power split into eight
+ * sub-buckets, so recording is a few bit operations and an array increment, and
+ * histograms from several threads are combined with {@link #add}. Not thread-safe:
+ * each thread records into its own histogram.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values count as 0
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucket(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds every duration recorded by another histogram to this one.
+     *
+     * @param other the histogram to merge in
+     */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /** @return the number of recorded durations */
+    long getCount() {
+        return count;
+    }
+
+    /** @return the sum of the recorded durations in nanoseconds */
+    long getTotal() {
+        return total;
+    }
+
+    /** @return the mean duration in nanoseconds, or 0 if nothing was recorded */
+    double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /** @return the longest recorded duration in nanoseconds */
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the duration below which the given fraction of the recorded durations fall,
+     * as the upper edge of its bucket.
+     *
+     * @param fraction the percentile as a fraction (e.g. 0.99)
+     * @return the percentile in nanoseconds, or 0 if nothing was recorded
+     */
+    long percentile(double fraction) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, lowerBound(i + 1) - 1);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Prints the distribution with one row per power of two, as counts and a bar.
+     *
+     * @param out    where to print
+     * @param indent the prefix of every row
+     */
+    void print(PrintStream out, String indent) {
+        long largest = 0;
+        long[] bands = new long[Long.SIZE];
+        for (int i = 0; i < BUCKETS; i++) {
+            bands[band(i)] += counts[i];
+        }
+        for (long band : bands) {
+            largest = Math.max(largest, band);
+        }
+        for (int b = 0; b < bands.length; b++) {
+            if (bands[b] == 0) continue;
+            long from = b == 0 ? 0 : 1L << (b - 1);
+            out.printf("%s%10s - %-10s %9d  %s%n", indent, format(from), format(2 * from),
+                    bands[b], "#".repeat((int) Math.ceil(40.0 * bands[b] / largest)));
+        }
+    }
+
+    /**
+     * Formats a duration in nanoseconds with a unit that keeps it short.
+     *
+     * @param nanos the duration
+     * @return e.g. {@code 850 ns}, {@code 12.5 µs} or {@code 3.20 ms}
+     */
+    static String format(double nanos) {
+        if (nanos < 1_000) return String.format("%.0f ns", nanos);
+        if (nanos < 1_000_000) return String.format("%.1f µs", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format("%.2f ms", nanos / 1e6);
+        return String.format("%.2f s", nanos / 1e9);
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long lowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        if (exponent >= Long.SIZE - 1) return Long.MAX_VALUE;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BITS);
+    }
+
+    /**
+     * Returns the power-of-two band of a bucket: 0 for the value 0, otherwise one more
+     * than the exponent of the bucket's lower bound.
+     */
+    private static int band(int bucket) {
+        long lower = lowerBound(bucket);
+        return lower == 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(lower);
+    }
+}
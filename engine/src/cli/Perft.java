@@ -0,0 +1,313 @@
+package cli;
+
+import logic.GameLogic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Counts every legal move sequence to a given depth with the {@link GameLogic} rules.
+ * <pre>
+ * Perft [--threads &lt;n&gt;] [&lt;depth&gt;] [&lt;moves&gt;]
+ * </pre>
+ * Starting from the empty board, or the position a move string reaches, every move in
+ * every position is played and undone, down to {@code depth} plies (default
+ * {@value #DEFAULT_DEPTH}). A move that completes four in a row or fills the board
+ * ends its game and is not searched further. For each ply the report gives the
+ * number of positions reached and how many of them are wins and draws, and checks the
+ * counts from the empty board against the known values.
+ * <p>
+ * The tree is walked once on one thread and once split across threads (one per
+ * processor by default), and both the node rate and the agreement of the two walks
+ * are reported. Any mismatch makes the exit status 1, so the tool can serve as a
+ * correctness check for another board representation and as a benchmark of raw
+ * move generation.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class Perft {
+    private static final String USAGE = "Usage: Perft [--threads <n>] [<depth>] [<moves>]";
+    private static final int DEFAULT_DEPTH = 8;
+    private static final int ROWS = 6;
+    private static final int COLUMNS = 7;
+    private static final int MAX_DEPTH = ROWS * COLUMNS;
+    // Positions to split the parallel walk into, per thread
+    private static final int TASKS_PER_THREAD = 16;
+
+    /**
+     * Positions reached from the empty board after each number of moves, counting
+     * games that end early only up to their last move; from an independent bitboard
+     * implementation, matching the published Connect 4 perft values.
+     */
+    private static final long[] KNOWN_NODES = {
+            1L, 7L, 49L, 343L, 2401L, 16807L, 117649L, 823536L, 5673234L,
+            39394572L, 268031646L, 1844590828L, 12418296244L
+    };
+
+    private Perft() {
+    }
+
+    public static void main(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int depth = DEFAULT_DEPTH;
+        String moves = "";
+
+        try {
+            boolean depthGiven = false;
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--threads")) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (!depthGiven) {
+                    depth = Integer.parseInt(args[i]);
+                    depthGiven = true;
+                } else {
+                    moves = args[i].equals("-") ? "" : args[i];
+                }
+            }
+        } catch (RuntimeException e) {
+            threads = 0;
+        }
+        if (threads < 1 || depth < 1 || depth > MAX_DEPTH) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        GameLogic start;
+        try {
+            start = replay(moves);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        depth = Math.min(depth, MAX_DEPTH - moves.length());
+        int firstPlayer = moves.length() % 2 + 1;
+
+        System.out.printf("Perft from %s to depth %d%n",
+                moves.isEmpty() ? "the empty board" : moves, depth);
+
+        long begin = System.nanoTime();
+        Counts single = new Counts(depth);
+        single.nodes[0] = 1;
+        walk(copyOf(start), 0, depth, firstPlayer, single);
+        long singleNanos = System.nanoTime() - begin;
+
+        begin = System.nanoTime();
+        Counts parallel = walkParallel(start, depth, firstPlayer, threads);
+        long parallelNanos = System.nanoTime() - begin;
+
+        boolean ok = true;
+        System.out.printf("%n  %5s %16s %14s %10s   %s%n", "depth", "nodes", "wins", "draws", "check");
+        for (int ply = 1; ply <= depth; ply++) {
+            String check = "";
+            if (moves.isEmpty() && ply < KNOWN_NODES.length) {
+                check = single.nodes[ply] == KNOWN_NODES[ply] ? "ok" : "expected " + KNOWN_NODES[ply];
+                ok &= single.nodes[ply] == KNOWN_NODES[ply];
+            }
+            System.out.printf("  %5d %16d %14d %10d   %s%n",
+                    ply, single.nodes[ply], single.wins[ply], single.draws[ply], check);
+        }
+
+        long total = single.getTotalNodes();
+        System.out.printf("%n  1 thread:  %d nodes in %.3f s, %.2f M nodes/s%n",
+                total, singleNanos / 1e9, total * 1e3 / singleNanos);
+        System.out.printf("  %d thread%s: %d nodes in %.3f s, %.2f M nodes/s (%.1fx)%n",
+                threads, threads == 1 ? " " : "s", parallel.getTotalNodes(), parallelNanos / 1e9,
+                parallel.getTotalNodes() * 1e3 / parallelNanos, (double) singleNanos / parallelNanos);
+        if (!single.equals(parallel)) {
+            System.out.println("  The parallel walk counted differently!");
+            ok = false;
+        }
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays every move from the current position and counts the positions reached.
+     *
+     * @param gameLogic the position, restored before returning
+     * @param ply       the number of moves played since the start position
+     * @param depth     the number of moves to search from the start position
+     * @param player    the player to move (1 or 2)
+     * @param counts    where the positions are counted, by ply
+     */
+    static void walk(GameLogic gameLogic, int ply, int depth, int player, Counts counts) {
+        for (int col = 0; col < COLUMNS; col++) {
+            if (gameLogic.isColumnFull(col)) continue;
+
+            gameLogic.makeMove(col, player);
+            counts.nodes[ply + 1]++;
+            if (gameLogic.checkWinState(player)) {
+                counts.wins[ply + 1]++;
+            } else if (gameLogic.isBoardFull()) {
+                counts.draws[ply + 1]++;
+            } else if (ply + 1 < depth) {
+                walk(gameLogic, ply + 1, depth, 3 - player, counts);
+            }
+            gameLogic.undoMove(col);
+        }
+    }
+
+    /**
+     * Walks the first few plies on the calling thread, collecting the unfinished
+     * positions there, and searches below each of them as a separate task.
+     */
+    private static Counts walkParallel(GameLogic start, int depth, int firstPlayer, int threads) {
+        int plies = 0;
+        long tasks = 1;
+        while (plies < depth - 1 && tasks < (long) threads * TASKS_PER_THREAD) {
+            plies++;
+            tasks *= COLUMNS;
+        }
+        int split = plies;
+
+        Counts total = new Counts(depth);
+        total.nodes[0] = 1;
+        List<int[]> prefixes = new ArrayList<>();
+        collect(copyOf(start), new int[split], 0, split, firstPlayer, total, prefixes);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "perft");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Counts>> results = new ArrayList<>();
+            int player = split % 2 == 0 ? firstPlayer : 3 - firstPlayer;
+            for (int[] prefix : prefixes) {
+                results.add(pool.submit(() -> {
+                    GameLogic gameLogic = copyOf(start);
+                    for (int ply = 0; ply < prefix.length; ply++) {
+                        gameLogic.makeMove(prefix[ply], ply % 2 == 0 ? firstPlayer : 3 - firstPlayer);
+                    }
+                    Counts counts = new Counts(depth);
+                    walk(gameLogic, split, depth, player, counts);
+                    return counts;
+                }));
+            }
+            for (Future<Counts> result : results) {
+                total.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Perft interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft failed: " + e.getCause(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return total;
+    }
+
+    /**
+     * Counts the positions up to {@code split} plies and collects the move sequences of
+     * the unfinished positions at exactly {@code split} plies.
+     */
+    private static void collect(GameLogic gameLogic, int[] prefix, int ply, int split, int player,
+                                Counts counts, List<int[]> prefixes) {
+        if (ply == split) {
+            prefixes.add(prefix.clone());
+            return;
+        }
+        for (int col = 0; col < COLUMNS; col++) {
+            if (gameLogic.isColumnFull(col)) continue;
+
+            gameLogic.makeMove(col, player);
+            counts.nodes[ply + 1]++;
+            prefix[ply] = col;
+            if (gameLogic.checkWinState(player)) {
+                counts.wins[ply + 1]++;
+            } else if (gameLogic.isBoardFull()) {
+                counts.draws[ply + 1]++;
+            } else {
+                collect(gameLogic, prefix, ply + 1, split, 3 - player, counts, prefixes);
+            }
+            gameLogic.undoMove(col);
+        }
+    }
+
+    /**
+     * Plays a move string on an empty board.
+     *
+     * @throws IllegalArgumentException if a move is invalid or the game is already over
+     */
+    private static GameLogic replay(String moves) {
+        GameLogic gameLogic = new GameLogic();
+        for (int ply = 0; ply < moves.length(); ply++) {
+            int col = moves.charAt(ply) - '1';
+            int player = ply % 2 + 1;
+            if (col < 0 || col >= COLUMNS || !gameLogic.makeMove(col, player)) {
+                throw new IllegalArgumentException("Invalid move '" + moves.charAt(ply) + "' at position " + (ply + 1));
+            }
+            if (gameLogic.checkWinState(player) || gameLogic.isBoardFull()) {
+                throw new IllegalArgumentException("The game is over after move " + (ply + 1));
+            }
+        }
+        return gameLogic;
+    }
+
+    private static GameLogic copyOf(GameLogic source) {
+        GameLogic copy = new GameLogic();
+        int[][] board = source.getBoard();
+        for (int level = 0; level < ROWS; level++) {
+            for (int col = 0; col < COLUMNS; col++) {
+                int cell = board[ROWS - 1 - level][col];
+                if (cell != 0) copy.makeMove(col, cell);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Positions, wins and draws reached after each number of moves.
+     */
+    static final class Counts {
+        final long[] nodes;
+        final long[] wins;
+        final long[] draws;
+
+        Counts(int depth) {
+            nodes = new long[depth + 1];
+            wins = new long[depth + 1];
+            draws = new long[depth + 1];
+        }
+
+        void add(Counts other) {
+            for (int ply = 0; ply < nodes.length; ply++) {
+                nodes[ply] += other.nodes[ply];
+                wins[ply] += other.wins[ply];
+                draws[ply] += other.draws[ply];
+            }
+        }
+
+        /** @return the positions reached at any ply below the start position */
+        long getTotalNodes() {
+            long total = 0;
+            for (int ply = 1; ply < nodes.length; ply++) {
+                total += nodes[ply];
+            }
+            return total;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Counts other
+                    && Arrays.equals(nodes, other.nodes)
+                    && Arrays.equals(wins, other.wins)
+                    && Arrays.equals(draws, other.draws);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+    }
+}
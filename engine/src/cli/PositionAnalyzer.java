@@ -0,0 +1,209 @@
+package cli;
+
+import logic.AIPlayer;
+import logic.GameLogic;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless batch analysis of positions with the {@link AIPlayer} search.
+ * <pre>
+ * PositionAnalyzer [--depth &lt;plies&gt;] [--time &lt;ms&gt;] [--threads &lt;n&gt;] [&lt;file&gt; | -]
+ * </pre>
+ * Positions are read one per line in move-string notation (columns 1-7, e.g.
+ * {@code 4453}) from the file, or from standard input if no file or {@code -} is given.
+ * Anything after the first space, tab or comma is ignored, as are blank lines and lines
+ * starting with {@code #}; a line holding only {@code -} is the empty board. Each
+ * position is searched for the player to move to {@code --depth} plies (default
+ * {@value #DEFAULT_DEPTH}) and, with {@code --time}, at most that many
+ * milliseconds per position, keeping the deepest search that finished.
+ * <p>
+ * One tab-separated line is written per position, in input order:
+ * {@code moves score best depth nodes micros}, where {@code best} is a column 1-7 and
+ * {@code score} is from the side to move's point of view (±{@value AIPlayer#WIN_SCORE}
+ * is a forced result). Positions that are already over get {@code best} {@code -},
+ * and invalid lines are reported as {@code moves error <reason>}.
+ * </p>
+ * <p>
+ * Positions are searched on one thread per processor by default. A bounded window of
+ * searches is kept in flight ahead of the next line to be written, so every thread
+ * stays busy while output is streamed in order and memory stays flat on large inputs.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class PositionAnalyzer {
+    private static final String USAGE =
+            "Usage: PositionAnalyzer [--depth <plies>] [--time <ms>] [--threads <n>] [<file> | -]";
+    private static final int ROWS = 6;
+    private static final int COLUMNS = 7;
+    // Searches queued per thread; enough to hide uneven search times
+    private static final int WINDOW_PER_THREAD = 16;
+    private static final int DEFAULT_DEPTH = 7;
+
+    private PositionAnalyzer() {
+    }
+
+    public static void main(String[] args) {
+        int depth = DEFAULT_DEPTH;
+        long budgetMillis = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path input = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--depth" -> depth = Integer.parseInt(args[++i]);
+                    case "--time" -> budgetMillis = Long.parseLong(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "-" -> input = null;
+                    default -> input = Path.of(args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            depth = 0;
+        }
+        if (depth < 1 || budgetMillis < 0 || threads < 1) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        try (BufferedReader reader = input == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            analyze(reader, writer, depth, budgetMillis * 1_000_000, threads);
+        } catch (IOException e) {
+            System.err.println("Analysis failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Analyses every position read from {@code reader} and writes one result line per
+     * position to {@code writer}, in input order.
+     *
+     * @param reader      the positions, one move string per line
+     * @param writer      where the results are written; flushed but not closed
+     * @param depth       the search depth in plies
+     * @param budgetNanos the time budget per position in nanoseconds, or 0 for none
+     * @param threads     the number of search threads
+     * @throws IOException if reading or writing fails
+     */
+    static void analyze(BufferedReader reader, Writer writer, int depth, long budgetNanos, int threads)
+            throws IOException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "position-analyzer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ArrayDeque<Future<String>> window = new ArrayDeque<>();
+        int windowSize = threads * WINDOW_PER_THREAD;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String moves = firstToken(line);
+                if (moves.isEmpty() || moves.startsWith("#")) continue;
+
+                if (window.size() == windowSize) {
+                    write(window.poll(), writer);
+                }
+                window.add(pool.submit(() -> analyzePosition(moves, depth, budgetNanos)));
+
+                // Write whatever is already finished so results stream out promptly
+                while (!window.isEmpty() && window.peek().isDone()) {
+                    write(window.poll(), writer);
+                }
+            }
+            while (!window.isEmpty()) {
+                write(window.poll(), writer);
+            }
+            writer.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes a finished result, flushing first if it has to be waited for so that
+     * earlier results are not held back in the buffer.
+     */
+    private static void write(Future<String> result, Writer writer) throws IOException {
+        if (!result.isDone()) {
+            writer.flush();
+        }
+        try {
+            writer.write(result.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Analysis interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Analysis failed: " + e.getCause(), e.getCause());
+        }
+        writer.write('\n');
+    }
+
+    private static String firstToken(String line) {
+        int end = 0;
+        while (end < line.length() && " \t,;\r".indexOf(line.charAt(end)) < 0) end++;
+        return line.substring(0, end);
+    }
+
+    /**
+     * Replays a move string on a fresh board and searches it for the player to move.
+     *
+     * @return the result line for the position
+     */
+    private static String analyzePosition(String moves, int depth, long budgetNanos) {
+        String played = moves.equals("-") ? "" : moves;
+        if (played.length() > ROWS * COLUMNS) {
+            return moves + "\terror\tmore than " + ROWS * COLUMNS + " moves";
+        }
+
+        GameLogic gameLogic = new GameLogic();
+        boolean over = false;
+        for (int ply = 0; ply < played.length(); ply++) {
+            char c = played.charAt(ply);
+            int player = ply % 2 + 1;
+            if (c < '1' || c > '7') {
+                return moves + "\terror\tinvalid column at move " + (ply + 1);
+            }
+            if (over) {
+                return moves + "\terror\tmove " + (ply + 1) + " after the game was won";
+            }
+            if (!gameLogic.makeMove(c - '1', player)) {
+                return moves + "\terror\tcolumn " + c + " is full at move " + (ply + 1);
+            }
+            over = gameLogic.checkWinState(player);
+        }
+        if (over) {
+            // The previous move won, so the side to move has lost
+            return moves + '\t' + -AIPlayer.WIN_SCORE + "\t-\t0\t0\t0";
+        }
+        if (gameLogic.isBoardFull()) {
+            return moves + "\t0\t-\t0\t0\t0";
+        }
+
+        AIPlayer ai = new AIPlayer(gameLogic, "Hard", played.length() % 2 + 1);
+        AIPlayer.SearchResult result = ai.analyze(depth, budgetNanos);
+        return moves + '\t' + result.getScore()
+                + '\t' + (result.getBestMove() + 1)
+                + '\t' + result.getDepth()
+                + '\t' + result.getNodes()
+                + '\t' + result.getNanos() / 1000;
+    }
+}
@@ -0,0 +1,107 @@
+package cli;
+
+import storage.DatabaseLockedException;
+import storage.GameDatabase;
+import storage.GameRecord;
+import storage.PositionIndex;
+import storage.PositionKey;
+import storage.PositionStats;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line lookup of a position in the game database.
+ * <pre>
+ * PositionQuery [--db &lt;directory&gt;] [--games &lt;n&gt;] &lt;moves&gt;
+ * </pre>
+ * {@code moves} is a move string such as {@code 4453} (columns 1-7); use {@code -} for
+ * the empty board. Games are only read, but unless the game or an import has the database
+ * open for writing, and so keeps the index up to date itself, the query takes the writer
+ * lock and brings the index up to date before the lookup. The first {@code n} matching games (default 10) are listed.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class PositionQuery {
+    private static final int DEFAULT_GAMES_LISTED = 10;
+
+    private PositionQuery() {
+    }
+
+    public static void main(String[] args) {
+        Path dbDirectory = GameDatabase.defaultDirectory();
+        int gamesListed = DEFAULT_GAMES_LISTED;
+        String moves = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--db" -> dbDirectory = Path.of(args[++i]);
+                    case "--games" -> gamesListed = Integer.parseInt(args[++i]);
+                    default -> moves = args[i].equals("-") ? "" : args[i];
+                }
+            }
+        } catch (RuntimeException e) {
+            moves = null;
+        }
+        if (moves == null) {
+            System.err.println("Usage: PositionQuery [--db <directory>] [--games <n>] <moves>");
+            System.exit(2);
+        }
+
+        long key;
+        try {
+            key = PositionKey.ofMoves(moves);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        try (GameDatabase database = openDatabase(dbDirectory);
+             PositionIndex index = database.isReadOnly()
+                     ? PositionIndex.openReadOnly(PositionIndex.defaultDirectory(database))
+                     : PositionIndex.open(PositionIndex.defaultDirectory(database))) {
+            if (!database.isReadOnly()) {
+                index.update(database);
+            }
+
+            long start = System.nanoTime();
+            PositionStats stats = index.lookup(key);
+            long[] games = index.findGames(key, gamesListed);
+            long micros = (System.nanoTime() - start) / 1000;
+
+            System.out.println(stats + " (" + micros + " µs)");
+            for (long id : games) {
+                GameRecord record = database.get(id);
+                if (record != null) {
+                    System.out.printf("  #%d  %s  %s%n", id, record.getResult(), toMoveString(record));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read game database: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Opens the database for writing, so the index can be updated, or read-only if
+     * another process is writing to it.
+     */
+    private static GameDatabase openDatabase(Path directory) throws IOException {
+        try {
+            return GameDatabase.open(directory);
+        } catch (DatabaseLockedException e) {
+            return GameDatabase.openReadOnly(directory);
+        }
+    }
+
+    private static String toMoveString(GameRecord record) {
+        StringBuilder moves = new StringBuilder(record.getMoveCount());
+        for (int ply = 0; ply < record.getMoveCount(); ply++) {
+            moves.append((char) ('1' + record.getMove(ply)));
+        }
+        return moves.toString();
+    }
+}
@@ -0,0 +1,225 @@
+package cli;
+
+import logic.DifficultyPreset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rates AI configurations against each other and checks the difficulty presets.
+ * <pre>
+ * RatingHarness [--games &lt;n&gt;] [--threads &lt;n&gt;] [--random-plies &lt;n&gt;] [--seed &lt;n&gt;] [&lt;ai&gt; ...]
+ * </pre>
+ * Every pair of configurations (see {@link EngineConfig}; by default {@code random},
+ * {@code block} and {@code d1} to {@code d7}) plays an {@link Arena} match of
+ * {@code n} games (default {@value #DEFAULT_GAMES}). A Bradley-Terry model is fitted
+ * to all results, a draw counting as half a win, and reported on the Elo scale with
+ * {@code random} at 0, together with each configuration's mean CPU time per move.
+ * <p>
+ * The report ends with each {@link DifficultyPreset}: its target rating, the rating of
+ * the strategy it plays, and the cheapest measured strategy whose rating reaches the
+ * target even at the low end of its 95% interval, so a noisy run does not suggest a
+ * weaker strategy. The targets refer to ratings among the default configurations.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class RatingHarness {
+    private static final String USAGE = "Usage: RatingHarness [--games <n>] [--threads <n>] "
+            + "[--random-plies <n>] [--seed <n>] [<ai> ...]";
+    private static final String[] DEFAULT_CONFIGS = {"random", "block", "d1", "d2", "d3", "d4", "d5", "d6", "d7"};
+    private static final String ANCHOR = "random";
+    private static final int DEFAULT_GAMES = 100;
+    private static final int DEFAULT_RANDOM_PLIES = 4;
+    private static final int MAX_ITERATIONS = 10_000;
+    private static final double TOLERANCE = 1e-9;
+    private static final double ELO_PER_NATURAL_LOG = 400 / Math.log(10);
+
+    private RatingHarness() {
+    }
+
+    public static void main(String[] args) {
+        int games = DEFAULT_GAMES;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int randomPlies = DEFAULT_RANDOM_PLIES;
+        long seed = System.nanoTime();
+        List<EngineConfig> configs = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--games" -> games = Integer.parseInt(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--random-plies" -> randomPlies = Integer.parseInt(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    default -> configs.add(EngineConfig.parse(args[i]));
+                }
+            }
+            if (configs.isEmpty()) {
+                for (String spec : DEFAULT_CONFIGS) {
+                    configs.add(EngineConfig.parse(spec));
+                }
+            }
+        } catch (RuntimeException e) {
+            if (e instanceof IllegalArgumentException && e.getMessage() != null) {
+                System.err.println(e.getMessage());
+            }
+            configs.clear();
+        }
+        if (configs.size() < 2 || games < 1 || threads < 1 || randomPlies < 0 || randomPlies > Arena.MAX_RANDOM_PLIES) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+
+        int n = configs.size();
+        double[][] points = new double[n][n];
+        long[][] played = new long[n][n];
+        long[] moves = new long[n];
+        long[] cpuNanos = new long[n];
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                System.err.printf("%s vs %s%n", configs.get(i), configs.get(j));
+                Arena arena = new Arena(configs.get(i), configs.get(j), null, randomPlies, seed);
+                Arena.Tally tally = arena.play(games, threads);
+                double score = tally.getCount(Arena.Tally.WIN) + 0.5 * tally.getCount(Arena.Tally.DRAW);
+                points[i][j] = score;
+                points[j][i] = tally.getGames() - score;
+                played[i][j] = played[j][i] = tally.getGames();
+                moves[i] += tally.firstLatency.getCount();
+                moves[j] += tally.secondLatency.getCount();
+                cpuNanos[i] += tally.firstCpuNanos;
+                cpuNanos[j] += tally.secondCpuNanos;
+            }
+        }
+
+        double[] ratings = fitRatings(points, played);
+        int anchor = 0;
+        for (int i = 0; i < n; i++) {
+            if (configs.get(i).getName().equals(ANCHOR)) anchor = i;
+        }
+        double offset = ratings[anchor];
+        double[] errors = standardErrors(ratings, played);
+        double[] cost = new double[n];
+        for (int i = 0; i < n; i++) {
+            ratings[i] -= offset;
+            cost[i] = moves[i] == 0 ? 0 : (double) cpuNanos[i] / moves[i];
+        }
+
+        System.out.printf("%d configurations, %d games per pair, %d random opening moves, seed %d, %.1f s%n",
+                n, games, randomPlies, seed, (System.nanoTime() - start) / 1e9);
+        System.out.printf("Ratings on the Elo scale, %s = 0%n%n", configs.get(anchor));
+        System.out.printf("  %-12s %8s %6s %8s %9s %12s%n", "AI", "rating", "±", "score", "moves", "CPU/move");
+        Integer[] order = new Integer[n];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparingDouble(i -> -ratings[i]));
+        for (int i : order) {
+            double score = 0;
+            long total = 0;
+            for (int j = 0; j < n; j++) {
+                score += points[i][j];
+                total += played[i][j];
+            }
+            System.out.printf("  %-12s %+8.0f %6.0f %7.1f%% %9d %12s%n", configs.get(i), ratings[i],
+                    1.96 * errors[i], 100 * score / total, moves[i], LatencyHistogram.format(cost[i]));
+        }
+
+        if (!configs.get(anchor).getName().equals(ANCHOR)) {
+            System.out.printf("%nInclude %s to check the difficulty presets.%n", ANCHOR);
+            return;
+        }
+        System.out.printf("%n  %-8s %8s   %-20s %-20s%n", "Preset", "target", "plays", "cheapest on target (95%)");
+        for (DifficultyPreset preset : DifficultyPreset.values()) {
+            String current = EngineConfig.nameOf(preset);
+            int cheapest = -1;
+            for (int i = 0; i < n; i++) {
+                // The anchor's rating is 0 by definition, so it has no margin to allow for
+                double lowest = i == anchor ? ratings[i] : ratings[i] - 1.96 * errors[i];
+                if (!configs.get(i).isPresetCandidate() || lowest < preset.getTargetRating()) continue;
+                if (cheapest < 0 || cost[i] < cost[cheapest]) cheapest = i;
+            }
+            String playing = current + " (not measured)";
+            for (int i = 0; i < n; i++) {
+                if (configs.get(i).getName().equals(current)) {
+                    playing = String.format("%s (%+.0f)", current, ratings[i]);
+                }
+            }
+            String recommended = cheapest < 0 ? "none measured"
+                    : String.format("%s (%+.0f, %s)", configs.get(cheapest), ratings[cheapest],
+                    LatencyHistogram.format(cost[cheapest]));
+            System.out.printf("  %-8s %+8d   %-20s %s%n", preset.getName(), preset.getTargetRating(),
+                    playing, recommended);
+        }
+    }
+
+    /**
+     * Fits Bradley-Terry ratings with the minorization-maximization algorithm. One
+     * virtual draw is added to every pair that played, so ratings stay finite when a
+     * configuration wins or loses every game.
+     *
+     * @param points the points scored by each row against each column
+     * @param played the games played between each pair
+     * @return the ratings on the Elo scale, averaging 0
+     */
+    static double[] fitRatings(double[][] points, long[][] played) {
+        int n = points.length;
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1);
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double change = 0;
+            double[] next = new double[n];
+            double logSum = 0;
+            for (int i = 0; i < n; i++) {
+                double won = 0;
+                double expected = 0;
+                for (int j = 0; j < n; j++) {
+                    if (j == i || played[i][j] == 0) continue;
+                    won += points[i][j] + 0.5;
+                    expected += (played[i][j] + 1) / (strength[i] + strength[j]);
+                }
+                next[i] = expected == 0 ? strength[i] : won / expected;
+                logSum += Math.log(next[i]);
+            }
+            double scale = Math.exp(logSum / n);
+            for (int i = 0; i < n; i++) {
+                next[i] /= scale;
+                change = Math.max(change, Math.abs(Math.log(next[i] / strength[i])));
+            }
+            strength = next;
+            if (change < TOLERANCE) break;
+        }
+
+        double[] ratings = new double[n];
+        for (int i = 0; i < n; i++) {
+            ratings[i] = ELO_PER_NATURAL_LOG * Math.log(strength[i]);
+        }
+        return ratings;
+    }
+
+    /**
+     * Approximates the standard error of each rating from the Fisher information of
+     * its games, treating the other ratings as exact.
+     *
+     * @param ratings the fitted ratings on the Elo scale
+     * @param played  the games played between each pair
+     * @return the standard errors in Elo
+     */
+    static double[] standardErrors(double[] ratings, long[][] played) {
+        int n = ratings.length;
+        double[] errors = new double[n];
+        for (int i = 0; i < n; i++) {
+            double information = 0;
+            for (int j = 0; j < n; j++) {
+                if (j == i) continue;
+                double p = 1 / (1 + Math.exp((ratings[j] - ratings[i]) / ELO_PER_NATURAL_LOG));
+                information += played[i][j] * p * (1 - p);
+            }
+            errors[i] = information == 0 ? Double.POSITIVE_INFINITY
+                    : ELO_PER_NATURAL_LOG / Math.sqrt(information);
+        }
+        return errors;
+    }
+}
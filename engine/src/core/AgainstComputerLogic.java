@@ -0,0 +1,302 @@
+package core;
+
+import logic.AIPlayer;
+import logic.DifficultyPreset;
+import logic.GameLogic;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.InputMismatchException;
+import java.util.Locale;
+import java.util.Scanner;
+import java.nio.charset.StandardCharsets;
+
+/**
+ *
+ * Game Logic Module against the Computer
+ * The board is kept in the same GameLogic engine the graphical game uses,
+ * and the computer's moves are chosen by its AIPlayer at the selected difficulty
+ * @author Weronika Golden
+ * @version 2.0
+ *
+ */
+public class AgainstComputerLogic {
+
+    String reset = "\u001B[0m";
+    String blue = "\u001B[34m";
+    String magenta = "\u001B[35m";
+    String red = "\u001B[31m";
+    String yellow = "\u001B[33m";
+    private static final int rows = 6;
+    private static final int columns = 7;
+    private static final char playerX = 'X';
+    private static final char playerComputer = 'O';
+    private final GameLogic gameLogic;
+    private AIPlayer aiPlayer;
+    private static final long DEFAULT_MOVE_DELAY_MILLIS = 1000;
+    private final InputStream input;
+    private final PrintStream out;
+    private final ConsoleRenderer renderer;
+    private final long moveDelayMillis;
+
+    /**
+     *
+     * constructor to initialize the gameBoard for play on the terminal,
+     * with the computer pausing a second before each move
+     *
+     */
+    public AgainstComputerLogic(){
+        this(System.in, System.out, DEFAULT_MOVE_DELAY_MILLIS);
+    }
+
+    /**
+     *
+     * constructor to initialize the gameBoard, reading the player's moves
+     * from the given input and writing the board and prompts to the given output
+     *
+     * @param input           the stream the moves and answers are read from
+     * @param out             the stream the board and messages are written to
+     * @param moveDelayMillis how long the computer pauses before each move; 0 for none
+     * @throws IllegalArgumentException if the delay is negative
+     *
+     */
+    public AgainstComputerLogic(InputStream input, PrintStream out, long moveDelayMillis) {
+        if (moveDelayMillis < 0) {
+            throw new IllegalArgumentException("Move delay must not be negative");
+        }
+        this.input = input;
+        this.out = out;
+        this.renderer = ConsoleRenderer.create(out, rows, columns);
+        this.moveDelayMillis = moveDelayMillis;
+        gameLogic = new GameLogic();
+        aiPlayer = new AIPlayer(gameLogic, DifficultyPreset.EASY.getName(), playerNumber(playerComputer));
+    }
+
+    /**
+     *
+     * sets how strongly the computer plays
+     *
+     * @param difficulty "Easy", "Medium" or "Hard"
+     * @throws IllegalArgumentException if the difficulty is not one of those
+     *
+     */
+    public void setDifficulty(String difficulty) {
+        for (DifficultyPreset preset : DifficultyPreset.values()) {
+            if (preset.getName().equals(difficulty)) {
+                aiPlayer = new AIPlayer(gameLogic, difficulty, playerNumber(playerComputer));
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Unknown difficulty: " + difficulty);
+    }
+
+    /**
+     *
+     * @return the difficulty the computer plays at
+     *
+     */
+    public String getDifficulty() {
+        return aiPlayer.getDifficulty();
+    }
+    /**
+     *
+     * method to print the gameBoard
+     *
+     */
+    public void printBoard() {
+        renderer.render(gameLogic);
+    }
+    /**
+     *
+     * checks to see if the move is valid, and if it is
+     * places the game piece into the gameBoard
+     * otherwise, it tells the player the move is invalid
+     *
+     * @param column column number
+     * @param piece  piece - either X or O
+     * @return boolean
+     *
+     */
+    public boolean addPiece(int column, char piece) throws IllegalArgumentException {
+
+        if (column < 0 || column >= columns) {
+            throw new IllegalArgumentException(red + "Invalid selection: Choose a column number between 1-7" + reset);
+        }
+
+        if (!gameLogic.isColumnFull(column)) {
+            return gameLogic.makeMove(column, playerNumber(piece));
+        }
+
+        throw new IllegalArgumentException(red + "No more free spaces: choose another column." + reset);
+    }
+
+    /**
+     *
+     * Computer chooses its column with the AI at the selected difficulty
+     * and places its piece on the board, after the configured delay
+     *
+     * @return boolean
+     *
+     */
+    public boolean addComputerPiece() {
+        if (moveDelayMillis > 0) {
+            try {
+                // Pause before the computer makes its move so the player can follow it
+                Thread.sleep(moveDelayMillis);
+            } catch (InterruptedException e) {
+                out.println("Error with delay: " + e.getMessage());
+            }
+        }
+
+        int column = aiPlayer.getMove();
+        return column >= 0 && gameLogic.makeMove(column, playerNumber(playerComputer));
+    }
+
+    /**
+     *
+     * maps a piece to the player number the game engine uses for it
+     *
+     * @param piece piece - either X or O
+     * @return 1 for X, 2 for O
+     *
+     */
+    private static int playerNumber(char piece) {
+        return piece == playerX ? 1 : 2;
+    }
+
+    /**
+     *
+     * checks whether the given piece has four in a row on the gameBoard
+     *
+     * @param piece piece - either X or O
+     * @return true if the piece has won
+     *
+     */
+    private boolean hasWon(char piece) {
+        return gameLogic.checkWinState(playerNumber(piece));
+    }
+
+    /**
+     *
+     * asks which difficulty the computer should play at
+     * until the player names one, by name or by its first letter
+     *
+     * @param scanner the scanner reading the player's input
+     * @return "Easy", "Medium" or "Hard"
+     *
+     */
+    private String chooseDifficulty(Scanner scanner) {
+        while (true) {
+            out.print("Choose the computer's difficulty (Easy, Medium, Hard): ");
+            String answer = scanner.next().trim().toLowerCase(Locale.ROOT);
+            for (DifficultyPreset preset : DifficultyPreset.values()) {
+                String name = preset.getName().toLowerCase(Locale.ROOT);
+                if (answer.equals(name) || answer.equals(name.substring(0, 1))) {
+                    out.println();
+                    return preset.getName();
+                }
+            }
+            out.println(red + "Invalid input: Please enter Easy, Medium or Hard." + reset);
+        }
+    }
+
+    /**
+     *
+     * playGame uses a while loop to play Connect4 with 2 players
+     * if there are no more moves, the while loop is broken and the game is a draw
+     * if there is a winner the while loop is broken and a winner is declared
+     *
+     */
+    public void playGame_againstComputer() {
+
+        Scanner scanner = new Scanner(input, StandardCharsets.UTF_8);
+        boolean playAgain = true; // Loop control for replaying the game
+
+        while (playAgain) {
+            String difficulty = chooseDifficulty(scanner);
+            AgainstComputerLogic game = new AgainstComputerLogic(input, out, moveDelayMillis); // Reset the game state
+            game.setDifficulty(difficulty);
+            boolean playerXTurn = true;  // start with playerX
+            boolean playConnect4 = true; // begin running the game
+            int count_playerX = 21; // Reset player X's move count
+            int count_computer = 21; // Reset computer's move count
+
+            while (playConnect4) { // while the game is running...
+
+                game.printBoard();
+
+                out.println();
+                if (playerXTurn) {
+                    out.println(magenta + "It is your turn. Choose a column number from 1-7. Moves left: " + count_playerX + reset);
+                } else {
+                    out.println(blue + "Computer's turn. Moves left: " + count_computer + reset);
+                }
+
+                try {
+                    // players take turns until the game is over
+                    if (playerXTurn) {
+                        // ask scanner for user input
+                        out.print("Enter column number (1-" + columns + "): ");
+                        int column = scanner.nextInt() - 1;
+                        out.println();
+                        if (game.addPiece(column, playerX)) {
+                            count_playerX--;
+                            if (game.hasWon(playerX)) {
+                                game.printBoard();
+                                out.println();
+                                out.println(magenta + "Player X won the game!" + reset);
+                                playConnect4 = false;
+                            }
+                            playerXTurn = false;
+                        }
+                    } else {
+                        if (game.addComputerPiece()) {
+                            count_computer--;
+                            if (game.hasWon(playerComputer)) {
+                                game.printBoard();
+                                out.println();
+                                out.println(blue + "Computer won the game!" + reset);
+                                playConnect4 = false;
+                            }
+                            playerXTurn = true;
+                        }
+                    }
+                    // check if the game is a draw
+                    if (playConnect4) {
+                        if (count_computer == 0 && count_playerX == 0) {
+                            game.printBoard();
+                            out.println();
+                            out.println(yellow + "It's a Draw!" + reset);
+                            playConnect4 = false;
+                        }
+                    }
+                } catch (IllegalArgumentException e) {
+                    out.println(red + "Invalid input: " + e.getMessage() + reset);
+                    scanner.nextLine(); // Clear the scanner buffer
+                } catch (InputMismatchException e) {
+                    out.println(red + "Invalid input: Enter a column number between 1-7" + reset);
+                    scanner.nextLine(); // Clear the scanner buffer
+                }
+            }
+
+            // Ask if the player wants to play again
+            String answer;
+            while (true) {
+                out.println();
+                out.print("Do you want to play again? (y/n): ");
+                answer = scanner.next().trim().toLowerCase();
+
+                if (answer.equals("y") || answer.equals("n")) {
+                    break; // Exit the loop if input is valid
+                } else {
+                    out.println(red + "Invalid input: Please enter 'y' for yes or 'n' for no." + reset);
+                }
+            }
+
+            if (answer.equals("n")) {
+                playAgain = false; // Exit the loop if the answer is 'n'
+                out.println("Thanks for playing Connect 4 against the computer!");
+            }
+        }
+        scanner.close();
+    } // ends playGame_againstComputer class
+}
\ No newline at end of file
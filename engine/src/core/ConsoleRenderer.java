@@ -0,0 +1,158 @@
+package core;
+
+import logic.GameLogic;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Draws the board of a console game. Each frame is built in a byte buffer that is kept
+ * between frames and written to the output with a single call, instead of one
+ * {@code print} per cell.
+ * <p>
+ * On a terminal the board is drawn in place: the first frame clears the screen and draws
+ * the board at the top, and later frames move the cursor to each cell that changed and
+ * rewrite only that cell, then clear the messages below the board. A frame in which
+ * nothing changed writes nothing, so an error message stays visible under the board.
+ * Elsewhere, such as when the output is a file, a pipe or a script's stream, every frame
+ * is the whole board, as before. The system property {@code connect4.ansi} set to true or
+ * false overrides the choice.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class ConsoleRenderer {
+    private static final int CELL_WIDTH = 4; // the piece and " | "
+    private static final byte[] CELL_SEPARATOR = " | ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR_SCREEN = "\u001B[2J\u001B[H".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR_BELOW = "\u001B[J".getBytes(StandardCharsets.US_ASCII);
+    private static final char[] PIECES = {' ', 'X', 'O'}; // empty, player 1, player 2
+
+    private final PrintStream out;
+    private final boolean inPlace;
+    private final int[][] shown;
+    private byte[] frame = new byte[512];
+    private int length;
+    private boolean drawn;
+
+    /**
+     * Creates a renderer for a board of the given size.
+     *
+     * @param out     the stream to draw on
+     * @param rows    the number of rows of the board
+     * @param columns the number of columns of the board
+     * @param inPlace true to redraw changed cells with cursor movements
+     */
+    ConsoleRenderer(PrintStream out, int rows, int columns, boolean inPlace) {
+        this.out = out;
+        this.inPlace = inPlace;
+        this.shown = new int[rows][columns];
+    }
+
+    /**
+     * Creates a renderer that draws in place if the output is the terminal the JVM was
+     * started from, unless the {@code connect4.ansi} property says otherwise.
+     *
+     * @param out     the stream to draw on
+     * @param rows    the number of rows of the board
+     * @param columns the number of columns of the board
+     * @return the renderer
+     */
+    static ConsoleRenderer create(PrintStream out, int rows, int columns) {
+        String ansi = System.getProperty("connect4.ansi");
+        boolean inPlace = ansi != null
+                ? Boolean.parseBoolean(ansi)
+                : out == System.out && System.console() != null && !"dumb".equals(System.getenv("TERM"));
+        return new ConsoleRenderer(out, rows, columns, inPlace);
+    }
+
+    /**
+     * Draws the board, leaving the cursor at the start of the line below it. The cells
+     * are read from the game engine directly, so drawing a frame allocates nothing.
+     *
+     * @param board the game whose board is drawn
+     */
+    void render(GameLogic board) {
+        length = 0;
+        if (!inPlace) {
+            appendBoard(board);
+        } else if (!drawn) {
+            append(CLEAR_SCREEN);
+            appendBoard(board);
+            drawn = true;
+        } else {
+            boolean changed = false;
+            for (int row = 0; row < shown.length; row++) {
+                for (int col = 0; col < shown[row].length; col++) {
+                    int piece = board.getCell(row, col);
+                    if (piece != shown[row][col]) {
+                        appendCursor(row + 1, col * CELL_WIDTH + 1);
+                        append(PIECES[piece]);
+                        shown[row][col] = piece;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) return;
+            appendCursor(shown.length + 1, 1);
+            append(CLEAR_BELOW);
+        }
+        out.write(frame, 0, length);
+        out.flush();
+    }
+
+    /**
+     * Appends every row of the board and remembers it as shown.
+     */
+    private void appendBoard(GameLogic board) {
+        for (int row = 0; row < shown.length; row++) {
+            for (int col = 0; col < shown[row].length; col++) {
+                int piece = board.getCell(row, col);
+                append(PIECES[piece]);
+                append(CELL_SEPARATOR);
+                shown[row][col] = piece;
+            }
+            append(LINE_SEPARATOR);
+        }
+    }
+
+    /**
+     * Appends the escape sequence that moves the cursor to a 1-based row and column.
+     */
+    private void appendCursor(int row, int col) {
+        append('\u001B');
+        append('[');
+        appendNumber(row);
+        append(';');
+        appendNumber(col);
+        append('H');
+    }
+
+    private void appendNumber(int value) {
+        if (value >= 10) {
+            appendNumber(value / 10);
+        }
+        append((char) ('0' + value % 10));
+    }
+
+    private void append(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, frame, length, bytes.length);
+        length += bytes.length;
+    }
+
+    // Board cells and escape sequences are ASCII, so each char is one byte
+    private void append(char c) {
+        ensureCapacity(1);
+        frame[length++] = (byte) c;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > frame.length) {
+            frame = Arrays.copyOf(frame, Math.max(frame.length * 2, length + extra));
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package core;
 import logic.GameLogic;
 
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.util.InputMismatchException;
 import java.util.Scanner;
@@ -8,6 +10,7 @@ import java.util.Scanner;
 /**
  *
  * Game Logic Module against another Player
+ * The board is kept in the same GameLogic engine the graphical game uses
  * @author Weronika Golden
  * @version 2.0
  *
@@ -21,25 +24,33 @@ public class LogicForConsole {
     String yellow = "\u001B[33m";
     private static final int rows = 6;
     private static final int columns = 7;
-    private static final char emptySpace = ' ';
     private static final char playerX = 'X';
     private static final char playerO = 'O';
-    private final char[][] gameBoard;
     private final GameLogic gameLogic;
+    private final InputStream input;
+    private final PrintStream out;
+    private final ConsoleRenderer renderer;
     /**
      *
-     * constructor to initialize the gameBoard
+     * constructor to initialize the gameBoard for play on the terminal
      *
      */
     public LogicForConsole() {
+        this(System.in, System.out);
+    }
+    /**
+     *
+     * constructor to initialize the gameBoard, reading the players' moves
+     * from the given input and writing the board and prompts to the given output
+     * @param input the stream the moves and answers are read from
+     * @param out   the stream the board and messages are written to
+     *
+     */
+    public LogicForConsole(InputStream input, PrintStream out) {
+        this.input = input;
+        this.out = out;
+        this.renderer = ConsoleRenderer.create(out, rows, columns);
         gameLogic = new GameLogic();
-        gameBoard  = new char[rows][columns];
-
-        for (int i = 0; i < rows; i++){
-            for (int j = 0; j < columns; j++){
-                gameBoard[i][j] = emptySpace;
-            }
-        }
     }
     /**
      *
@@ -47,12 +58,7 @@ public class LogicForConsole {
      *
      */
     public void printBoard(){
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++) {
-                System.out.print(gameBoard[i][j] + " " + '|' + " ");
-            }
-            System.out.println();
-        }
+        renderer.render(gameLogic);
     }
     /**
      *
@@ -69,14 +75,31 @@ public class LogicForConsole {
         if (column < 0 || column >= columns) {
             throw new IllegalArgumentException(red + "Invalid selection: Choose a column number between 1-7" + reset);
         }
-        for (int i = rows - 1; i >= 0; i--) {
-            if (gameBoard[i][column] == emptySpace) {
-                gameBoard[i][column] = piece;
-                return true;
-            }
+        if (!gameLogic.isColumnFull(column)) {
+            return gameLogic.makeMove(column, playerNumber(piece));
         }
         throw new IllegalArgumentException(red + "No more free spaces: choose another column." + reset);
     }
+    /**
+     *
+     * maps a piece to the player number the game engine uses for it
+     * @return 1 for X, 2 for O
+     * @param piece piece - either X or O
+     *
+     */
+    private static int playerNumber(char piece) {
+        return piece == playerX ? 1 : 2;
+    }
+    /**
+     *
+     * checks whether the given piece has four in a row on the gameBoard
+     * @return true if the piece has won
+     * @param piece piece - either X or O
+     *
+     */
+    private boolean hasWon(char piece) {
+        return gameLogic.checkWinState(playerNumber(piece));
+    }
     /**
      *
      * playGame uses a while loop to play Connect4 with 2 players
@@ -85,11 +108,11 @@ public class LogicForConsole {
      *
      */
     public void playGame() {
-        Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
+        Scanner scanner = new Scanner(input, StandardCharsets.UTF_8);
         boolean playAgain = true;
 
         while (playAgain) {
-            LogicForConsole game = new LogicForConsole();
+            LogicForConsole game = new LogicForConsole(input, out);
 
             boolean playerXTurn = true;  // start with playerX
             boolean playConnect4 = true; // begin running the game
@@ -100,26 +123,26 @@ public class LogicForConsole {
 
                 game.printBoard();
 
-                System.out.println();
+                out.println();
                 if (playerXTurn) {
-                    System.out.println(magenta + "PlayerX-your turn. Choose a column number from 1-7. Moves left: " + count_playerX + reset);
+                    out.println(magenta + "PlayerX-your turn. Choose a column number from 1-7. Moves left: " + count_playerX + reset);
                 } else {
-                    System.out.println(blue + "PlayerO-your turn. Choose a column number from 1-7. Moves left: " + count_playerO + reset);
+                    out.println(blue + "PlayerO-your turn. Choose a column number from 1-7. Moves left: " + count_playerO + reset);
                 }
 
                 try {
                     // players take turns until the game is over
-                    System.out.print("Enter column number (1-" + columns + "): ");
+                    out.print("Enter column number (1-" + columns + "): ");
                     int column = scanner.nextInt() - 1;
-                    System.out.println();
+                    out.println();
                     if (playerXTurn) {
                         // ask scanner for user input
                         if (game.addPiece(column, playerX)) {
                             count_playerX--;
-                            if (gameLogic.checkWinState(playerX)) {
+                            if (game.hasWon(playerX)) {
                                 game.printBoard();
-                                System.out.println();
-                                System.out.println(magenta + "Player X won the game!" + reset);
+                                out.println();
+                                out.println(magenta + "Player X won the game!" + reset);
                                 playConnect4 = false;
                             }
                             playerXTurn = false;
@@ -128,10 +151,10 @@ public class LogicForConsole {
                         // ask scanner for user input
                         if (game.addPiece(column, playerO)) {
                             count_playerO--;
-                            if (gameLogic.checkWinState(playerO)) {
+                            if (game.hasWon(playerO)) {
                                 game.printBoard();
-                                System.out.println();
-                                System.out.println(blue + "Player O won the game!" + reset);
+                                out.println();
+                                out.println(blue + "Player O won the game!" + reset);
                                 playConnect4 = false;
                             }
                             playerXTurn = true;
@@ -141,36 +164,36 @@ public class LogicForConsole {
                     if (playConnect4) {
                         if (count_playerO == 0 && count_playerX == 0) {
                             game.printBoard();
-                            System.out.println();
-                            System.out.println(yellow + "It's a Draw!" + reset);
+                            out.println();
+                            out.println(yellow + "It's a Draw!" + reset);
                             playConnect4 = false;
                         }
                     }
                 } catch (IllegalArgumentException e) {
-                    System.out.println(red + "Invalid input: " + e.getMessage() + reset);
+                    out.println(red + "Invalid input: " + e.getMessage() + reset);
                     scanner.nextLine(); // Clear the scanner buffer
                 } catch (InputMismatchException e) {
-                    System.out.println(red + "Invalid input: Enter a column number between 1-7" + reset);
+                    out.println(red + "Invalid input: Enter a column number between 1-7" + reset);
                     scanner.nextLine(); // Clear the scanner buffer
                 }
             }
             // Ask if the player wants to play again
             String answer;
             while (true) {
-                System.out.println();
-                System.out.print("Do you want to play again? (y/n): ");
+                out.println();
+                out.print("Do you want to play again? (y/n): ");
                 answer = scanner.next().trim().toLowerCase();
 
                 if (answer.equals("y") || answer.equals("n")) {
                     break; // Exit the loop if input is valid
                 } else {
-                    System.out.println(red + "Invalid input: Please enter 'y' for yes or 'n' for no." + reset);
+                    out.println(red + "Invalid input: Please enter 'y' for yes or 'n' for no." + reset);
                 }
             }
 
             if (answer.equals("n")) {
                 playAgain = false; // Exit the loop if the answer is 'n'
-                System.out.println("Thanks for playing Connect 4!");
+                out.println("Thanks for playing Connect 4!");
             }
         }
         scanner.close();
@@ -1,11 +1,12 @@
 package logic;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The AIPlayer class represents an artificial intelligence opponent
- * for the Connect 4 game. It supports three difficulty levels:
- * Easy (random move), Medium (blocking strategy), and Hard (minimax with alpha-beta pruning).
+ * for the Connect 4 game. It supports three difficulty levels, each played with
+ * the strategy its {@link DifficultyPreset} names: a random move, blocking the
+ * opponent's wins, or minimax with alpha-beta pruning to a fixed depth.
  * This AI interacts with a shared GameLogic instance and uses its board
  * for simulations and evaluations.
  *
@@ -18,7 +19,14 @@ public class AIPlayer {
     private final int humanPlayerId;
     private final String difficulty;
     private static final int cols = 7;
-    private static final Random RANDOM = new Random();
+    /** Score of a won position; a search scoring this much or its negation is decided. */
+    public static final int WIN_SCORE = 100000;
+    // Nodes between deadline checks, minus one
+    private static final int DEADLINE_CHECK_MASK = 0x3FF;
+    private long lastSearchNanos = -1;
+    private long nodes;
+    private long deadline = Long.MAX_VALUE;
+    private boolean aborted;
 
     /**
      * Constructs an AI player with specified difficulty and player ID.
@@ -40,11 +48,163 @@ public class AIPlayer {
      * @return the column index (0-6) the AI wants to drop its piece in
      */
     public int getMove() {
-        return switch (difficulty) {
-            case "Medium" -> getBlockingMoveOrRandom();
-            case "Hard" -> getBestMoveMinimax();
-            default -> getRandomMove();
+        DifficultyPreset preset = DifficultyPreset.forName(difficulty);
+        return getMove(preset.getStrategy(), preset.getSearchDepth());
+    }
+
+    /**
+     * Returns the AI's chosen column using a given strategy rather than its difficulty's.
+     *
+     * @param strategy how to choose the move
+     * @param depth    the search depth in plies for {@link DifficultyPreset.Strategy#SEARCH}
+     * @return the column index (0-6) the AI wants to drop its piece in
+     */
+    public int getMove(DifficultyPreset.Strategy strategy, int depth) {
+        AISearchEvent event = new AISearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        nodes = 0;
+        int move = switch (strategy) {
+            case BLOCK -> getBlockingMoveOrRandom();
+            case SEARCH -> getBestMoveMinimax(depth);
+            case RANDOM -> getRandomMove();
         };
+        lastSearchNanos = System.nanoTime() - start;
+        event.end();
+        if (event.shouldCommit()) {
+            event.difficulty = difficulty;
+            event.strategy = strategy.name();
+            event.depth = strategy == DifficultyPreset.Strategy.SEARCH ? depth : 0;
+            event.nodes = nodes;
+            event.move = move;
+            event.commit();
+        }
+        return move;
+    }
+
+    /** @return the difficulty level this AI plays at ("Easy", "Medium" or "Hard") */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns how long the most recent call to {@link #getMove()} took.
+     *
+     * @return the last search time in nanoseconds, or -1 if no move has been made yet
+     */
+    public long getLastSearchNanos() {
+        return lastSearchNanos;
+    }
+
+    /**
+     * Analyses the current position for the AI with iterative-deepening minimax, one
+     * ply deeper per iteration, and returns the deepest search that finished. The
+     * search stops early once the outcome is decided or the board would be full.
+     * Depth 1 always completes, so a move is returned even if the budget is tiny.
+     * <p>
+     * The AI must be the player to move. Like {@link #getMove()} this uses the shared
+     * GameLogic's board, so an AIPlayer must only be used by one thread at a time.
+     * </p>
+     *
+     * @param maxDepth    the deepest search, in plies counting the AI's own move
+     * @param budgetNanos the time budget in nanoseconds, or 0 for no limit
+     * @return the best move, its score and the search statistics
+     * @throws IllegalArgumentException if {@code maxDepth} is less than 1
+     */
+    public SearchResult analyze(int maxDepth, long budgetNanos) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Search depth must be at least 1");
+        }
+        AISearchEvent event = new AISearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int[][] board = gameLogic.getBoard();
+        int emptyCells = 0;
+        for (int[] row : board) {
+            for (int cell : row) {
+                if (cell == 0) emptyCells++;
+            }
+        }
+
+        nodes = 0;
+        int[] best = {-1, 0};
+        int depthReached = 0;
+        for (int depth = 1; depth <= Math.min(maxDepth, emptyCells); depth++) {
+            deadline = depth == 1 || budgetNanos <= 0 ? Long.MAX_VALUE : start + budgetNanos;
+            int[] result = searchRoot(board, depth);
+            if (aborted) break;
+            best = result;
+            depthReached = depth;
+            if (Math.abs(result[1]) >= WIN_SCORE) break;
+        }
+        deadline = Long.MAX_VALUE;
+        aborted = false;
+
+        lastSearchNanos = System.nanoTime() - start;
+        event.end();
+        if (event.shouldCommit()) {
+            event.difficulty = difficulty;
+            event.strategy = "ANALYZE";
+            event.depth = depthReached;
+            event.nodes = nodes;
+            event.move = best[0];
+            event.commit();
+        }
+        return new SearchResult(best[0], best[1], depthReached, nodes, lastSearchNanos);
+    }
+
+    /**
+     * Returns the static evaluation of the current board for the AI, the score the
+     * search uses at its depth limit.
+     *
+     * @return score for the AI (positive = favorable, negative = unfavorable)
+     */
+    public int evaluatePosition() {
+        return evaluateBoard(gameLogic.getBoard());
+    }
+
+    /**
+     * The outcome of {@link #analyze(int, long)}.
+     */
+    public static final class SearchResult {
+        private final int bestMove;
+        private final int score;
+        private final int depth;
+        private final long nodes;
+        private final long nanos;
+
+        private SearchResult(int bestMove, int score, int depth, long nodes, long nanos) {
+            this.bestMove = bestMove;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.nanos = nanos;
+        }
+
+        /** @return the best column (0-6), or -1 if the board is full */
+        public int getBestMove() {
+            return bestMove;
+        }
+
+        /** @return the score of the best move for the AI; ±{@link #WIN_SCORE} is a forced result */
+        public int getScore() {
+            return score;
+        }
+
+        /** @return the depth of the deepest completed search */
+        public int getDepth() {
+            return depth;
+        }
+
+        /** @return the number of positions searched, including abandoned iterations */
+        public long getNodes() {
+            return nodes;
+        }
+
+        /** @return the time the whole analysis took, in nanoseconds */
+        public long getNanos() {
+            return nanos;
+        }
     }
 
     /**
@@ -55,7 +215,7 @@ public class AIPlayer {
     private int getRandomMove() {
         int col;
         do {
-            col = RANDOM.nextInt(cols);
+            col = ThreadLocalRandom.current().nextInt(cols);
         } while (gameLogic.isColumnFull(col));
         return col;
     }
@@ -89,19 +249,32 @@ public class AIPlayer {
     /**
      * Returns the best column for the AI to move using minimax with alpha-beta pruning.
      *
+     * @param depth the search depth in plies, counting the AI's move
      * @return the best evaluated column
      */
-    private int getBestMoveMinimax() {
-        int[][] board = gameLogic.getBoard();
+    private int getBestMoveMinimax(int depth) {
+        int bestCol = searchRoot(gameLogic.getBoard(), depth)[0];
+        return bestCol != -1 ? bestCol : getRandomMove();
+    }
+
+    /**
+     * Picks the AI's best move on a board: an immediate win if there is one, otherwise
+     * the move with the best minimax score, preferring columns nearer the center on ties.
+     *
+     * @param board the board to move on
+     * @param depth the search depth in plies, counting the AI's move
+     * @return the best column (-1 if the board is full) and its score
+     */
+    private int[] searchRoot(int[][] board, int depth) {
         // First: Check for immediate winning move
         for (int col = 0; col < cols; col++) {
-            if (!gameLogic.isColumnFull(col)) {
-                int row = gameLogic.getAvailableRow(col);
+            if (!isColumnFull(board, col)) {
+                int row = getAvailableRow(board, col);
                 int[][] boardCopy = cloneBoard(board);
                 boardCopy[row][col] = aiPlayerId;
 
                 if (hasWon(boardCopy, aiPlayerId)) {
-                    return col; // WIN NOW
+                    return new int[]{col, WIN_SCORE}; // WIN NOW
                 }
             }
         }
@@ -110,12 +283,13 @@ public class AIPlayer {
         int bestCol = -1;
 
         for (int col = 0; col < cols; col++) {
-            if (!gameLogic.isColumnFull(col)) {
-                int row = gameLogic.getAvailableRow(col);
+            if (!isColumnFull(board, col)) {
+                int row = getAvailableRow(board, col);
                 int[][] boardCopy = cloneBoard(board);
                 boardCopy[row][col] = aiPlayerId;
 
-                int score = minimax(boardCopy, 6, false, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                int score = minimax(boardCopy, depth - 1, false, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                if (aborted) break;
 
                 if (score > bestScore || (score == bestScore && Math.abs(col - 3) < Math.abs(bestCol - 3))) {
                     bestScore = score;
@@ -123,7 +297,7 @@ public class AIPlayer {
                 }
             }
         }
-        return bestCol != -1 ? bestCol : getRandomMove();
+        return new int[]{bestCol, bestScore};
     }
 
     /**
@@ -137,8 +311,10 @@ public class AIPlayer {
      * @return evaluation score for current board
      */
     private int minimax(int[][] board, int depth, boolean isMaximizing, int alpha, int beta) {
-        if (hasWon(board, aiPlayerId)) return 100000;
-        if (hasWon(board, humanPlayerId)) return -100000;
+        if ((++nodes & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() > deadline) aborted = true;
+        if (aborted) return 0;
+        if (hasWon(board, aiPlayerId)) return WIN_SCORE;
+        if (hasWon(board, humanPlayerId)) return -WIN_SCORE;
         if (depth == 0 || isBoardFull(board)) return evaluateBoard(board);
 
         if (isMaximizing) {
@@ -0,0 +1,41 @@
+package logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for one move chosen by an {@link AIPlayer}, covering
+ * {@link AIPlayer#getMove()} and {@link AIPlayer#analyze(int, long)}. Its duration is the
+ * time the AI spent choosing. Disabled unless a recording enables {@code connect4.AISearch}.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+@Name("connect4.AISearch")
+@Label("AI Search")
+@Category({"Connect 4", "Engine"})
+@Description("An AI player choosing a move")
+@StackTrace(false)
+final class AISearchEvent extends Event {
+    @Label("Difficulty")
+    String difficulty;
+
+    @Label("Strategy")
+    String strategy;
+
+    @Label("Depth")
+    @Description("Search depth in plies; for an analysis, the deepest search that finished")
+    int depth;
+
+    @Label("Nodes")
+    @Description("Positions searched")
+    long nodes;
+
+    @Label("Move")
+    @Description("The chosen column, 0-6")
+    int move;
+}
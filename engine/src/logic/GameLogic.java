@@ -37,6 +37,17 @@ public class GameLogic {
         return copy;
     }
 
+    /**
+     * Returns the piece in one cell of the board, without copying the board.
+     *
+     * @param row the row index, 0 at the top
+     * @param col the column index
+     * @return 0 for an empty cell, otherwise the number of the player whose piece is there
+     */
+    public int getCell(int row, int col) {
+        return board[row][col];
+    }
+
     /**
      * Returns a copy of the winning positions list to preserve encapsulation.
      *
@@ -88,6 +99,22 @@ public class GameLogic {
         return false;
     }
 
+    /**
+     * Removes the top piece from the specified column, undoing the last move played there.
+     *
+     * @param col the column index
+     * @return true if a piece was removed, false if the column is empty
+     */
+    public boolean undoMove(int col) {
+        for (int row = 0; row < ROWS; row++) {
+            if (board[row][col] != 0) {
+                board[row][col] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Checks whether the specified player has a winning sequence of four.
      * Updates the winningPositions list if a win is found.
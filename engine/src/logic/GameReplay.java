@@ -0,0 +1,120 @@
+package logic;
+
+import storage.GameRecord;
+
+/**
+ * The positions of a recorded game, for stepping and seeking through a replay.
+ * <p>
+ * A snapshot of the board is kept every {@link #KEYFRAME_INTERVAL} plies, so the
+ * position after any ply is rebuilt from the nearest earlier keyframe by applying at
+ * most {@code KEYFRAME_INTERVAL - 1} moves, instead of replaying the game from the
+ * first move.
+ * </p>
+ * Boards use the same layout as {@link GameLogic#getBoard()}: row 0 at the top,
+ * 0 for empty and 1 or 2 for a player's piece. Player 1 makes the first move.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class GameReplay {
+    /** Plies between board snapshots. */
+    public static final int KEYFRAME_INTERVAL = 8;
+
+    private static final int ROWS = 6;
+    private static final int COLS = 7;
+
+    private final GameRecord record;
+    private final byte[] moves;
+    private final int[] landingRows;
+    private final int[][][] keyframes;
+
+    /**
+     * Builds the keyframes of a recorded game.
+     *
+     * @param record the game to replay
+     * @throws IllegalArgumentException if a move is played into a full column
+     */
+    public GameReplay(GameRecord record) {
+        this.record = record;
+        this.moves = record.getMoves();
+        this.landingRows = new int[moves.length];
+        this.keyframes = new int[moves.length / KEYFRAME_INTERVAL + 1][][];
+
+        int[][] board = new int[ROWS][COLS];
+        int[] heights = new int[COLS];
+        keyframes[0] = copy(board);
+        for (int ply = 0; ply < moves.length; ply++) {
+            int col = moves[ply];
+            if (heights[col] == ROWS) {
+                throw new IllegalArgumentException("Move " + (ply + 1) + " is played into full column " + (col + 1));
+            }
+            int row = ROWS - 1 - heights[col]++;
+            board[row][col] = getPlayer(ply);
+            landingRows[ply] = row;
+            if ((ply + 1) % KEYFRAME_INTERVAL == 0) {
+                keyframes[(ply + 1) / KEYFRAME_INTERVAL] = copy(board);
+            }
+        }
+    }
+
+    /** @return the game being replayed */
+    public GameRecord getRecord() {
+        return record;
+    }
+
+    /** @return the number of moves in the game */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * @param ply the zero-based move number
+     * @return the column (0-6) of that move
+     */
+    public int getColumn(int ply) {
+        return moves[ply];
+    }
+
+    /**
+     * @param ply the zero-based move number
+     * @return the row the piece of that move landed in, 0 being the top row
+     */
+    public int getRow(int ply) {
+        return landingRows[ply];
+    }
+
+    /**
+     * @param ply the zero-based move number
+     * @return the player (1 or 2) who made that move
+     */
+    public int getPlayer(int ply) {
+        return (ply % 2 == 0) ? 1 : 2;
+    }
+
+    /**
+     * Returns the board after a number of moves have been played.
+     *
+     * @param movesPlayed how many moves to apply, from 0 to {@link #getMoveCount()}
+     * @return a new board array
+     * @throws IllegalArgumentException if {@code movesPlayed} is out of range
+     */
+    public int[][] getBoardAfter(int movesPlayed) {
+        if (movesPlayed < 0 || movesPlayed > moves.length) {
+            throw new IllegalArgumentException("No position after " + movesPlayed + " moves");
+        }
+        int keyframe = movesPlayed / KEYFRAME_INTERVAL;
+        int[][] board = copy(keyframes[keyframe]);
+        for (int ply = keyframe * KEYFRAME_INTERVAL; ply < movesPlayed; ply++) {
+            board[landingRows[ply]][moves[ply]] = getPlayer(ply);
+        }
+        return board;
+    }
+
+    private static int[][] copy(int[][] board) {
+        int[][] copy = new int[ROWS][];
+        for (int row = 0; row < ROWS; row++) {
+            copy[row] = board[row].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,9 @@
+module Connect4_Engine {
+    requires java.management;
+    requires jdk.jfr;
+
+    exports core;
+    exports logic;
+    exports storage;
+    exports cli;
+}
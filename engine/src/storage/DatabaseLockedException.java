@@ -0,0 +1,26 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Thrown when a {@link GameDatabase} cannot be opened for writing because another
+ * process, or another open database in this one, already writes to it. The database
+ * can still be opened read-only.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class DatabaseLockedException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs the exception for a database directory.
+     *
+     * @param directory the locked database directory
+     */
+    public DatabaseLockedException(Path directory) {
+        super("Game database " + directory + " is already open for writing, "
+                + "probably by a running game or import");
+    }
+}
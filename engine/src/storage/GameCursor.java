@@ -0,0 +1,174 @@
+package storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable, allocation-free view over the games in a {@link GameDatabase}.
+ * Each call to {@link #next()} moves the cursor to the next published game and the
+ * getters decode fields straight from the mapped segment, so scanning millions of
+ * games creates no per-game objects. A cursor is not thread-safe; use one per thread.
+ * <pre>
+ * GameCursor games = database.cursor();
+ * while (games.next()) {
+ *     if (games.getResult() == GameResult.DRAW) draws++;
+ * }
+ * </pre>
+ */
+public final class GameCursor {
+    private static final GameResult[] RESULTS = GameResult.values();
+    private static final PlayerMode[] MODES = PlayerMode.values();
+    private static final String[] DIFFICULTIES = {null, "Easy", "Medium", "Hard"};
+
+    private final GameDatabase database;
+    private final long limit;
+    private long nextId;
+    private long currentId = -1;
+    private ByteBuffer buffer;
+    private int offset;
+    private boolean labelled;
+
+    /**
+     * Constructs a cursor over game ids in {@code [fromId, limit)}.
+     *
+     * @param database the database to read
+     * @param fromId   the first game id to visit
+     * @param limit    one past the last game id to visit
+     */
+    GameCursor(GameDatabase database, long fromId, long limit) {
+        this.database = database;
+        this.nextId = fromId;
+        this.limit = limit;
+    }
+
+    /**
+     * Advances to the next published game, skipping empty slots.
+     *
+     * @return true if the cursor is on a game, false once the scan is finished
+     */
+    public boolean next() {
+        while (nextId < limit) {
+            long id = nextId++;
+            if (moveTo(id)) return true;
+        }
+        currentId = -1;
+        return false;
+    }
+
+    /**
+     * Positions the cursor on a specific game.
+     *
+     * @param id the game id
+     * @return true if the game exists and has been published
+     */
+    public boolean seek(long id) {
+        nextId = id + 1;
+        if (id >= 0 && id < database.size() && moveTo(id)) return true;
+        currentId = -1;
+        return false;
+    }
+
+    private boolean moveTo(long id) {
+        Segment segment = database.segmentFor(id);
+        if (segment == null) return false;
+        int slot = database.slotFor(id);
+        if (!segment.isPublished(slot)) return false;
+
+        buffer = segment.buffer();
+        offset = segment.offset(slot);
+        labelled = segment.hasLabels();
+        currentId = id;
+        return true;
+    }
+
+    /** @return the id of the current game, usable with {@link GameDatabase#get} */
+    public long getId() {
+        return currentId;
+    }
+
+    /** @return the outcome of the current game */
+    public GameResult getResult() {
+        return RESULTS[(buffer.get(offset) >>> 4) & 0b11];
+    }
+
+    /** @return who controlled each seat in the current game */
+    public PlayerMode getMode() {
+        return MODES[buffer.get(offset) & 0b11];
+    }
+
+    /** @return the AI difficulty of the current game, or null */
+    public String getDifficulty() {
+        return DIFFICULTIES[(buffer.get(offset) >>> 2) & 0b11];
+    }
+
+    /** @return the number of moves in the current game */
+    public int getMoveCount() {
+        return buffer.get(offset + 1) & 0xFF;
+    }
+
+    /** @return the start time of the current game in seconds since the epoch */
+    public long getStartEpochSeconds() {
+        return buffer.getInt(offset + 2) & 0xFFFFFFFFL;
+    }
+
+    /** @return the duration of the current game in seconds */
+    public int getDurationSeconds() {
+        return buffer.getShort(offset + 6) & 0xFFFF;
+    }
+
+    /**
+     * Decodes one move of the current game.
+     *
+     * @param ply the zero-based move number
+     * @return the column (0-6) played at that ply
+     */
+    public int getMove(int ply) {
+        int bit = ply * 3;
+        int index = offset + GameRecord.HEADER_BYTES + (bit >>> 3);
+        int word = (buffer.get(index) & 0xFF) << 8;
+        if ((bit & 7) > 5) {
+            // The move straddles two bytes
+            word |= buffer.get(index + 1) & 0xFF;
+        }
+        return (word >>> (13 - (bit & 7))) & 0b111;
+    }
+
+    /**
+     * Returns the label stored with the current game. Allocates, like {@link #toRecord()}.
+     *
+     * @return the label, or null if the game has none
+     */
+    public String getLabel() {
+        int length = getLabelLength();
+        if (length == 0) return null;
+        byte[] label = new byte[length];
+        buffer.get(offset + Segment.RECORD_BYTES + 1, label);
+        return new String(label, StandardCharsets.UTF_8);
+    }
+
+    /** @return the length of the current game's label in bytes of UTF-8, 0 without one */
+    int getLabelLength() {
+        return labelled ? buffer.get(offset + Segment.RECORD_BYTES) & 0xFF : 0;
+    }
+
+    /**
+     * Copies the UTF-8 bytes of the current game's label to a buffer without allocating.
+     *
+     * @param target the buffer to write to, with room for {@link #getLabelLength()} bytes
+     */
+    void copyLabel(ByteBuffer target) {
+        int length = getLabelLength();
+        target.put(target.position(), buffer, offset + Segment.RECORD_BYTES + 1, length);
+        target.position(target.position() + length);
+    }
+
+    /**
+     * Decodes the current game into a standalone record. Allocates; intended for
+     * the few games a scan selects rather than for every game.
+     *
+     * @return the current game as a GameRecord
+     */
+    public GameRecord toRecord() {
+        return GameRecord.readFrom(buffer.slice(offset, Segment.RECORD_BYTES));
+    }
+}
@@ -0,0 +1,570 @@
+package storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An append-only store of recorded games, kept in a directory of fixed-layout,
+ * memory-mapped segment files.
+ * <p>
+ * Every game occupies one fixed-size slot, holding its {@link GameRecord} and an
+ * optional short label such as a solver's score, so a game's id is simply its global slot
+ * number: segment {@code id / slotsPerSegment}, slot {@code id % slotsPerSegment}.
+ * Appending claims a slot with a single atomic increment and copies the record into
+ * the mapping without locking; a new segment is created when the current one fills
+ * up. Readers scan with a {@link GameCursor}, which decodes games in place.
+ * </p>
+ * <p>
+ * Appends are lock-free within one process, but the next id is only read from the
+ * segments when the database is opened, so only one process may append at a time.
+ * Opening a database for writing takes an exclusive lock on a lock file in its
+ * directory and fails if another process holds it; opening read-only takes no lock
+ * and may be done any number of times alongside the writer.
+ * </p>
+ * <p>
+ * A slot claimed by a writer that crashed before publishing stays empty and is skipped
+ * by readers. {@link #compact} rewrites a closed database without such holes and,
+ * optionally, without unfinished games. Compaction renumbers games, so each
+ * compaction starts a new generation of the database: the new segments are written to a
+ * directory of their own, and a small file naming the live generation is replaced
+ * atomically once they are complete. A crash leaves either the old or the new
+ * generation live and whole; the next writer to open the database removes the other.
+ * Generation 0 keeps its segments in the database directory itself. A
+ * {@link PositionIndex} records the generation it was built from and rebuilds itself
+ * when the database's differs.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class GameDatabase implements AutoCloseable {
+    /** Slots per segment used when none is given; about 32 MB per segment file. */
+    public static final int DEFAULT_SLOTS_PER_SEGMENT = 1 << 20;
+    /** The longest label, in bytes of UTF-8, that can be stored with a game. */
+    public static final int MAX_LABEL_BYTES = Segment.MAX_LABEL_BYTES;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".c4db";
+    private static final String LOCK_FILE = "writer.lock";
+    private static final String GENERATION_FILE = "generation";
+    private static final String GENERATION_PREFIX = "generation-";
+
+    private final Path directory;
+    private final Path segmentDirectory;
+    private final int slotsPerSegment;
+    private final boolean readOnly;
+    private final FileLock writerLock;
+    private final long generation;
+    private final ConcurrentHashMap<Integer, Segment> segments = new ConcurrentHashMap<>();
+    private final AtomicLong nextId;
+    private final ThreadLocal<byte[]> encodeScratch = ThreadLocal.withInitial(() -> new byte[Segment.SLOT_BYTES]);
+
+    private GameDatabase(Path directory, int slotsPerSegment, boolean readOnly, FileLock writerLock,
+                         long generation, long nextId) {
+        this.directory = directory;
+        this.segmentDirectory = segmentDirectory(directory, generation);
+        this.slotsPerSegment = slotsPerSegment;
+        this.readOnly = readOnly;
+        this.writerLock = writerLock;
+        this.generation = generation;
+        this.nextId = new AtomicLong(nextId);
+    }
+
+    /**
+     * Opens a database for reading and appending, creating the directory if needed.
+     *
+     * @param directory the database directory
+     * @return the open database
+     * @throws IOException if the database is open for writing elsewhere or existing
+     *                     segments cannot be mapped
+     */
+    public static GameDatabase open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SLOTS_PER_SEGMENT, false);
+    }
+
+    /**
+     * Opens a database for reading only. A database that does not exist opens empty.
+     *
+     * @param directory the database directory
+     * @return the open database
+     * @throws IOException if existing segments cannot be mapped
+     */
+    public static GameDatabase openReadOnly(Path directory) throws IOException {
+        return open(directory, DEFAULT_SLOTS_PER_SEGMENT, true);
+    }
+
+    /**
+     * Opens a database. Existing segments keep the capacity they were created with;
+     * {@code slotsPerSegment} only applies to a new, empty database. Opening for writing
+     * also removes the segments of any generation that is not live, left behind by an
+     * interrupted compaction.
+     *
+     * @param directory       the database directory
+     * @param slotsPerSegment slots per segment file for a new database
+     * @param readOnly        true to map segments read-only and reject appends
+     * @return the open database
+     * @throws IOException if the database is to be written but is open for writing
+     *                     elsewhere, or the directory or segments cannot be opened
+     */
+    public static GameDatabase open(Path directory, int slotsPerSegment, boolean readOnly) throws IOException {
+        FileLock writerLock = null;
+        if (!readOnly) {
+            Files.createDirectories(directory);
+            writerLock = lockWriter(directory);
+        }
+
+        List<Segment> opened = new ArrayList<>();
+        try {
+            long generation = readGeneration(directory);
+            if (!readOnly) {
+                deleteOtherGenerations(directory, generation);
+            }
+            List<Path> files = listSegments(segmentDirectory(directory, generation));
+            for (Path file : files) {
+                opened.add(Segment.open(file, readOnly));
+            }
+            int capacity = opened.isEmpty() ? slotsPerSegment : opened.get(0).capacity();
+            for (int i = 0; i < opened.size(); i++) {
+                if (opened.get(i).capacity() != capacity) {
+                    throw new IOException("Segment " + files.get(i) + " has a different capacity");
+                }
+            }
+            return open(directory, capacity, readOnly, writerLock, generation, opened);
+        } catch (IOException e) {
+            for (Segment segment : opened) {
+                segment.close();
+            }
+            if (writerLock != null) {
+                writerLock.channel().close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the database over its opened segments, resuming after the last game.
+     */
+    private static GameDatabase open(Path directory, int capacity, boolean readOnly, FileLock writerLock,
+                                     long generation, List<Segment> opened) {
+
+        // Resume appending after the last published slot
+        long nextId = 0;
+        if (!opened.isEmpty()) {
+            Segment last = opened.get(opened.size() - 1);
+            int slot = capacity - 1;
+            while (slot >= 0 && !last.isPublished(slot)) slot--;
+            nextId = (long) (opened.size() - 1) * capacity + slot + 1;
+            if (!readOnly && !last.hasLabels()) {
+                // A segment from before labels were stored has no room for them; its unused
+                // slots are left empty, like those of a crashed writer, until a compaction
+                nextId = (long) opened.size() * capacity;
+            }
+        }
+
+        GameDatabase database = new GameDatabase(directory, capacity, readOnly, writerLock, generation, nextId);
+        for (int i = 0; i < opened.size(); i++) {
+            database.segments.put(i, opened.get(i));
+        }
+        return database;
+    }
+
+    /**
+     * Appends a game. Safe to call from any number of threads concurrently.
+     *
+     * @param record the game to store
+     * @return the id of the stored game
+     * @throws IllegalStateException if the database was opened read-only
+     * @throws UncheckedIOException  if a new segment file cannot be created
+     */
+    public long append(GameRecord record) {
+        return append(record, null);
+    }
+
+    /**
+     * Appends a game with a label, such as the score a solver gave its final position.
+     * Safe to call from any number of threads concurrently.
+     *
+     * @param record the game to store
+     * @param label  the label, or null or empty for none
+     * @return the id of the stored game
+     * @throws IllegalArgumentException if the label is longer than {@link #MAX_LABEL_BYTES}
+     * @throws IllegalStateException    if the database was opened read-only
+     * @throws UncheckedIOException     if a new segment file cannot be created
+     */
+    public long append(GameRecord record, String label) {
+        if (readOnly) {
+            throw new IllegalStateException("Game database is read-only");
+        }
+        byte[] labelBytes = label == null ? new byte[0] : label.getBytes(StandardCharsets.UTF_8);
+        if (labelBytes.length > MAX_LABEL_BYTES) {
+            throw new IllegalArgumentException("Label longer than " + MAX_LABEL_BYTES + " bytes: " + label);
+        }
+
+        byte[] encoded = encodeScratch.get();
+        ByteBuffer scratch = ByteBuffer.wrap(encoded);
+        record.writeTo(scratch);
+        while (scratch.position() < Segment.RECORD_BYTES) {
+            scratch.put((byte) 0);
+        }
+        scratch.put((byte) labelBytes.length).put(labelBytes);
+        while (scratch.hasRemaining()) {
+            scratch.put((byte) 0);
+        }
+
+        long id = nextId.getAndIncrement();
+        Segment segment = segmentFor(id);
+        if (segment == null) {
+            segment = segments.computeIfAbsent((int) (id / slotsPerSegment), this::createSegment);
+        }
+        segment.write(slotFor(id), encoded);
+        return id;
+    }
+
+    /**
+     * Returns the number of slots handed out so far. Game ids are always below this
+     * value; a few of the highest slots may still be in the middle of being written.
+     *
+     * @return one past the highest claimed game id
+     */
+    public long size() {
+        return nextId.get();
+    }
+
+    /**
+     * @return a cursor over every game currently in the database
+     */
+    public GameCursor cursor() {
+        return new GameCursor(this, 0, size());
+    }
+
+    /**
+     * Returns a cursor over a range of game ids.
+     *
+     * @param fromId the first id to visit
+     * @param toId   one past the last id to visit
+     * @return the cursor
+     */
+    public GameCursor cursor(long fromId, long toId) {
+        return new GameCursor(this, fromId, Math.min(toId, size()));
+    }
+
+    /**
+     * Reads a single game.
+     *
+     * @param id the game id
+     * @return the game, or null if no game has been published with that id
+     */
+    public GameRecord get(long id) {
+        GameCursor cursor = new GameCursor(this, id, id + 1);
+        return cursor.seek(id) ? cursor.toRecord() : null;
+    }
+
+    /**
+     * Forces all mapped changes to disk.
+     */
+    public void flush() {
+        segments.values().forEach(Segment::force);
+    }
+
+    /**
+     * Returns the database's generation, which {@link #compact} increments whenever it
+     * renumbers the games. Ids from different generations refer to different games.
+     *
+     * @return the generation, 0 for a database that was never compacted
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /** @return true if the database was opened read-only */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Flushes and closes every segment, then releases the writer lock.
+     *
+     * @throws IOException if a segment cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            closeSegments();
+        } finally {
+            if (writerLock != null) {
+                writerLock.channel().close();
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes every segment, keeping the writer lock.
+     */
+    private void closeSegments() throws IOException {
+        if (!readOnly) {
+            flush();
+        }
+        for (Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    /**
+     * Returns whether a database is open for writing, in this process or another.
+     *
+     * @param directory the database directory
+     * @return true if a writer holds the database's lock
+     * @throws IOException if the lock file cannot be checked
+     */
+    public static boolean isOpenForWriting(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return false;
+        try {
+            lockWriter(directory).channel().close();
+            return false;
+        } catch (DatabaseLockedException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Rewrites a database that is not open anywhere else, removing empty slots and,
+     * if requested, unfinished games. Labels are kept, and segments from before labels
+     * were stored are rewritten in the current format. The games are copied into a new generation, which
+     * becomes live only once it has been written completely; the old generation is then
+     * removed. The writer lock is held throughout.
+     *
+     * @param directory      the database directory
+     * @param dropUnfinished true to discard games whose result is {@link GameResult#UNFINISHED}
+     * @return the number of games kept
+     * @throws IOException if the database is open for writing elsewhere, or cannot be
+     *                     read or rewritten
+     */
+    public static long compact(Path directory, boolean dropUnfinished) throws IOException {
+        long kept = 0;
+        GameDatabase source = open(directory, DEFAULT_SLOTS_PER_SEGMENT, false);
+        try {
+            long generation = source.generation + 1;
+            try (GameDatabase target = createGeneration(directory, generation, source.slotsPerSegment)) {
+                GameCursor games = source.cursor();
+                while (games.next()) {
+                    if (dropUnfinished && games.getResult() == GameResult.UNFINISHED) continue;
+                    target.append(games.toRecord(), games.getLabel());
+                    kept++;
+                }
+            }
+
+            writeGeneration(directory, generation);
+            source.closeSegments();
+            try {
+                deleteGeneration(directory, source.generation);
+            } catch (IOException e) {
+                // Some platforms keep a mapped file until it is collected; the next writer removes it
+                System.err.println("Failed to remove replaced game database segments: " + e.getMessage());
+            }
+        } finally {
+            source.close();
+        }
+        return kept;
+    }
+
+    /** @return the database directory */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the default database location, {@code ~/.connect4/games}.
+     *
+     * @return the default database directory
+     */
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("user.home"), ".connect4", "games");
+    }
+
+    /**
+     * @param id a game id
+     * @return the mapped segment holding that id, or null if it does not exist yet
+     */
+    Segment segmentFor(long id) {
+        return segments.get((int) (id / slotsPerSegment));
+    }
+
+    /**
+     * @param id a game id
+     * @return the slot of that id within its segment
+     */
+    int slotFor(long id) {
+        return (int) (id % slotsPerSegment);
+    }
+
+    private Segment createSegment(int index) {
+        try {
+            return Segment.create(segmentDirectory.resolve(segmentName(index)), slotsPerSegment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create game database segment " + index, e);
+        }
+    }
+
+    /**
+     * Takes the exclusive lock that marks a database as open for writing. The lock is
+     * released by closing its channel, and by the operating system if the process dies.
+     *
+     * @param directory the database directory, which must exist
+     * @return the lock
+     * @throws DatabaseLockedException if the lock is held by another process or another
+     *                                 open database in this one
+     * @throws IOException             if the lock file cannot be opened
+     */
+    private static FileLock lockWriter(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new DatabaseLockedException(directory);
+        }
+        return lock;
+    }
+
+    /**
+     * @return the generation stored in a database directory, or 0 if none is stored
+     */
+    private static long readGeneration(Path directory) throws IOException {
+        Path file = directory.resolve(GENERATION_FILE);
+        if (!Files.exists(file)) return 0;
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length != Long.BYTES) {
+            throw new IOException("Corrupt game database generation file " + file);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    /**
+     * Makes a generation live by storing its number, via a temporary file that is forced
+     * to disk and renamed, so the switch is a single atomic step.
+     */
+    private static void writeGeneration(Path directory, long generation) throws IOException {
+        Path file = directory.resolve(GENERATION_FILE);
+        Path temp = file.resolveSibling(GENERATION_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES).putLong(generation).flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Opens an empty, writable database for a generation that is not live yet, removing
+     * anything an earlier attempt left in its directory. The caller holds the writer lock.
+     */
+    private static GameDatabase createGeneration(Path directory, long generation, int slotsPerSegment)
+            throws IOException {
+        deleteGeneration(directory, generation);
+        Files.createDirectories(segmentDirectory(directory, generation));
+        return new GameDatabase(directory, slotsPerSegment, false, null, generation, 0);
+    }
+
+    /**
+     * @return the directory holding the segments of a generation
+     */
+    private static Path segmentDirectory(Path directory, long generation) {
+        return generation == 0 ? directory : directory.resolve(GENERATION_PREFIX + generation);
+    }
+
+    /**
+     * Removes the segments of a generation, and its directory unless it is generation 0.
+     */
+    private static void deleteGeneration(Path directory, long generation) throws IOException {
+        Path segmentDirectory = segmentDirectory(directory, generation);
+        deleteSegments(segmentDirectory);
+        if (generation != 0) {
+            Files.deleteIfExists(segmentDirectory);
+        }
+    }
+
+    /**
+     * Removes every generation but the live one: the new generation of a compaction that
+     * did not finish, or the old one of a compaction that did not clean up.
+     */
+    private static void deleteOtherGenerations(Path directory, long live) throws IOException {
+        if (live != 0) {
+            deleteGeneration(directory, 0);
+        }
+        List<Long> others = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, GENERATION_PREFIX + "*")) {
+            for (Path entry : stream) {
+                String number = entry.getFileName().toString().substring(GENERATION_PREFIX.length());
+                try {
+                    long generation = Long.parseLong(number);
+                    if (generation != live && generation > 0 && Files.isDirectory(entry)) {
+                        others.add(generation);
+                    }
+                } catch (NumberFormatException e) {
+                    // Not a generation directory
+                }
+            }
+        }
+        for (long generation : others) {
+            deleteGeneration(directory, generation);
+        }
+    }
+
+    private static String segmentName(int index) {
+        return String.format("%s%06d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return files;
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(Path::getFileName));
+        for (int i = 0; i < files.size(); i++) {
+            if (!files.get(i).getFileName().toString().equals(segmentName(i))) {
+                throw new IOException("Missing game database segment " + segmentName(i) + " in " + directory);
+            }
+        }
+        return files;
+    }
+
+    private static void deleteSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                Files.delete(file);
+            }
+        }
+    }
+}
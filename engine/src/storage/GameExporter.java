@@ -0,0 +1,146 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Exports the games of a {@link GameDatabase} as text.
+ * <p>
+ * Both formats are written in one sequential scan with a {@link GameCursor}, encoding
+ * straight from the mapped database into a direct buffer, so exporting creates no
+ * per-game objects.
+ * </p>
+ * <ul>
+ *     <li>Move strings: one game per line as columns 1-7, e.g. {@code 4453}, followed by a
+ *     space and the game's label if it has one; readable by {@link GameImporter}.</li>
+ *     <li>Results CSV: {@code id,moves,result,mode,difficulty,start,duration,label} with a
+ *     header row; start is in seconds since the epoch and duration in seconds.</li>
+ * </ul>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public final class GameExporter {
+    /** Header row of the results CSV. */
+    public static final String CSV_HEADER = "id,moves,result,mode,difficulty,start,duration,label";
+
+    private static final int BUFFER_BYTES = 256 * 1024;
+    /** Longest CSV row: id, 42 moves, the longest enum names and numbers, and a label. */
+    private static final int MAX_ROW_BYTES = 160;
+    private static final byte[][] RESULT_NAMES = names(GameResult.values());
+    private static final byte[][] MODE_NAMES = names(PlayerMode.values());
+    private static final Map<String, byte[]> DIFFICULTY_NAMES = Map.of(
+            "Easy", ascii("Easy"), "Medium", ascii("Medium"), "Hard", ascii("Hard"));
+
+    private GameExporter() {
+    }
+
+    /**
+     * Writes every game as a move string, one per line.
+     *
+     * @param database the database to export
+     * @param file     the file to create or replace
+     * @return the number of games written
+     * @throws IOException if the file cannot be written
+     */
+    public static long exportMoves(GameDatabase database, Path file) throws IOException {
+        return export(database, file, false);
+    }
+
+    /**
+     * Writes every game as a row of the results CSV.
+     *
+     * @param database the database to export
+     * @param file     the file to create or replace
+     * @return the number of games written
+     * @throws IOException if the file cannot be written
+     */
+    public static long exportResults(GameDatabase database, Path file) throws IOException {
+        return export(database, file, true);
+    }
+
+    private static long export(GameDatabase database, Path file, boolean csv) throws IOException {
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            if (csv) {
+                buffer.put(ascii(CSV_HEADER));
+                buffer.put((byte) '\n');
+            }
+
+            GameCursor games = database.cursor();
+            while (games.next()) {
+                if (buffer.remaining() < MAX_ROW_BYTES) {
+                    drain(channel, buffer);
+                }
+                if (csv) {
+                    putNumber(buffer, games.getId());
+                    buffer.put((byte) ',');
+                }
+                for (int ply = 0; ply < games.getMoveCount(); ply++) {
+                    buffer.put((byte) ('1' + games.getMove(ply)));
+                }
+                if (csv) {
+                    buffer.put((byte) ',');
+                    buffer.put(RESULT_NAMES[games.getResult().ordinal()]);
+                    buffer.put((byte) ',');
+                    buffer.put(MODE_NAMES[games.getMode().ordinal()]);
+                    buffer.put((byte) ',');
+                    if (games.getDifficulty() != null) {
+                        buffer.put(DIFFICULTY_NAMES.get(games.getDifficulty()));
+                    }
+                    buffer.put((byte) ',');
+                    putNumber(buffer, games.getStartEpochSeconds());
+                    buffer.put((byte) ',');
+                    putNumber(buffer, games.getDurationSeconds());
+                    buffer.put((byte) ',');
+                    games.copyLabel(buffer);
+                } else if (games.getLabelLength() > 0) {
+                    buffer.put((byte) ' ');
+                    games.copyLabel(buffer);
+                }
+                buffer.put((byte) '\n');
+                count++;
+            }
+            drain(channel, buffer);
+        }
+        return count;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] names(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = ascii(value.name());
+        }
+        return names;
+    }
+
+    /**
+     * Writes a non-negative number in decimal without going through a String.
+     */
+    private static void putNumber(ByteBuffer buffer, long value) {
+        long divisor = 1;
+        while (value / divisor >= 10) divisor *= 10;
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,301 @@
+package storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Imports games written in the common move-sequence notation into a {@link GameDatabase}.
+ * <p>
+ * Each line holds one game or position as a string of columns 1-7, e.g. {@code 4453},
+ * optionally followed by a space, tab, comma or semicolon and a label of up to
+ * {@value GameDatabase#MAX_LABEL_BYTES} bytes, such as a solver score, which is stored
+ * with the game. Blank lines and lines starting with {@code #} are skipped; a line
+ * that starts with a separator is rejected. Every move is checked with the rules
+ * {@code GameLogic} enforces: the column must exist and have room, and no move may
+ * follow four in a row. The result is derived
+ * from the moves: a win for whoever completed four, a draw on a full board, otherwise
+ * unfinished. Imported games are stored as Player vs. Player with the import time as
+ * their start time.
+ * </p>
+ * <p>
+ * The file is split into chunks at line boundaries, each chunk is memory-mapped and
+ * parsed on its own thread, and games are appended to the database concurrently, so
+ * large files load at close to disk speed. Games therefore get ids in no particular
+ * order relative to the file. The database must be open for writing, which it can only
+ * be in one process at a time, so an import cannot run while the game has it open.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public final class GameImporter {
+    private static final long CHUNK_BYTES = 16L * 1024 * 1024;
+    /** Longest accepted line; enough for 42 moves and a label. */
+    private static final int MAX_LINE_BYTES = 256;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    private GameImporter() {
+    }
+
+    /**
+     * The outcome of an import.
+     */
+    public static final class Summary {
+        private final long imported;
+        private final long rejected;
+        private final long labelled;
+        private final List<String> errors;
+
+        private Summary(long imported, long rejected, long labelled, List<String> errors) {
+            this.imported = imported;
+            this.rejected = rejected;
+            this.labelled = labelled;
+            this.errors = errors;
+        }
+
+        /** @return the number of games added to the database */
+        public long getImported() {
+            return imported;
+        }
+
+        /** @return the number of lines that were not valid games */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /** @return the number of imported games stored with a label */
+        public long getLabelled() {
+            return labelled;
+        }
+
+        /** @return descriptions of the first few rejected lines, by byte offset */
+        public List<String> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Imports every game in a move-string file, using one thread per processor.
+     *
+     * @param file     the file to read
+     * @param database the database to append to
+     * @return how many games were imported and rejected
+     * @throws IOException if the file cannot be read or the database cannot grow
+     */
+    public static Summary importMoves(Path file, GameDatabase database) throws IOException {
+        return importMoves(file, database, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Imports every game in a move-string file.
+     *
+     * @param file     the file to read
+     * @param database the database to append to
+     * @param threads  the number of parser threads
+     * @return how many games were imported and rejected
+     * @throws IOException if the file cannot be read or the database cannot grow
+     * @throws IllegalArgumentException if {@code threads} is below one or the database
+     *                                  is read-only
+     */
+    public static Summary importMoves(Path file, GameDatabase database, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        if (database.isReadOnly()) {
+            throw new IllegalArgumentException("Cannot import into a read-only game database");
+        }
+        LongAdder imported = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        LongAdder labelled = new LongAdder();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        long startSeconds = System.currentTimeMillis() / 1000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "game-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long start = 0; start < size; start += CHUNK_BYTES) {
+                long chunkStart = start;
+                long chunkEnd = Math.min(size, start + CHUNK_BYTES);
+                chunks.add(pool.submit(() -> {
+                    parseChunk(channel, size, chunkStart, chunkEnd, database, startSeconds,
+                            imported, rejected, labelled, errors);
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof UncheckedIOException io) throw io.getCause();
+            throw new IOException("Import failed: " + cause, cause);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<String> firstErrors;
+        synchronized (errors) {
+            Collections.sort(errors);
+            firstErrors = List.copyOf(errors.subList(0, Math.min(errors.size(), MAX_REPORTED_ERRORS)));
+        }
+        return new Summary(imported.sum(), rejected.sum(), labelled.sum(), firstErrors);
+    }
+
+    /**
+     * Parses the lines that start within {@code [start, end)}. A line starting before
+     * {@code end} is read to its end even if that lies in the next chunk; a chunk that
+     * does not begin at a line start skips ahead to the next one.
+     */
+    private static void parseChunk(FileChannel channel, long size, long start, long end,
+                                   GameDatabase database, long startSeconds,
+                                   LongAdder imported, LongAdder rejected, LongAdder labelled,
+                                   List<String> errors)
+            throws IOException {
+        long mapStart = Math.max(0, start - 1);
+        long mapEnd = Math.min(size, end + MAX_LINE_BYTES);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+        int limit = (int) (end - mapStart);
+        int pos = (int) (start - mapStart);
+        if (start > 0) {
+            // Skip the partial line that the previous chunk owns
+            while (pos - 1 < buffer.limit() && buffer.get(pos - 1) != '\n') pos++;
+        }
+
+        byte[] moves = new byte[GameRecord.MAX_MOVES];
+        long localImported = 0;
+        long localRejected = 0;
+        long localLabelled = 0;
+        while (pos < limit) {
+            int lineStart = pos;
+            int lineEnd = lineStart;
+            while (lineEnd < buffer.limit() && buffer.get(lineEnd) != '\n') lineEnd++;
+            pos = lineEnd + 1;
+            if (lineEnd == buffer.limit() && mapEnd < size) {
+                addError(errors, mapStart + lineStart, "line longer than " + MAX_LINE_BYTES + " bytes");
+                localRejected++;
+                // The rest of the line belongs to no chunk; the next chunk skips it
+                continue;
+            }
+
+            int tokenEnd = lineStart;
+            while (tokenEnd < lineEnd && !isSeparator(buffer.get(tokenEnd))) tokenEnd++;
+            if (tokenEnd == lineStart) {
+                if (skipSeparators(buffer, lineStart, lineEnd) < lineEnd) {
+                    addError(errors, mapStart + lineStart, "line starts with a separator");
+                    localRejected++;
+                }
+                continue;
+            }
+            if (buffer.get(lineStart) == '#') continue;
+
+            String error = null;
+            int count = tokenEnd - lineStart;
+            long playerOne = 0;
+            long playerTwo = 0;
+            long mask = 0;
+            GameResult result = GameResult.UNFINISHED;
+            if (count > GameRecord.MAX_MOVES) {
+                error = "more than " + GameRecord.MAX_MOVES + " moves";
+            }
+            for (int ply = 0; ply < count && error == null; ply++) {
+                int c = buffer.get(lineStart + ply) - '1';
+                if (c < 0 || c >= PositionKey.COLUMNS) {
+                    error = "invalid column at move " + (ply + 1);
+                } else if (result != GameResult.UNFINISHED) {
+                    error = "move " + (ply + 1) + " after the game was won";
+                } else if (PositionKey.isColumnFull(mask, c)) {
+                    error = "column " + (c + 1) + " is full at move " + (ply + 1);
+                } else {
+                    long next = PositionKey.play(mask, c);
+                    if ((ply & 1) == 0) {
+                        playerOne |= next ^ mask;
+                        if (PositionKey.hasFour(playerOne)) result = GameResult.PLAYER_ONE_WIN;
+                    } else {
+                        playerTwo |= next ^ mask;
+                        if (PositionKey.hasFour(playerTwo)) result = GameResult.PLAYER_TWO_WIN;
+                    }
+                    mask = next;
+                    moves[ply] = (byte) c;
+                }
+            }
+
+            int labelStart = skipSeparators(buffer, tokenEnd, lineEnd);
+            int labelEnd = labelStart;
+            while (labelEnd < lineEnd && !isSeparator(buffer.get(labelEnd))) labelEnd++;
+            String label = null;
+            if (error == null && skipSeparators(buffer, labelEnd, lineEnd) < lineEnd) {
+                error = "text after the label";
+            } else if (error == null && labelEnd - labelStart > GameDatabase.MAX_LABEL_BYTES) {
+                error = "label longer than " + GameDatabase.MAX_LABEL_BYTES + " bytes";
+            } else if (error == null && labelEnd > labelStart) {
+                byte[] bytes = new byte[labelEnd - labelStart];
+                buffer.get(labelStart, bytes);
+                label = new String(bytes, StandardCharsets.UTF_8);
+                if (label.indexOf('\uFFFD') >= 0) {
+                    error = "label is not valid UTF-8";
+                }
+            }
+            if (error != null) {
+                addError(errors, mapStart + lineStart, error);
+                localRejected++;
+                continue;
+            }
+
+            if (result == GameResult.UNFINISHED && count == GameRecord.MAX_MOVES) {
+                result = GameResult.DRAW;
+            }
+            byte[] played = new byte[count];
+            System.arraycopy(moves, 0, played, 0, count);
+            GameRecord record = new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null, result, startSeconds, 0, played);
+            database.append(record, label);
+            localImported++;
+            if (label != null) {
+                localLabelled++;
+            }
+        }
+        imported.add(localImported);
+        rejected.add(localRejected);
+        labelled.add(localLabelled);
+    }
+
+    /**
+     * @return the index of the first byte in {@code [from, to)} that is not a separator, or {@code to}
+     */
+    private static int skipSeparators(MappedByteBuffer buffer, int from, int to) {
+        while (from < to && isSeparator(buffer.get(from))) from++;
+        return from;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == ';' || b == '\r';
+    }
+
+    private static void addError(List<String> errors, long offset, String message) {
+        // Keep a bounded sample; it is sorted by offset before reporting
+        if (errors.size() < MAX_REPORTED_ERRORS * 4) {
+            errors.add(String.format("byte %012d: %s", offset, message));
+        }
+    }
+}
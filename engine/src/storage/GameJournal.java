@@ -0,0 +1,337 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * A write-ahead journal of the game in progress, so an interrupted game can be resumed
+ * after a crash or after the application is closed mid-game.
+ * <p>
+ * Every move is appended as a small checksummed record. Records are handed to a
+ * background thread that writes everything queued at once and then forces it to disk
+ * with a single fsync (group commit), so the caller never waits on the disk. The
+ * journal only ever holds the current game: starting a game truncates it, so recovery
+ * reads at most one header and 42 moves no matter how long the application has been
+ * used. A torn record at the end of the file, left by a crash mid-write, fails its
+ * checksum and is ignored together with anything after it. The writer holds an
+ * exclusive lock on the journal while it has it open, so a second application writing
+ * the same journal fails instead of truncating the first one's game.
+ * </p>
+ * Record layout: a 4-byte CRC32 of the rest of the record, a type byte, a length byte
+ * and the payload.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class GameJournal implements AutoCloseable {
+    /** Magic number at the start of the journal ("C4JL"). */
+    public static final int FILE_MAGIC = 0x43344A4C;
+
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final byte BEGIN = 1;
+    private static final byte MOVE = 2;
+    private static final byte END = 3;
+    private static final int MAX_NAME_BYTES = 64;
+    private static final int BATCH_BUFFER_BYTES = 16 * 1024;
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+    private static final PlayerMode[] MODES = PlayerMode.values();
+    // Queued by close() to tell the writer to finish; compared by identity
+    private static final byte[] CLOSE_MARKER = new byte[0];
+
+    private final Path file;
+    private final BlockingQueue<byte[]> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+
+    /**
+     * Constructs a journal writing to the given file. The file is not touched until
+     * the first game begins, so an existing journal can still be recovered.
+     *
+     * @param file the journal file
+     */
+    public GameJournal(Path file) {
+        this.file = file;
+        this.writer = new Thread(this::runWriter, "game-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Starts journaling a new game, discarding whatever the journal held.
+     *
+     * @param mode          who controls each seat
+     * @param difficulty    the AI difficulty, or null without a computer player
+     * @param playerOneName the name of player 1
+     * @param playerTwoName the name of player 2
+     * @param startMillis   when the game started, in milliseconds since the epoch
+     */
+    public void beginGame(PlayerMode mode, String difficulty, String playerOneName, String playerTwoName,
+                          long startMillis) {
+        byte[] difficultyBytes = utf8(difficulty == null ? "" : difficulty);
+        byte[] nameOne = utf8(playerOneName);
+        byte[] nameTwo = utf8(playerTwoName);
+        ByteBuffer payload = ByteBuffer.allocate(1 + Long.BYTES + 3 + difficultyBytes.length
+                + nameOne.length + nameTwo.length);
+        payload.put((byte) mode.ordinal()).putLong(startMillis);
+        for (byte[] text : new byte[][]{difficultyBytes, nameOne, nameTwo}) {
+            payload.put((byte) text.length).put(text);
+        }
+        queue.add(record(BEGIN, payload.array()));
+    }
+
+    /**
+     * Starts journaling a recovered game again, rewriting its moves so far.
+     *
+     * @param game the game being resumed
+     */
+    public void resumeGame(SavedGame game) {
+        beginGame(game.getMode(), game.getDifficulty(), game.getPlayerOneName(), game.getPlayerTwoName(),
+                game.getStartMillis());
+        byte[] moves = game.getMoves();
+        for (int ply = 0; ply < moves.length; ply++) {
+            recordMove(ply, moves[ply]);
+        }
+    }
+
+    /**
+     * Appends a move of the current game.
+     *
+     * @param ply the zero-based move number
+     * @param col the column (0-6) the piece was dropped into
+     */
+    public void recordMove(int ply, int col) {
+        queue.add(record(MOVE, new byte[]{(byte) ply, (byte) col}));
+    }
+
+    /**
+     * Marks the current game as finished, leaving nothing to resume.
+     */
+    public void endGame() {
+        queue.add(record(END, new byte[0]));
+    }
+
+    /**
+     * Writes and syncs queued records and stops the writer thread, waiting at most one second.
+     */
+    @Override
+    public void close() {
+        queue.add(CLOSE_MARKER);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the game left in a journal, if it was not finished.
+     *
+     * @param file the journal file
+     * @return the unfinished game, or null if there is none
+     * @throws IOException if the file exists but cannot be read or is not a journal
+     */
+    public static SavedGame recover(Path file) throws IOException {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (buffer.remaining() < FILE_HEADER_BYTES) return null;
+        if (buffer.getInt() != FILE_MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a game journal: " + file);
+        }
+
+        SavedGame game = null;
+        List<Byte> moves = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        try {
+            while (buffer.remaining() >= Integer.BYTES + 2) {
+                int checksum = buffer.getInt();
+                int start = buffer.position();
+                byte type = buffer.get();
+                int length = buffer.get() & 0xFF;
+                if (buffer.remaining() < length) break;
+                crc.reset();
+                crc.update(buffer.array(), start, 2 + length);
+                if ((int) crc.getValue() != checksum) break;
+
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                switch (type) {
+                    case BEGIN -> {
+                        PlayerMode mode = MODES[payload.get()];
+                        long startMillis = payload.getLong();
+                        String difficulty = readText(payload);
+                        String nameOne = readText(payload);
+                        String nameTwo = readText(payload);
+                        game = new SavedGame(mode, difficulty.isEmpty() ? null : difficulty,
+                                nameOne, nameTwo, startMillis, new byte[0]);
+                        moves.clear();
+                    }
+                    case MOVE -> {
+                        if (game != null && payload.get() == moves.size()) {
+                            moves.add(payload.get());
+                        }
+                    }
+                    case END -> {
+                        game = null;
+                        moves.clear();
+                    }
+                    default -> throw new IOException("Unknown journal record type " + type + " in " + file);
+                }
+            }
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Corrupt game journal " + file, e);
+        }
+
+        if (game == null) return null;
+        byte[] played = new byte[moves.size()];
+        for (int i = 0; i < played.length; i++) {
+            played[i] = moves.get(i);
+        }
+        return new SavedGame(game.getMode(), game.getDifficulty(), game.getPlayerOneName(),
+                game.getPlayerTwoName(), game.getStartMillis(), played);
+    }
+
+    /**
+     * Returns the default journal location, {@code ~/.connect4/autosave.c4j}.
+     *
+     * @return the default journal path
+     */
+    public static Path defaultJournalFile() {
+        return Path.of(System.getProperty("user.home"), ".connect4", "autosave.c4j");
+    }
+
+    /**
+     * Writer thread loop: waits for records, writes every queued record, then syncs once.
+     */
+    private void runWriter() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_BUFFER_BYTES);
+        List<byte[]> batch = new ArrayList<>();
+        FileChannel channel = null;
+        boolean closing = false;
+
+        try {
+            while (!closing) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch);
+                closing = batch.removeIf(record -> record == CLOSE_MARKER);
+                if (batch.isEmpty()) continue;
+
+                try {
+                    if (channel == null) {
+                        channel = openJournal();
+                    }
+                    buffer.clear();
+                    for (byte[] record : batch) {
+                        if (record[Integer.BYTES] == BEGIN) {
+                            // A new game replaces the old one; drop everything before it
+                            drain(channel, buffer);
+                            channel.truncate(FILE_HEADER_BYTES);
+                        }
+                        if (buffer.remaining() < record.length) {
+                            drain(channel, buffer);
+                        }
+                        buffer.put(record);
+                    }
+                    drain(channel, buffer);
+                    channel.force(false);
+                } catch (IOException e) {
+                    System.err.println("Failed to write game journal: " + e.getMessage());
+                }
+                batch.clear();
+            }
+        } finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close game journal: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens and locks the journal for appending, writing the file header if the file is new.
+     *
+     * @return the open channel, holding an exclusive lock on the journal
+     * @throws IOException if the journal cannot be opened or another writer holds its lock
+     */
+    private FileChannel openJournal() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            GameRecorder.lockExclusively(channel, file);
+            if (channel.size() < FILE_HEADER_BYTES) {
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(FILE_MAGIC).putInt(VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            }
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Frames a payload as a record: checksum, type, length, payload.
+     */
+    private static byte[] record(byte type, byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + 2 + payload.length);
+        record.position(Integer.BYTES);
+        record.put(type).put((byte) payload.length).put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), Integer.BYTES, 2 + payload.length);
+        record.putInt(0, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static byte[] utf8(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_NAME_BYTES) return bytes;
+        // Names are validated to be short; cut on a character boundary just in case
+        int end = MAX_NAME_BYTES;
+        while ((bytes[end] & 0xC0) == 0x80) end--;
+        return Arrays.copyOf(bytes, end);
+    }
+
+    private static String readText(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.get() & 0xFF];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,239 @@
+package storage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable, compactly encoded record of one Connect 4 game.
+ * <p>
+ * Binary layout (big-endian):
+ * </p>
+ * <pre>
+ * byte 0     bits 7-6 format version, 5-4 result, 3-2 difficulty, 1-0 player mode
+ * byte 1     number of moves (0-42)
+ * bytes 2-5  start time, unsigned seconds since the epoch
+ * bytes 6-7  duration, unsigned seconds (saturates at 65535)
+ * bytes 8..  moves, 3 bits per move (column 0-6), most significant bit first,
+ *            zero-padded to a whole byte
+ * </pre>
+ * A typical 30-move game takes 8 + 12 = 20 bytes. Player names are not stored.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public final class GameRecord {
+    /** Number of bytes before the packed moves. */
+    public static final int HEADER_BYTES = 8;
+    /** The most moves a game can have. */
+    public static final int MAX_MOVES = 42;
+    /** The size of the longest possible encoded record. */
+    public static final int MAX_ENCODED_BYTES = HEADER_BYTES + packedLength(MAX_MOVES);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BITS_PER_MOVE = 3;
+    private static final int COLUMNS = 7;
+    private static final String[] DIFFICULTIES = {null, "Easy", "Medium", "Hard"};
+
+    private final PlayerMode mode;
+    private final String difficulty;
+    private final GameResult result;
+    private final long startEpochSeconds;
+    private final int durationSeconds;
+    private final byte[] moves;
+
+    /**
+     * Constructs a game record.
+     *
+     * @param mode              who controlled each seat
+     * @param difficulty        the AI difficulty ("Easy", "Medium", "Hard"), or null without an AI
+     * @param result            the outcome of the game
+     * @param startEpochSeconds when the game started, in seconds since the epoch
+     * @param durationSeconds   how long the game lasted, in seconds
+     * @param moves             the column (0-6) of each move in order
+     * @throws IllegalArgumentException if a field cannot be encoded
+     */
+    public GameRecord(PlayerMode mode, String difficulty, GameResult result,
+                      long startEpochSeconds, int durationSeconds, byte[] moves) {
+        if (moves.length > MAX_MOVES) {
+            throw new IllegalArgumentException("A game cannot have more than " + MAX_MOVES + " moves");
+        }
+        for (byte move : moves) {
+            if (move < 0 || move >= COLUMNS) {
+                throw new IllegalArgumentException("Invalid column in move list: " + move);
+            }
+        }
+        if (startEpochSeconds < 0 || startEpochSeconds > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Start time out of range: " + startEpochSeconds);
+        }
+        difficultyCode(difficulty); // validates
+
+        this.mode = mode;
+        this.difficulty = difficulty;
+        this.result = result;
+        this.startEpochSeconds = startEpochSeconds;
+        this.durationSeconds = Math.max(0, Math.min(durationSeconds, 0xFFFF));
+        this.moves = moves.clone();
+    }
+
+    /** @return who controlled each seat */
+    public PlayerMode getMode() {
+        return mode;
+    }
+
+    /** @return the AI difficulty, or null if no computer player took part */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /** @return the outcome of the game */
+    public GameResult getResult() {
+        return result;
+    }
+
+    /** @return when the game started, in seconds since the epoch */
+    public long getStartEpochSeconds() {
+        return startEpochSeconds;
+    }
+
+    /** @return how long the game lasted, in seconds */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /** @return the number of moves played */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * Returns the column played at a given ply.
+     *
+     * @param ply the zero-based move number
+     * @return the column index (0-6)
+     */
+    public int getMove(int ply) {
+        return moves[ply];
+    }
+
+    /** @return a copy of the move columns in order */
+    public byte[] getMoves() {
+        return moves.clone();
+    }
+
+    /** @return the number of bytes {@link #writeTo} will write */
+    public int getEncodedLength() {
+        return HEADER_BYTES + packedLength(moves.length);
+    }
+
+    /**
+     * Returns the number of bytes needed to pack the given number of moves.
+     *
+     * @param moveCount the number of moves
+     * @return the packed size in bytes
+     */
+    public static int packedLength(int moveCount) {
+        return (moveCount * BITS_PER_MOVE + 7) / 8;
+    }
+
+    /**
+     * Encodes this record at the buffer's current position.
+     *
+     * @param buffer the buffer to write to; must have {@link #getEncodedLength()} bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        int flags = (FORMAT_VERSION << 6)
+                | (result.ordinal() << 4)
+                | (difficultyCode(difficulty) << 2)
+                | mode.ordinal();
+        buffer.put((byte) flags);
+        buffer.put((byte) moves.length);
+        buffer.putInt((int) startEpochSeconds);
+        buffer.putShort((short) durationSeconds);
+
+        int acc = 0;
+        int bits = 0;
+        for (byte move : moves) {
+            acc = (acc << BITS_PER_MOVE) | move;
+            bits += BITS_PER_MOVE;
+            if (bits >= 8) {
+                bits -= 8;
+                buffer.put((byte) (acc >>> bits));
+                acc &= (1 << bits) - 1;
+            }
+        }
+        if (bits > 0) {
+            buffer.put((byte) (acc << (8 - bits)));
+        }
+    }
+
+    /**
+     * Decodes a record at the buffer's current position and advances past it.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded record
+     * @throws IllegalArgumentException if the data is not a valid record
+     */
+    public static GameRecord readFrom(ByteBuffer buffer) {
+        int flags = buffer.get() & 0xFF;
+        if ((flags >>> 6) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported game record version: " + (flags >>> 6));
+        }
+        int moveCount = buffer.get() & 0xFF;
+        if (moveCount > MAX_MOVES) {
+            throw new IllegalArgumentException("Corrupt game record: " + moveCount + " moves");
+        }
+        long start = buffer.getInt() & 0xFFFFFFFFL;
+        int duration = buffer.getShort() & 0xFFFF;
+
+        byte[] moves = new byte[moveCount];
+        int acc = 0;
+        int bits = 0;
+        for (int i = 0; i < moveCount; i++) {
+            if (bits < BITS_PER_MOVE) {
+                acc = (acc << 8) | (buffer.get() & 0xFF);
+                bits += 8;
+            }
+            bits -= BITS_PER_MOVE;
+            moves[i] = (byte) ((acc >>> bits) & 0b111);
+        }
+
+        return new GameRecord(
+                PlayerMode.values()[flags & 0b11],
+                DIFFICULTIES[(flags >>> 2) & 0b11],
+                GameResult.values()[(flags >>> 4) & 0b11],
+                start, duration, moves);
+    }
+
+    /**
+     * Maps a difficulty name to its 2-bit header code.
+     *
+     * @param difficulty the difficulty name, or null
+     * @return 0 for null, otherwise 1-3
+     * @throws IllegalArgumentException if the difficulty is unknown
+     */
+    private static int difficultyCode(String difficulty) {
+        if (difficulty == null) return 0;
+        for (int code = 1; code < DIFFICULTIES.length; code++) {
+            if (DIFFICULTIES[code].equals(difficulty)) return code;
+        }
+        throw new IllegalArgumentException("Unknown difficulty: " + difficulty);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameRecord other)) return false;
+        return mode == other.mode
+                && result == other.result
+                && startEpochSeconds == other.startEpochSeconds
+                && durationSeconds == other.durationSeconds
+                && Objects.equals(difficulty, other.difficulty)
+                && Arrays.equals(moves, other.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(moves) + Long.hashCode(startEpochSeconds);
+    }
+}
@@ -0,0 +1,476 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * Records the moves of the game in progress and appends each finished game to a
+ * log file as a compact {@link GameRecord}.
+ * <p>
+ * Recording a move only stores a byte in memory. Finished records are handed to a
+ * background writer thread, which drains everything queued, encodes it into one
+ * direct buffer and appends it with a single {@link FileChannel} write, so disk I/O
+ * never runs on the caller's thread. If a {@link GameDatabase} is attached, the writer
+ * appends each batch to it as well and brings the attached {@link PositionIndex} up to
+ * date.
+ * </p>
+ * <p>
+ * The log starts with a 4-byte magic number and a 4-byte format version, followed by
+ * framed records back to back: a 4-byte CRC32 of the rest of the frame, a length byte
+ * and the encoded record. A record torn by a crash mid-write fails its length or
+ * checksum; readers stop at the first such frame, and the writer truncates the log to
+ * the last complete record before it appends again. The writer holds an exclusive
+ * lock on the log while it has it open, so a second recorder on the same file, in this
+ * process or another, fails to write instead of truncating the first one's records.
+ * </p>
+ * Methods other than {@link #close()} are intended for a single (UI) thread.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class GameRecorder implements AutoCloseable {
+    /** Magic number at the start of every game log ("C4GR"). */
+    public static final int FILE_MAGIC = 0x43344752;
+
+    private static final int VERSION = 2;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int FRAME_HEADER_BYTES = Integer.BYTES + 1; // checksum, length
+
+    private static final int MAX_FRAME_BYTES = FRAME_HEADER_BYTES + GameRecord.MAX_ENCODED_BYTES;
+
+    private static final int BATCH_BUFFER_BYTES = 64 * 1024;
+    private static final int SCAN_BUFFER_BYTES = 64 * 1024;
+    private static final long CLOSE_TIMEOUT_MILLIS = 1000;
+    // Queued by close() to tell the writer to finish; compared by identity
+    private static final GameRecord CLOSE_MARKER =
+            new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null, GameResult.UNFINISHED, 0, 0, new byte[0]);
+
+    private final Path logFile;
+    private volatile GameDatabase database;
+    private volatile PositionIndex positionIndex;
+    private final BlockingQueue<GameRecord> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final byte[] moves = new byte[GameRecord.MAX_MOVES];
+    private int moveCount;
+    private boolean inProgress;
+    private PlayerMode mode;
+    private String difficulty;
+    private long startMillis;
+
+    /**
+     * Constructs a recorder that appends to the given log file, creating it and its
+     * parent directories on first write.
+     *
+     * @param logFile the game log to append to
+     */
+    public GameRecorder(Path logFile) {
+        this.logFile = logFile;
+        this.writer = new Thread(this::runWriter, "game-recorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Sets a database that every finished game is also appended to, on the writer
+     * thread. The recorder does not close the database.
+     *
+     * @param database the database to append to, or null to write only the log
+     */
+    public void setDatabase(GameDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Sets a position index that is brought up to date with the database after each
+     * batch is appended.
+     *
+     * @param positionIndex the index of the attached database, or null
+     */
+    public void setPositionIndex(PositionIndex positionIndex) {
+        this.positionIndex = positionIndex;
+    }
+
+    /**
+     * Starts recording a new game, discarding any unfinished one.
+     *
+     * @param mode       who controls each seat
+     * @param difficulty the AI difficulty, or null without a computer player
+     */
+    public void startGame(PlayerMode mode, String difficulty) {
+        this.mode = mode;
+        this.difficulty = difficulty;
+        this.startMillis = System.currentTimeMillis();
+        this.moveCount = 0;
+        this.inProgress = true;
+    }
+
+    /**
+     * Continues recording a game recovered from the autosave journal, keeping its
+     * original start time and moves.
+     *
+     * @param game the recovered game
+     */
+    public void resumeGame(SavedGame game) {
+        startGame(game.getMode(), game.getDifficulty());
+        this.startMillis = game.getStartMillis();
+        for (byte move : game.getMoves()) {
+            recordMove(move);
+        }
+    }
+
+    /**
+     * Records a move in the current game. Ignored if no game is being recorded.
+     *
+     * @param col the column (0-6) the piece was dropped into
+     */
+    public void recordMove(int col) {
+        if (inProgress && moveCount < moves.length) {
+            moves[moveCount++] = (byte) col;
+        }
+    }
+
+    /** @return true if a game has been started and not yet finished */
+    public boolean isInProgress() {
+        return inProgress;
+    }
+
+    /**
+     * Finishes the current game and queues its record for writing.
+     *
+     * @param result the outcome of the game
+     */
+    public void finishGame(GameResult result) {
+        if (!inProgress) return;
+        inProgress = false;
+
+        long now = System.currentTimeMillis();
+        byte[] played = new byte[moveCount];
+        System.arraycopy(moves, 0, played, 0, moveCount);
+        queue.add(new GameRecord(mode, difficulty, result,
+                startMillis / 1000, (int) ((now - startMillis) / 1000), played));
+    }
+
+    /**
+     * Records the current game as unfinished if any move was played, or discards it.
+     * Called when the player leaves or restarts a game before it ends.
+     */
+    public void abandonGame() {
+        if (inProgress && moveCount > 0) {
+            finishGame(GameResult.UNFINISHED);
+        }
+        inProgress = false;
+    }
+
+    /**
+     * Flushes queued records and stops the writer thread, waiting at most one second.
+     */
+    @Override
+    public void close() {
+        queue.add(CLOSE_MARKER);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads every complete record from a game log. Reading stops at the first record
+     * that is incomplete or fails its checksum, such as one torn by a crash.
+     *
+     * @param logFile the log to read
+     * @return the records in the order they were written
+     * @throws IOException if the file cannot be read or is not a game log
+     */
+    public static List<GameRecord> readAll(Path logFile) throws IOException {
+        List<GameRecord> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            if (!readHeader(channel)) {
+                throw new IOException("Not a game log: " + logFile);
+            }
+            scanLog(channel, records);
+        }
+        return records;
+    }
+
+    /**
+     * Checks the magic number and version at the start of a log.
+     *
+     * @param channel the open log
+     * @return true if the log starts with a game log header of this version
+     * @throws IOException if the log cannot be read
+     */
+    private static boolean readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) return false;
+        }
+        header.flip();
+        return header.getInt() == FILE_MAGIC && header.getInt() == VERSION;
+    }
+
+    /**
+     * Reads the framed records after a log's header through a fixed-size buffer, so a
+     * log of any size is scanned in constant memory.
+     *
+     * @param channel the open log
+     * @param records the list to add the decoded records to, or null to only scan
+     * @return the offset in the log just past the last complete record
+     * @throws IOException if the log cannot be read
+     */
+    private static long scanLog(FileChannel channel, List<GameRecord> records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long size = channel.size();
+        long bufferStart = FILE_HEADER_BYTES;
+        while (true) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, bufferStart + buffer.position()) < 0) break;
+            }
+            buffer.flip();
+            int end = scanRecords(buffer, records);
+            if (bufferStart + buffer.limit() >= size || buffer.limit() - end >= MAX_FRAME_BYTES) {
+                // The end of the log, or a frame that is torn or corrupt
+                return bufferStart + end;
+            }
+            // The next frame may run past the buffer; move it to the front and read on
+            buffer.position(end);
+            buffer.compact();
+            bufferStart += end;
+        }
+    }
+
+    /**
+     * Decodes framed records from the buffer's position until the data runs out or a
+     * frame is incomplete, fails its checksum or does not decode.
+     *
+     * @param buffer  part of the log, positioned at the start of a frame
+     * @param records the list to add the decoded records to, or null to only scan
+     * @return the offset in the buffer just past the last complete record
+     */
+    private static int scanRecords(ByteBuffer buffer, List<GameRecord> records) {
+        CRC32 crc = new CRC32();
+        int end = buffer.position();
+        while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+            int checksum = buffer.getInt();
+            int start = buffer.position();
+            int length = buffer.get() & 0xFF;
+            if (length < GameRecord.HEADER_BYTES || length > GameRecord.MAX_ENCODED_BYTES
+                    || buffer.remaining() < length) break;
+            crc.reset();
+            crc.update(buffer.slice(start, 1 + length));
+            if ((int) crc.getValue() != checksum) break;
+
+            ByteBuffer encoded = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            GameRecord record;
+            try {
+                record = GameRecord.readFrom(encoded);
+            } catch (RuntimeException e) {
+                break;
+            }
+            if (encoded.hasRemaining()) break;
+            if (records != null) {
+                records.add(record);
+            }
+            end = buffer.position();
+        }
+        return end;
+    }
+
+    /**
+     * Writer thread loop: waits for records, then writes every queued record in one batch.
+     */
+    private void runWriter() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_BUFFER_BYTES);
+        List<GameRecord> batch = new ArrayList<>();
+        FileChannel channel = null;
+
+        boolean closing = false;
+
+        try {
+            while (!closing) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.drainTo(batch);
+                closing = batch.removeIf(record -> record == CLOSE_MARKER);
+
+                if (!batch.isEmpty()) {
+                    try {
+                        if (channel == null) {
+                            channel = openLog();
+                        }
+                        writeBatch(channel, buffer, batch);
+                    } catch (IOException e) {
+                        System.err.println("Failed to write game records: " + e.getMessage());
+                        // Reopen for the next batch, which truncates any partly written record
+                        channel = closeQuietly(channel);
+                    }
+                    appendToDatabase(batch);
+                }
+                batch.clear();
+            }
+        } finally {
+            closeQuietly(channel);
+        }
+    }
+
+    /**
+     * Closes the log channel, if open, reporting a failure.
+     *
+     * @param channel the channel to close, or null
+     * @return null, for clearing the caller's reference
+     */
+    private static FileChannel closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close game log: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Appends a batch of records to the attached database, if any, and updates its index.
+     */
+    private void appendToDatabase(List<GameRecord> batch) {
+        GameDatabase target = database;
+        if (target == null) return;
+        try {
+            for (GameRecord record : batch) {
+                target.append(record);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to store game records: " + e.getMessage());
+        }
+
+        PositionIndex index = positionIndex;
+        if (index == null) return;
+        try {
+            index.update(target);
+        } catch (IOException e) {
+            System.err.println("Failed to update position index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the log for appending. A new or headerless file gets the header; an
+     * existing log is truncated after its last complete record, so a record torn by a
+     * crash does not hide the ones appended after it. The channel holds an exclusive
+     * lock on the log until it is closed.
+     *
+     * @return the open channel, positioned at the end of the log
+     * @throws IOException if the log cannot be opened, is not a game log or is locked by
+     *                     another recorder
+     */
+    private FileChannel openLog() throws IOException {
+        Path parent = logFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            lockExclusively(channel, logFile);
+            long size = channel.size();
+            if (size < FILE_HEADER_BYTES) {
+                // Empty, or the header itself was torn
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(FILE_MAGIC).putInt(VERSION).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                return channel;
+            }
+            if (!readHeader(channel)) {
+                throw new IOException("Not a game log: " + logFile);
+            }
+            long end = scanLog(channel, null);
+            if (end < size) {
+                System.err.println("Discarding " + (size - end) + " bytes of incomplete records at the end of "
+                        + logFile);
+                channel.truncate(end);
+            }
+            channel.position(end);
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Takes an exclusive lock on an open file, released when the channel is closed.
+     *
+     * @param channel the writable channel of the file
+     * @param file    the file, for the error message
+     * @throws IOException if another channel, in this process or another, holds a lock on it
+     */
+    static void lockExclusively(FileChannel channel, Path file) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new IOException(file + " is in use by another running game");
+        }
+    }
+
+    /**
+     * Frames and encodes a batch of records and appends them, flushing whenever the
+     * buffer fills.
+     */
+    private static void writeBatch(FileChannel channel, ByteBuffer buffer, List<GameRecord> batch)
+            throws IOException {
+        CRC32 crc = new CRC32();
+        buffer.clear();
+        for (GameRecord record : batch) {
+            if (buffer.remaining() < FRAME_HEADER_BYTES + record.getEncodedLength()) {
+                drain(channel, buffer);
+            }
+            int start = buffer.position();
+            buffer.position(start + FRAME_HEADER_BYTES);
+            record.writeTo(buffer);
+            int length = buffer.position() - start - FRAME_HEADER_BYTES;
+            buffer.put(start + Integer.BYTES, (byte) length);
+            crc.reset();
+            crc.update(buffer.slice(start + Integer.BYTES, 1 + length));
+            buffer.putInt(start, (int) crc.getValue());
+        }
+        drain(channel, buffer);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns the default log location, {@code ~/.connect4/games.c4r}.
+     *
+     * @return the default game log path
+     */
+    public static Path defaultLogFile() {
+        return Path.of(System.getProperty("user.home"), ".connect4", "games.c4r");
+    }
+}
@@ -0,0 +1,16 @@
+package storage;
+
+/**
+ * The outcome stored in a {@link GameRecord}. The ordinal is the 2-bit code
+ * written to the record header, so constants must not be reordered.
+ */
+public enum GameResult {
+    /** The game was abandoned before it ended. */
+    UNFINISHED,
+    /** Player 1 connected four. */
+    PLAYER_ONE_WIN,
+    /** Player 2 connected four. */
+    PLAYER_TWO_WIN,
+    /** The board filled up without a winner. */
+    DRAW
+}
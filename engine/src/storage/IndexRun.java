@@ -0,0 +1,248 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One immutable, sorted run file of a {@link PositionIndex}, covering the games with
+ * ids in {@code [fromId, toId)}.
+ * <p>
+ * Layout: a {@value #HEADER_BYTES}-byte header (magic, version, fromId, toId, entry
+ * count, and the generation of the database the run was built from) followed by
+ * entries of {@value #ENTRY_BYTES} bytes: the 8-byte position key and a 4-byte value
+ * holding {@code gameId << 2 | result}. Entries are sorted by key, then by game id, so
+ * the games through a position form one contiguous range that is found by binary
+ * search on the mapped file.
+ * </p>
+ */
+final class IndexRun {
+    static final int MAGIC = 0x43345058; // "C4PX"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 40;
+    static final int ENTRY_BYTES = 12;
+    /** Game ids must fit in the 30 bits left next to the result. */
+    static final long MAX_GAME_ID = (1L << 30) - 1;
+    /** The most entries a single mapped run can hold. */
+    static final int MAX_ENTRIES = (Integer.MAX_VALUE - HEADER_BYTES) / ENTRY_BYTES;
+
+    private static final GameResult[] RESULTS = GameResult.values();
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final long generation;
+    private final long fromId;
+    private final long toId;
+    private final int entryCount;
+
+    private IndexRun(Path file, MappedByteBuffer buffer, long generation, long fromId, long toId, int entryCount) {
+        this.file = file;
+        this.buffer = buffer;
+        this.generation = generation;
+        this.fromId = fromId;
+        this.toId = toId;
+        this.entryCount = entryCount;
+    }
+
+    /**
+     * Maps and validates a run file read-only.
+     *
+     * @param file the run file
+     * @return the run
+     * @throws IOException if the file cannot be mapped or is not a run
+     */
+    static IndexRun open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES
+                    || buffer.getInt(0) != MAGIC
+                    || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a position index run: " + file);
+            }
+            long fromId = buffer.getLong(8);
+            long toId = buffer.getLong(16);
+            long entryCount = buffer.getLong(24);
+            long generation = buffer.getLong(32);
+            if (entryCount > MAX_ENTRIES
+                    || buffer.capacity() != HEADER_BYTES + entryCount * ENTRY_BYTES) {
+                throw new IOException("Truncated position index run: " + file);
+            }
+            return new IndexRun(file, buffer, generation, fromId, toId, (int) entryCount);
+        }
+    }
+
+    /**
+     * Writes a run from entries already in sorted order, via a temporary file so that a
+     * partly written run is never picked up.
+     *
+     * @param file       the run file to create
+     * @param generation the generation of the database the games were read from
+     * @param fromId     the first game id covered
+     * @param toId       one past the last game id covered
+     * @param entries    supplies the entries in sorted order
+     * @return the mapped run
+     * @throws IOException if the file cannot be written
+     */
+    static IndexRun write(Path file, long generation, long fromId, long toId, EntrySource entries)
+            throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(fromId).putLong(toId).putLong(entries.count())
+                    .putLong(generation);
+            for (int i = 0; i < entries.count(); i++) {
+                if (buffer.remaining() < ENTRY_BYTES) {
+                    drain(channel, buffer);
+                }
+                entries.next();
+                buffer.putLong(entries.key()).putInt(entries.value());
+            }
+            drain(channel, buffer);
+            channel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(file);
+    }
+
+    /**
+     * Merges two runs of the same generation covering adjacent id ranges into a new run file.
+     *
+     * @param file  the run file to create
+     * @param older the run with the lower ids
+     * @param newer the run whose ids follow the older run's
+     * @return the merged run
+     * @throws IOException if the file cannot be written
+     */
+    static IndexRun merge(Path file, IndexRun older, IndexRun newer) throws IOException {
+        long combined = (long) older.entryCount + newer.entryCount;
+        if (combined > MAX_ENTRIES) {
+            throw new IOException("Position index run would exceed " + MAX_ENTRIES + " entries");
+        }
+        int total = (int) combined;
+        // Both inputs are sorted, and for equal keys every older id is below every newer id
+        return write(file, older.generation, older.fromId, newer.toId, new EntrySource() {
+            private int a;
+            private int b;
+            private long key;
+            private int value;
+
+            @Override
+            public int count() {
+                return total;
+            }
+
+            @Override
+            public void next() {
+                if (b == newer.entryCount || (a < older.entryCount && older.key(a) <= newer.key(b))) {
+                    key = older.key(a);
+                    value = older.value(a++);
+                } else {
+                    key = newer.key(b);
+                    value = newer.value(b++);
+                }
+            }
+
+            @Override
+            public long key() {
+                return key;
+            }
+
+            @Override
+            public int value() {
+                return value;
+            }
+        });
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns the index of the first entry whose key is not less than the given key.
+     *
+     * @param key the position key
+     * @return the entry index, or {@code entryCount()} if every key is smaller
+     */
+    int lowerBound(long key) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long key(int entry) {
+        return buffer.getLong(HEADER_BYTES + entry * ENTRY_BYTES);
+    }
+
+    int value(int entry) {
+        return buffer.getInt(HEADER_BYTES + entry * ENTRY_BYTES + Long.BYTES);
+    }
+
+    static int packValue(long gameId, GameResult result) {
+        return (int) (gameId << 2) | result.ordinal();
+    }
+
+    static long gameId(int value) {
+        return (value & 0xFFFFFFFFL) >>> 2;
+    }
+
+    static GameResult result(int value) {
+        return RESULTS[value & 0b11];
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    long fromId() {
+        return fromId;
+    }
+
+    long toId() {
+        return toId;
+    }
+
+    int entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Supplies the entries of a new run one at a time, in sorted order.
+     */
+    interface EntrySource {
+        /** @return the number of entries */
+        int count();
+
+        /** Advances to the next entry. */
+        void next();
+
+        /** @return the key of the current entry */
+        long key();
+
+        /** @return the packed value of the current entry */
+        int value();
+    }
+}
@@ -0,0 +1,16 @@
+package storage;
+
+/**
+ * Who controlled each seat in a recorded game. The ordinal is the 2-bit code
+ * written to the record header, so constants must not be reordered.
+ */
+public enum PlayerMode {
+    /** Two human players. */
+    PLAYER_VS_PLAYER,
+    /** A human as Player 1 against the computer as Player 2. */
+    PLAYER_VS_COMPUTER,
+    /** The computer as Player 1 against a human as Player 2. */
+    COMPUTER_VS_PLAYER,
+    /** The computer in both seats. */
+    COMPUTER_VS_COMPUTER
+}
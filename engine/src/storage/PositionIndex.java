@@ -0,0 +1,373 @@
+package storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Maps canonical positions (see {@link PositionKey}) to the games in a
+ * {@link GameDatabase} that reached them, answering "how often was this position
+ * reached and how did those games end" without scanning the database.
+ * <p>
+ * The index is a set of sorted, memory-mapped run files, each covering a contiguous
+ * range of game ids. {@link #update} indexes the games appended since the last call
+ * and writes them as a new run; runs of similar size are merged so there are only
+ * ever a few dozen, and a lookup is one binary search per run. Runs are written to a
+ * temporary file and renamed, and a merged run replaces its inputs only once it is
+ * complete, so an interrupted update leaves a usable index behind. Each run records
+ * the {@link GameDatabase#getGeneration() generation} of the database it was built
+ * from, so an index that predates a compaction is noticed and rebuilt.
+ * </p>
+ * <p>
+ * Only the process that writes the database, and so holds its writer lock, should open
+ * the index with {@link #open}, which updates it and removes leftovers of an interrupted
+ * update. Other processes use {@link #openReadOnly}, which leaves every file alone.
+ * </p>
+ * Lookups may run on any thread while another thread updates the index.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class PositionIndex implements AutoCloseable {
+    /** Games indexed per run before merging; 14 bits leave room for 49-bit keys in a long. */
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_GAMES = 1 << CHUNK_BITS;
+    private static final String RUN_PREFIX = "run-";
+    private static final String RUN_SUFFIX = ".c4px";
+    private static final GameResult[] RESULTS = GameResult.values();
+
+    private final Path directory;
+    private final boolean readOnly;
+    private volatile List<IndexRun> runs;
+
+    private PositionIndex(Path directory, boolean readOnly, List<IndexRun> runs) {
+        this.directory = directory;
+        this.readOnly = readOnly;
+        this.runs = runs;
+    }
+
+    /**
+     * Opens the index in a directory for updating, creating the directory if needed.
+     * Leftovers of an interrupted update are removed, so the caller must hold the writer
+     * lock of the indexed database.
+     *
+     * @param directory the index directory
+     * @return the open index
+     * @throws IOException if the directory or a run cannot be opened
+     */
+    public static PositionIndex open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return open(directory, false);
+    }
+
+    /**
+     * Opens the index in a directory for lookups only, alongside a writer that may be
+     * updating it. No file is created or removed; a missing directory is an empty index.
+     *
+     * @param directory the index directory
+     * @return the open index
+     * @throws IOException if the directory cannot be read
+     */
+    public static PositionIndex openReadOnly(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new PositionIndex(directory, true, List.of());
+        }
+        return open(directory, true);
+    }
+
+    /**
+     * Opens the runs forming a chain from game id 0, deleting temporary files, runs that
+     * were merged into a larger one and damaged runs unless the index is read-only.
+     */
+    private static PositionIndex open(Path directory, boolean readOnly) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(RUN_SUFFIX + ".tmp")) {
+                    if (!readOnly) {
+                        Files.deleteIfExists(file);
+                    }
+                } else if (name.startsWith(RUN_PREFIX) && name.endsWith(RUN_SUFFIX)) {
+                    String[] ids = name.substring(RUN_PREFIX.length(), name.length() - RUN_SUFFIX.length()).split("-");
+                    try {
+                        ranges.add(new long[]{Long.parseLong(ids[0]), Long.parseLong(ids[1]), files.size()});
+                        files.add(file);
+                    } catch (RuntimeException e) {
+                        System.err.println("Ignoring unrecognised index file " + file);
+                    }
+                }
+            }
+        }
+
+        // Keep a chain of runs from id 0; runs inside a larger run were merged into it
+        ranges.sort(Comparator.<long[]>comparingLong(r -> r[0]).thenComparingLong(r -> -r[1]));
+        List<IndexRun> runs = new ArrayList<>();
+        long next = 0;
+        for (long[] range : ranges) {
+            Path file = files.get((int) range[2]);
+            if (range[0] == next && range[1] > next) {
+                try {
+                    runs.add(IndexRun.open(file));
+                    next = range[1];
+                } catch (IOException e) {
+                    // Written by another version or damaged, or merged away by the writer since it
+                    // was listed; a smaller run from the same id may still continue the chain
+                    System.err.println("Skipping position index run: " + e.getMessage());
+                    if (!readOnly) {
+                        deleteQuietly(file);
+                    }
+                }
+            } else if (!readOnly) {
+                deleteQuietly(file);
+            }
+        }
+        return new PositionIndex(directory, readOnly, List.copyOf(runs));
+    }
+
+    /**
+     * Returns the default index location for a database, a directory inside it.
+     *
+     * @param database the indexed database
+     * @return the index directory
+     */
+    public static Path defaultDirectory(GameDatabase database) {
+        return database.getDirectory().resolve("index");
+    }
+
+    /**
+     * @return the number of game ids covered; games with lower ids are indexed
+     */
+    public long getIndexedGames() {
+        List<IndexRun> current = runs;
+        return current.isEmpty() ? 0 : current.get(current.size() - 1).toId();
+    }
+
+    /**
+     * Indexes every game appended to the database since the last update. If the
+     * database's generation differs from the one the index was built from, it was
+     * compacted and the index is rebuilt from scratch. Call from the thread that appends
+     * games, or once appends have finished, so no slot is skipped while it is being
+     * written.
+     *
+     * @param database the database this index belongs to
+     * @return the number of games indexed by this call
+     * @throws IllegalStateException if the index was opened read-only
+     * @throws IOException           if a run cannot be written
+     */
+    public synchronized long update(GameDatabase database) throws IOException {
+        if (readOnly) {
+            throw new IllegalStateException("Position index is read-only");
+        }
+        long end = Math.min(database.size(), IndexRun.MAX_GAME_ID + 1);
+        long from = getIndexedGames();
+        if (end < from || !isGeneration(database.getGeneration())) {
+            clear();
+            from = 0;
+        }
+
+        long indexed = 0;
+        while (from < end) {
+            long to = Math.min(end, from + CHUNK_GAMES);
+            indexed += addRun(indexChunk(database, from, to));
+            from = to;
+        }
+        return indexed;
+    }
+
+    /**
+     * Looks up a position by key.
+     *
+     * @param key a canonical key from {@link PositionKey}
+     * @return how often the position was reached and the results of those games
+     */
+    public PositionStats lookup(long key) {
+        PositionStats stats = new PositionStats(key);
+        for (IndexRun run : runs) {
+            for (int i = run.lowerBound(key); i < run.entryCount() && run.key(i) == key; i++) {
+                stats.add(IndexRun.result(run.value(i)));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Looks up a board as returned by {@code GameLogic.getBoard()}.
+     *
+     * @param board the board, row 0 at the top
+     * @return how often the position was reached and the results of those games
+     * @throws IllegalArgumentException if the board is not a valid position
+     */
+    public PositionStats lookup(int[][] board) {
+        return lookup(PositionKey.of(board));
+    }
+
+    /**
+     * Looks up the position reached by a move string such as {@code "4453"}.
+     *
+     * @param moves the moves, one digit 1-7 per move
+     * @return how often the position was reached and the results of those games
+     * @throws IllegalArgumentException if the move string is invalid
+     */
+    public PositionStats lookup(String moves) {
+        return lookup(PositionKey.ofMoves(moves));
+    }
+
+    /**
+     * Returns the ids of games that reached a position, lowest first.
+     *
+     * @param key   a canonical key from {@link PositionKey}
+     * @param limit the most ids to return
+     * @return up to {@code limit} game ids, usable with {@link GameDatabase#get}
+     */
+    public long[] findGames(long key, int limit) {
+        long[] ids = new long[Math.min(limit, 64)];
+        int count = 0;
+        for (IndexRun run : runs) {
+            for (int i = run.lowerBound(key); i < run.entryCount() && run.key(i) == key && count < limit; i++) {
+                if (count == ids.length) {
+                    ids = Arrays.copyOf(ids, (int) Math.min(limit, ids.length * 2L));
+                }
+                ids[count++] = IndexRun.gameId(run.value(i));
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Releases the index. The mapped runs are unmapped once garbage collected.
+     */
+    @Override
+    public synchronized void close() {
+        runs = List.of();
+    }
+
+    /**
+     * Builds the run for a range of game ids. Each entry is sorted as one long: the
+     * key above the game's offset within the chunk.
+     */
+    private IndexRun indexChunk(GameDatabase database, long from, long to) throws IOException {
+        byte[] results = new byte[(int) (to - from)];
+        long[] entries = new long[results.length * 8];
+        int count = 0;
+
+        GameCursor games = database.cursor(from, to);
+        while (games.next()) {
+            int local = (int) (games.getId() - from);
+            int moveCount = games.getMoveCount();
+            results[local] = (byte) games.getResult().ordinal();
+            if (count + moveCount + 1 > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, count + moveCount + 1));
+            }
+
+            long playerOne = 0;
+            long mask = 0;
+            entries[count++] = (PositionKey.canonical(playerOne, mask) << CHUNK_BITS) | local;
+            for (int ply = 0; ply < moveCount; ply++) {
+                long next = PositionKey.play(mask, games.getMove(ply));
+                if ((ply & 1) == 0) playerOne |= next ^ mask;
+                mask = next;
+                entries[count++] = (PositionKey.canonical(playerOne, mask) << CHUNK_BITS) | local;
+            }
+        }
+        Arrays.sort(entries, 0, count);
+
+        long[] sorted = entries;
+        int total = count;
+        Path file = directory.resolve(runName(from, to));
+        return IndexRun.write(file, database.getGeneration(), from, to, new IndexRun.EntrySource() {
+            private int i;
+            private long key;
+            private int value;
+
+            @Override
+            public int count() {
+                return total;
+            }
+
+            @Override
+            public void next() {
+                long entry = sorted[i++];
+                int local = (int) (entry & (CHUNK_GAMES - 1));
+                key = entry >>> CHUNK_BITS;
+                value = IndexRun.packValue(from + local, RESULTS[results[local]]);
+            }
+
+            @Override
+            public long key() {
+                return key;
+            }
+
+            @Override
+            public int value() {
+                return value;
+            }
+        });
+    }
+
+    /**
+     * Publishes a new run, merging it with its predecessors while they are no more than
+     * twice its size, which keeps the number of runs logarithmic in the number of games.
+     *
+     * @return the number of games the run covers
+     */
+    private long addRun(IndexRun run) throws IOException {
+        List<IndexRun> updated = new ArrayList<>(runs);
+        updated.add(run);
+        while (updated.size() >= 2) {
+            IndexRun newer = updated.get(updated.size() - 1);
+            IndexRun older = updated.get(updated.size() - 2);
+            if (newer.entryCount() * 2L < older.entryCount()
+                    || (long) older.entryCount() + newer.entryCount() > IndexRun.MAX_ENTRIES) {
+                break;
+            }
+            IndexRun merged = IndexRun.merge(directory.resolve(runName(older.fromId(), newer.toId())), older, newer);
+            updated.remove(updated.size() - 1);
+            updated.set(updated.size() - 1, merged);
+            deleteQuietly(older.file());
+            deleteQuietly(newer.file());
+        }
+        runs = List.copyOf(updated);
+        return run.toId() - run.fromId();
+    }
+
+    /**
+     * @return true if every run was built from the given generation of the database
+     */
+    private boolean isGeneration(long generation) {
+        for (IndexRun run : runs) {
+            if (run.generation() != generation) return false;
+        }
+        return true;
+    }
+
+    private void clear() {
+        List<IndexRun> old = runs;
+        runs = List.of();
+        for (IndexRun run : old) {
+            deleteQuietly(run.file());
+        }
+    }
+
+    private static String runName(long fromId, long toId) {
+        return String.format("%s%012d-%012d%s", RUN_PREFIX, fromId, toId, RUN_SUFFIX);
+    }
+
+    /**
+     * Deletes a replaced run. Some platforms refuse to delete a file that is still
+     * mapped; such leftovers are covered by a larger run and removed by the next open.
+     */
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Removed on the next open
+        }
+    }
+}
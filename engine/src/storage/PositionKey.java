@@ -0,0 +1,153 @@
+package storage;
+
+/**
+ * Computes canonical 64-bit keys for Connect 4 positions.
+ * <p>
+ * The board is encoded as a bitboard with 7 bits per column, bottom cell first: the
+ * bits of player 1's pieces plus a single marker bit just above the top piece. This
+ * is unique for every position, so keys never collide. A position and its mirror image
+ * are equivalent for statistics, so the key is the smaller of the two encodings.
+ * </p>
+ * Move strings use the common notation of one digit per move, columns 1-7 from the
+ * left, e.g. {@code "4453"}.
+ */
+public final class PositionKey {
+    /** Number of board rows. */
+    public static final int ROWS = 6;
+    /** Number of board columns. */
+    public static final int COLUMNS = 7;
+
+    private static final int COLUMN_BITS = ROWS + 1;
+    private static final long COLUMN_MASK = (1L << COLUMN_BITS) - 1;
+    private static final long BOTTOM = bottomMask();
+    // Vertical, diagonal, horizontal and anti-diagonal neighbours as bit distances
+    private static final int[] LINE_SHIFTS = {1, COLUMN_BITS - 1, COLUMN_BITS, COLUMN_BITS + 1};
+    /** The key of the empty board. */
+    public static final long EMPTY = BOTTOM;
+
+    private PositionKey() {
+    }
+
+    /**
+     * Returns the canonical key of a board as returned by {@code GameLogic.getBoard()}:
+     * {@code board[row][col]}, row 0 at the top, 0 for empty and 1 or 2 for a piece.
+     *
+     * @param board the board
+     * @return the canonical key
+     * @throws IllegalArgumentException if the board has the wrong size or a floating piece
+     */
+    public static long of(int[][] board) {
+        if (board.length != ROWS) {
+            throw new IllegalArgumentException("Board must have " + ROWS + " rows");
+        }
+        long playerOne = 0;
+        long mask = 0;
+        for (int col = 0; col < COLUMNS; col++) {
+            boolean gap = false;
+            for (int level = 0; level < ROWS; level++) {
+                int cell = board[ROWS - 1 - level][col];
+                if (cell == 0) {
+                    gap = true;
+                    continue;
+                }
+                if (gap) {
+                    throw new IllegalArgumentException("Floating piece in column " + (col + 1));
+                }
+                long bit = 1L << (col * COLUMN_BITS + level);
+                mask |= bit;
+                if (cell == 1) playerOne |= bit;
+            }
+        }
+        return canonical(playerOne, mask);
+    }
+
+    /**
+     * Returns the canonical key of the position reached by a move string.
+     *
+     * @param moves the moves, one digit 1-7 per move
+     * @return the canonical key
+     * @throws IllegalArgumentException if a move is not a digit 1-7 or its column is full
+     */
+    public static long ofMoves(CharSequence moves) {
+        long playerOne = 0;
+        long mask = 0;
+        for (int ply = 0; ply < moves.length(); ply++) {
+            char c = moves.charAt(ply);
+            if (c < '1' || c > '7') {
+                throw new IllegalArgumentException("Invalid move '" + c + "' at position " + (ply + 1));
+            }
+            int col = c - '1';
+            if (isColumnFull(mask, col)) {
+                throw new IllegalArgumentException("Column " + (col + 1) + " is full at move " + (ply + 1));
+            }
+            long next = play(mask, col);
+            if ((ply & 1) == 0) playerOne |= next ^ mask;
+            mask = next;
+        }
+        return canonical(playerOne, mask);
+    }
+
+    /**
+     * Returns the occupancy mask after dropping a piece into a column. The new piece's
+     * bit is {@code play(mask, col) ^ mask}.
+     *
+     * @param mask the occupancy mask before the move
+     * @param col  the column (0-6); must not be full
+     * @return the occupancy mask after the move
+     */
+    static long play(long mask, int col) {
+        return mask | (mask + (1L << (col * COLUMN_BITS)));
+    }
+
+    /**
+     * @param mask the occupancy mask
+     * @param col  the column (0-6)
+     * @return true if the column has no free cell
+     */
+    static boolean isColumnFull(long mask, int col) {
+        return (mask & (1L << (col * COLUMN_BITS + ROWS - 1))) != 0;
+    }
+
+    /**
+     * Checks a player's pieces for four in a row, in any direction.
+     *
+     * @param pieces the cells holding one player's pieces
+     * @return true if the pieces contain a line of four
+     */
+    static boolean hasFour(long pieces) {
+        for (int shift : LINE_SHIFTS) {
+            long pairs = pieces & (pieces >>> shift);
+            if ((pairs & (pairs >>> (2 * shift))) != 0) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the canonical key of a position given as bitboards.
+     *
+     * @param playerOne the cells holding player 1's pieces
+     * @param mask      the occupied cells
+     * @return the smaller of the position's key and its mirror image's key
+     */
+    static long canonical(long playerOne, long mask) {
+        long key = playerOne + mask + BOTTOM;
+        return Math.min(key, mirror(key));
+    }
+
+    private static long mirror(long key) {
+        long mirrored = 0;
+        for (int col = 0; col < COLUMNS; col++) {
+            long column = (key >>> (col * COLUMN_BITS)) & COLUMN_MASK;
+            mirrored |= column << ((COLUMNS - 1 - col) * COLUMN_BITS);
+        }
+        return mirrored;
+    }
+
+    private static long bottomMask() {
+        long bottom = 0;
+        for (int col = 0; col < COLUMNS; col++) {
+            bottom |= 1L << (col * COLUMN_BITS);
+        }
+        return bottom;
+    }
+}
@@ -0,0 +1,52 @@
+package storage;
+
+/**
+ * How often a position was reached in the game database and how those games ended.
+ */
+public final class PositionStats {
+    private final long key;
+    private final long[] counts = new long[GameResult.values().length];
+
+    PositionStats(long key) {
+        this.key = key;
+    }
+
+    void add(GameResult result) {
+        counts[result.ordinal()]++;
+    }
+
+    /** @return the canonical key of the position, see {@link PositionKey} */
+    public long getKey() {
+        return key;
+    }
+
+    /** @return the number of games that reached the position */
+    public long getGames() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @param result an outcome
+     * @return the number of games through the position that ended that way
+     */
+    public long getCount(GameResult result) {
+        return counts[result.ordinal()];
+    }
+
+    /**
+     * @return a one-line summary, e.g. "120 games: 58 player 1 wins, 49 player 2 wins, 9 draws, 4 unfinished"
+     */
+    @Override
+    public String toString() {
+        return String.format("%d games: %d player 1 wins, %d player 2 wins, %d draws, %d unfinished",
+                getGames(),
+                getCount(GameResult.PLAYER_ONE_WIN),
+                getCount(GameResult.PLAYER_TWO_WIN),
+                getCount(GameResult.DRAW),
+                getCount(GameResult.UNFINISHED));
+    }
+}
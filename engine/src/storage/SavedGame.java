@@ -0,0 +1,58 @@
+package storage;
+
+/**
+ * An unfinished game recovered from the autosave journal by {@link GameJournal#recover}.
+ */
+public final class SavedGame {
+    private final PlayerMode mode;
+    private final String difficulty;
+    private final String playerOneName;
+    private final String playerTwoName;
+    private final long startMillis;
+    private final byte[] moves;
+
+    SavedGame(PlayerMode mode, String difficulty, String playerOneName, String playerTwoName,
+              long startMillis, byte[] moves) {
+        this.mode = mode;
+        this.difficulty = difficulty;
+        this.playerOneName = playerOneName;
+        this.playerTwoName = playerTwoName;
+        this.startMillis = startMillis;
+        this.moves = moves;
+    }
+
+    /** @return who controlled each seat */
+    public PlayerMode getMode() {
+        return mode;
+    }
+
+    /** @return the AI difficulty, or null without a computer player */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /** @return the name of player 1 */
+    public String getPlayerOneName() {
+        return playerOneName;
+    }
+
+    /** @return the name of player 2 */
+    public String getPlayerTwoName() {
+        return playerTwoName;
+    }
+
+    /** @return when the game started, in milliseconds since the epoch */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /** @return the number of moves played before the game was interrupted */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /** @return a copy of the move columns (0-6) in order */
+    public byte[] getMoves() {
+        return moves.clone();
+    }
+}
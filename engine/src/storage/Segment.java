@@ -0,0 +1,170 @@
+package storage;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped segment file of a {@link GameDatabase}.
+ * <p>
+ * Layout: a {@value #HEADER_BYTES}-byte header (magic, version, slot size, slot
+ * capacity) followed by {@code capacity} fixed-size slots. Each slot holds one
+ * encoded {@link GameRecord}, zero-padded to {@value #RECORD_BYTES} bytes, followed by
+ * its label: a length byte and up to {@value #MAX_LABEL_BYTES} bytes of UTF-8.
+ * Version 1 segments, written before labels were stored, have slots without the label
+ * and are still read. A slot whose first four bytes are zero has not been published;
+ * since every valid record has a non-zero version in its first byte, writers publish a
+ * slot by storing its first four bytes last, with release semantics, and readers check
+ * them with acquire semantics.
+ * </p>
+ */
+final class Segment {
+    static final int MAGIC = 0x43344442; // "C4DB"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = GameRecord.MAX_ENCODED_BYTES;
+    static final int MAX_LABEL_BYTES = 7;
+    static final int SLOT_BYTES = RECORD_BYTES + 1 + MAX_LABEL_BYTES;
+
+    private static final int UNLABELLED_VERSION = 1;
+
+    private static final VarHandle INT_VIEW =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int slotBytes;
+
+    private Segment(FileChannel channel, MappedByteBuffer buffer, int capacity, int slotBytes) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.slotBytes = slotBytes;
+    }
+
+    /**
+     * Creates a new, empty segment file.
+     *
+     * @param file     the file to create; must not exist
+     * @param capacity the number of slots
+     * @return the mapped segment
+     * @throws IOException if the file cannot be created or mapped
+     */
+    static Segment create(Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_BYTES + (long) capacity * SLOT_BYTES);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, SLOT_BYTES);
+        buffer.putInt(12, capacity);
+        return new Segment(channel, buffer, capacity, SLOT_BYTES);
+    }
+
+    /**
+     * Opens and validates an existing segment file.
+     *
+     * @param file     the segment file
+     * @param readOnly true to map the file read-only
+     * @return the mapped segment
+     * @throws IOException if the file cannot be mapped or is not a segment
+     */
+    static Segment open(Path file, boolean readOnly) throws IOException {
+        FileChannel channel = readOnly
+                ? FileChannel.open(file, StandardOpenOption.READ)
+                : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(
+                    readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE,
+                    0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a game database segment: " + file);
+            }
+            int version = buffer.getInt(4);
+            int slotBytes = buffer.getInt(8);
+            if (!(version == VERSION && slotBytes == SLOT_BYTES)
+                    && !(version == UNLABELLED_VERSION && slotBytes == RECORD_BYTES)) {
+                throw new IOException("Unsupported game database segment version " + version + ": " + file);
+            }
+            int capacity = buffer.getInt(12);
+            if (buffer.capacity() < HEADER_BYTES + (long) capacity * slotBytes) {
+                throw new IOException("Truncated game database segment: " + file);
+            }
+            return new Segment(channel, buffer, capacity, slotBytes);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** @return the number of slots in this segment */
+    int capacity() {
+        return capacity;
+    }
+
+    /** @return true if the slots have room for a label, false for a version 1 segment */
+    boolean hasLabels() {
+        return slotBytes == SLOT_BYTES;
+    }
+
+    /** @return the mapped file contents */
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the byte offset of a slot within the segment.
+     *
+     * @param slot the slot index
+     * @return the offset of the slot's first byte
+     */
+    int offset(int slot) {
+        return HEADER_BYTES + slot * slotBytes;
+    }
+
+    /**
+     * @param slot the slot index
+     * @return true if a record has been published in the slot
+     */
+    boolean isPublished(int slot) {
+        return (int) INT_VIEW.getAcquire(buffer, offset(slot)) != 0;
+    }
+
+    /**
+     * Copies an encoded record and its label into a slot and publishes it. A version 1
+     * segment keeps only the record.
+     *
+     * @param slot    the slot index, claimed exclusively by the caller
+     * @param encoded the encoded record and label, laid out as a slot of {@link #SLOT_BYTES}
+     */
+    void write(int slot, byte[] encoded) {
+        int offset = offset(slot);
+        buffer.put(offset + Integer.BYTES, encoded, Integer.BYTES, slotBytes - Integer.BYTES);
+        int head = ((encoded[0] & 0xFF) << 24) | ((encoded[1] & 0xFF) << 16)
+                | ((encoded[2] & 0xFF) << 8) | (encoded[3] & 0xFF);
+        INT_VIEW.setRelease(buffer, offset, head);
+    }
+
+    /**
+     * Writes mapped changes to disk.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Closes the underlying channel. The mapping stays valid until garbage collected.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,83 @@
+package core;
+
+import logic.GameLogic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+
+/**
+ * The frames {@link ConsoleRenderer} writes, drawn whole and drawn in place.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class ConsoleRendererTest {
+    private static final int ROWS = 6;
+    private static final int COLUMNS = 7;
+    private static final String NL = System.lineSeparator();
+    private static final String EMPTY_ROW = "  | ".repeat(COLUMNS) + NL;
+
+    private ConsoleRendererTest() {
+    }
+
+    static void testWholeBoardFrames() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleRenderer renderer = new ConsoleRenderer(print(bytes), ROWS, COLUMNS, false);
+        GameLogic board = new GameLogic();
+
+        renderer.render(board);
+        checkEquals(EMPTY_ROW.repeat(ROWS), text(bytes), "empty board");
+
+        bytes.reset();
+        board.makeMove(3, 1);
+        board.makeMove(3, 2);
+        renderer.render(board);
+        String expected = EMPTY_ROW.repeat(ROWS - 2)
+                + "  |   |   | O |   |   |   | " + NL
+                + "  |   |   | X |   |   |   | " + NL;
+        checkEquals(expected, text(bytes), "board after two moves");
+
+        bytes.reset();
+        renderer.render(board);
+        checkEquals(expected, text(bytes), "unchanged board drawn again");
+    }
+
+    static void testInPlaceFrames() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsoleRenderer renderer = new ConsoleRenderer(print(bytes), ROWS, COLUMNS, true);
+        GameLogic board = new GameLogic();
+
+        renderer.render(board);
+        checkEquals("\u001B[2J\u001B[H" + EMPTY_ROW.repeat(ROWS), text(bytes), "first frame");
+
+        bytes.reset();
+        renderer.render(board);
+        checkEquals("", text(bytes), "frame without changes");
+
+        bytes.reset();
+        board.makeMove(2, 1);
+        renderer.render(board);
+        // Bottom row, third column: the cursor moves there, the piece is written, and the
+        // messages below the board are cleared
+        checkEquals("\u001B[6;9HX\u001B[7;1H\u001B[J", text(bytes), "frame after one move");
+
+        bytes.reset();
+        board.makeMove(2, 2);
+        board.makeMove(6, 1);
+        renderer.render(board);
+        String frame = text(bytes);
+        check(frame.contains("\u001B[5;9HO") && frame.contains("\u001B[6;25HX"), "frame after two moves: " + frame);
+    }
+
+    private static PrintStream print(ByteArrayOutputStream bytes) {
+        return new PrintStream(bytes, true, StandardCharsets.UTF_8);
+    }
+
+    private static String text(ByteArrayOutputStream bytes) {
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+}
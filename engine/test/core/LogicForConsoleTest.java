@@ -0,0 +1,94 @@
+package core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+
+/**
+ * Scripted two-player console games through {@link LogicForConsole}, reading moves from
+ * an injected input stream and checking what is written to the injected output.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class LogicForConsoleTest {
+    private static final String X_WON = "Player X won the game!";
+    private static final String O_WON = "Player O won the game!";
+    private static final String DRAW = "It's a Draw!";
+
+    private LogicForConsoleTest() {
+    }
+
+    static void testHorizontalWin() {
+        String output = play("4 4 5 5 6 6 7 n");
+        checkResults(output, 1, 0, 0);
+        check(output.endsWith("Thanks for playing Connect 4!" + System.lineSeparator()), "farewell: " + output);
+    }
+
+    static void testVerticalWin() {
+        checkResults(play("1 2 1 2 1 2 1 n"), 1, 0, 0);
+    }
+
+    static void testSecondPlayerWins() {
+        checkResults(play("1 2 1 2 3 2 5 2 n"), 0, 1, 0);
+    }
+
+    static void testDraw() {
+        // Columns filled in pairs so no row or diagonal lines up four of one colour
+        String moves = "121212" + "343434" + "565656" + "212121" + "434343" + "656565" + "777777";
+        checkResults(play(String.join(" ", moves.split("")) + " n"), 0, 0, 1);
+    }
+
+    static void testFullColumnRejected() {
+        // Column 1 fills up without a winner, X's seventh piece there is refused, and X
+        // then wins in column 2
+        String output = play("1 1 1 1 1 1 1 2 3 2 3 2 3 2 n");
+        checkEquals(1, count(output, "No more free spaces"), "full column messages");
+        checkResults(output, 1, 0, 0);
+    }
+
+    static void testInvalidColumnsRejected() {
+        String output = play("8 0 x 4 4 5 5 6 6 7 n");
+        checkEquals(2, count(output, "Choose a column number between 1-7"), "out of range messages");
+        checkEquals(1, count(output, "Enter a column number between 1-7"), "not a number messages");
+        checkResults(output, 1, 0, 0);
+    }
+
+    static void testPlayAgainStartsOnEmptyBoard() {
+        // The second game would be over at once if the first game's pieces were kept
+        String output = play("4 4 5 5 6 6 7 y 1 2 1 2 1 2 1 n");
+        checkResults(output, 2, 0, 0);
+    }
+
+    /**
+     * Plays a scripted game and returns everything written to the output. Each answer is
+     * typed on a line of its own, since an invalid move discards the rest of its line.
+     *
+     * @param answers the moves and the play-again answers, separated by spaces
+     */
+    private static String play(String answers) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+        byte[] input = (answers.replace(' ', '\n') + "\n").getBytes(StandardCharsets.UTF_8);
+        new LogicForConsole(new ByteArrayInputStream(input), out).playGame();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void checkResults(String output, int xWins, int oWins, int draws) {
+        checkEquals(xWins, count(output, X_WON), "player X wins");
+        checkEquals(oWins, count(output, O_WON), "player O wins");
+        checkEquals(draws, count(output, DRAW), "draws");
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,227 @@
+package storage;
+
+import testing.Checks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+import static testing.Checks.checkThrows;
+
+/**
+ * Appending to and reopening a {@link GameDatabase}, labels and segments from before
+ * they were stored, the lock that keeps it to one writer at a time, and compaction,
+ * including the state a crash can leave it in.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class GameDatabaseTest {
+    private static final int SLOTS_PER_SEGMENT = 16;
+
+    private GameDatabaseTest() {
+    }
+
+    static void testGamesSurviveReopening() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false)) {
+            append(database, 0, 40);
+        }
+        try (GameDatabase database = GameDatabase.open(directory)) {
+            checkEquals(40L, database.size(), "games after reopening");
+            append(database, 40, 5);
+            for (long id = 0; id < 45; id++) {
+                checkEquals(game(id), database.get(id), "game " + id);
+            }
+        }
+    }
+
+    static void testLabelsStored() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false)) {
+            database.append(game(0), "-18");
+            database.append(game(1));
+            database.append(game(2), "");
+            database.append(game(3), "żółw");
+            checkThrows(IllegalArgumentException.class, () -> database.append(game(4), "12345678"),
+                    "label longer than 7 bytes");
+            checkEquals(4L, database.size(), "games after a rejected label");
+        }
+        try (GameDatabase database = GameDatabase.openReadOnly(directory)) {
+            String[] expected = {"-18", null, null, "żółw"};
+            for (GameCursor games = database.cursor(); games.next(); ) {
+                checkEquals(expected[(int) games.getId()], games.getLabel(), "label of game " + games.getId());
+                checkEquals(game(games.getId()), games.toRecord(), "game " + games.getId());
+            }
+        }
+    }
+
+    static void testUnlabelledSegmentsStillRead() throws IOException {
+        Path directory = Files.createDirectories(Checks.temporaryDirectory().resolve("games"));
+        // A segment as written before labels were stored: version 1, slots of the record alone
+        int slotBytes = GameRecord.MAX_ENCODED_BYTES;
+        ByteBuffer segment = ByteBuffer.allocate(Segment.HEADER_BYTES + SLOTS_PER_SEGMENT * slotBytes);
+        segment.putInt(0, Segment.MAGIC).putInt(4, 1).putInt(8, slotBytes).putInt(12, SLOTS_PER_SEGMENT);
+        for (int id = 0; id < 5; id++) {
+            game(id).writeTo(segment.position(Segment.HEADER_BYTES + id * slotBytes));
+        }
+        Files.write(directory.resolve("segment-000000.c4db"), segment.array());
+
+        try (GameDatabase database = GameDatabase.open(directory)) {
+            checkEquals((long) SLOTS_PER_SEGMENT, database.size(), "appends start in a new segment");
+            checkEquals((long) SLOTS_PER_SEGMENT, database.append(game(SLOTS_PER_SEGMENT), "+3"),
+                    "id of the first labelled game");
+            GameCursor games = database.cursor();
+            for (int id = 0; id < 5; id++) {
+                check(games.next(), "game " + id + " found");
+                checkEquals(game(id), games.toRecord(), "game " + id);
+                checkEquals(null, games.getLabel(), "label of game " + id);
+            }
+            check(games.next(), "labelled game found");
+            checkEquals("+3", games.getLabel(), "label of the new game");
+        }
+
+        checkEquals(6L, GameDatabase.compact(directory, false), "games kept by compaction");
+        try (GameDatabase database = GameDatabase.open(directory)) {
+            checkEquals(6L, database.size(), "games after compaction");
+            GameCursor last = database.cursor(5, 6);
+            check(last.next(), "last game found");
+            checkEquals("+3", last.getLabel(), "label kept by compaction");
+        }
+    }
+
+    static void testSecondWriterRejected() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false)) {
+            append(database, 0, 10);
+            check(GameDatabase.isOpenForWriting(directory), "database reported open for writing");
+            checkThrows(DatabaseLockedException.class, () -> GameDatabase.open(directory), "second writer");
+            checkThrows(DatabaseLockedException.class, () -> GameDatabase.compact(directory, false),
+                    "compaction while open");
+            try (GameDatabase reader = GameDatabase.openReadOnly(directory)) {
+                checkEquals(10L, reader.size(), "games seen by a reader");
+                checkThrows(IllegalStateException.class, () -> reader.append(game(10)),
+                        "append to a read-only database");
+            }
+        }
+        check(!GameDatabase.isOpenForWriting(directory), "database released on close");
+        GameDatabase.open(directory).close();
+    }
+
+    static void testCompactionKeepsOrderAndDropsUnfinished() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        List<GameRecord> finished = new ArrayList<>();
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false)) {
+            append(database, 0, 50);
+            for (long id = 0; id < 50; id++) {
+                if (game(id).getResult() != GameResult.UNFINISHED) finished.add(game(id));
+            }
+        }
+
+        checkEquals((long) finished.size(), GameDatabase.compact(directory, true), "games kept");
+        checkEquals((long) finished.size(), GameDatabase.compact(directory, false), "games kept again");
+        try (GameDatabase database = GameDatabase.open(directory)) {
+            checkEquals(2L, database.getGeneration(), "generation after two compactions");
+            checkGames(database, finished);
+        }
+        checkEquals(List.of("generation-2"), generationDirectories(directory), "generation directories");
+        check(segmentFiles(directory).isEmpty(), "generation 0 segments removed");
+    }
+
+    static void testUnfinishedCompactionRolledBack() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false)) {
+            append(database, 0, 40);
+        }
+        // A crash before the switch leaves a partial next generation beside the live one
+        Path next = Files.createDirectories(directory.resolve("generation-1"));
+        Files.copy(directory.resolve("segment-000000.c4db"), next.resolve("segment-000000.c4db"));
+
+        try (GameDatabase reader = GameDatabase.openReadOnly(directory)) {
+            checkEquals(40L, reader.size(), "games seen by a reader");
+        }
+        check(Files.exists(next), "a reader leaves the unfinished generation alone");
+        try (GameDatabase database = GameDatabase.open(directory)) {
+            checkEquals(0L, database.getGeneration(), "generation");
+            checkEquals(40L, database.size(), "games after the interrupted compaction");
+        }
+        check(!Files.exists(next), "unfinished generation removed");
+    }
+
+    static void testFinishedCompactionCleanedUp() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        Path saved = Checks.temporaryDirectory();
+        List<GameRecord> finished = new ArrayList<>();
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false)) {
+            append(database, 0, 40);
+            for (long id = 0; id < 40; id++) {
+                if (game(id).getResult() != GameResult.UNFINISHED) finished.add(game(id));
+            }
+        }
+        for (Path file : segmentFiles(directory)) {
+            Files.copy(file, saved.resolve(file.getFileName()));
+        }
+        GameDatabase.compact(directory, true);
+        // A crash after the switch leaves the old generation's segments behind
+        for (Path file : segmentFiles(saved)) {
+            Files.copy(file, directory.resolve(file.getFileName()));
+        }
+
+        try (GameDatabase reader = GameDatabase.openReadOnly(directory)) {
+            checkGames(reader, finished);
+        }
+        try (GameDatabase database = GameDatabase.open(directory)) {
+            checkEquals(1L, database.getGeneration(), "generation");
+            checkGames(database, finished);
+            append(database, finished.size(), 3);
+        }
+        check(segmentFiles(directory).isEmpty(), "old generation removed");
+    }
+
+    private static void checkGames(GameDatabase database, List<GameRecord> expected) {
+        checkEquals((long) expected.size(), database.size(), "games in the database");
+        for (int id = 0; id < expected.size(); id++) {
+            checkEquals(expected.get(id), database.get(id), "game " + id);
+        }
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.c4db")) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    private static List<String> generationDirectories(Path directory) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "generation-*")) {
+            stream.forEach(entry -> names.add(entry.getFileName().toString()));
+        }
+        return names;
+    }
+
+    /**
+     * Appends the games with the given ids, as made by {@link #game}.
+     */
+    static void append(GameDatabase database, long first, int count) {
+        for (long id = first; id < first + count; id++) {
+            checkEquals(id, database.append(game(id)), "id of appended game");
+        }
+    }
+
+    /**
+     * @return a game that differs from every other id's in its start time and moves
+     */
+    static GameRecord game(long id) {
+        GameResult result = GameResult.values()[(int) (id % GameResult.values().length)];
+        byte[] moves = {(byte) (id % 7), (byte) (id / 7 % 7), (byte) (id / 49 % 7)};
+        return new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null, result, 1_000 + id, 0, moves);
+    }
+}
@@ -0,0 +1,174 @@
+package storage;
+
+import testing.Checks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+import static testing.Checks.checkThrows;
+
+/**
+ * Importing move strings with {@link GameImporter}, exporting them again with
+ * {@link GameExporter}, and the lines an import rejects.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class GameImporterTest {
+    private GameImporterTest() {
+    }
+
+    static void testValidLinesImported() throws IOException {
+        Path directory = Checks.temporaryDirectory();
+        Path file = write(directory, String.join("\n",
+                "# comment",
+                "",
+                "4453",                         // unfinished
+                "1212121",                      // player one wins in column 1
+                "12123242",                     // player two wins in column 2
+                "4444",                         // unfinished
+                drawnGame(),
+                " \t",                          // blank
+                "") + "\n");
+
+        try (GameDatabase database = GameDatabase.open(directory.resolve("games"))) {
+            GameImporter.Summary summary = GameImporter.importMoves(file, database, 2);
+            checkEquals(5L, summary.getImported(), "games imported");
+            checkEquals(0L, summary.getRejected(), "lines rejected");
+
+            Map<String, GameResult> results = new HashMap<>();
+            for (GameCursor games = database.cursor(); games.next(); ) {
+                results.put(moveString(games.toRecord()), games.getResult());
+            }
+            checkEquals(GameResult.UNFINISHED, results.get("4453"), "result of 4453");
+            checkEquals(GameResult.PLAYER_ONE_WIN, results.get("1212121"), "result of 1212121");
+            checkEquals(GameResult.PLAYER_TWO_WIN, results.get("12123242"), "result of 12123242");
+            checkEquals(GameResult.UNFINISHED, results.get("4444"), "result of 4444");
+            checkEquals(GameResult.DRAW, results.get(drawnGame()), "result of the full board");
+        }
+    }
+
+    static void testInvalidLinesRejected() throws IOException {
+        Path directory = Checks.temporaryDirectory();
+        String valid = "4453\n";
+        String[] invalid = {
+                "4480",                          // no column 8
+                "4a53",                          // not a digit
+                "4444444",                       // column 4 holds six pieces
+                "12121211",                      // a move after player one won
+                drawnGame() + "1",               // 43 moves
+                "4".repeat(300),                 // longer than any line the importer reads
+                "  44",                          // leading blanks
+                "44 win extra",                  // two labels
+                "44 12345678",                   // label longer than 7 bytes
+        };
+        StringBuilder text = new StringBuilder(valid);
+        for (String line : invalid) {
+            text.append(line).append('\n').append(valid);
+        }
+        Path file = write(directory, text.toString());
+
+        try (GameDatabase database = GameDatabase.open(directory.resolve("games"))) {
+            GameImporter.Summary summary = GameImporter.importMoves(file, database, 1);
+            checkEquals((long) invalid.length + 1, summary.getImported(), "valid lines imported");
+            checkEquals((long) invalid.length, summary.getRejected(), "invalid lines rejected");
+            checkEquals(invalid.length, summary.getErrors().size(), "errors reported");
+            List<String> errors = summary.getErrors();
+            check(errors.get(0).contains("invalid column at move 3"), "first error: " + errors.get(0));
+            check(errors.get(1).contains("invalid column at move 2"), "second error: " + errors.get(1));
+            check(errors.get(2).contains("column 4 is full at move 7"), "third error: " + errors.get(2));
+            check(errors.get(3).contains("move 8 after the game was won"), "fourth error: " + errors.get(3));
+            check(errors.get(4).contains("more than 42 moves"), "fifth error: " + errors.get(4));
+            check(errors.get(5).contains("more than 42 moves"), "sixth error: " + errors.get(5));
+            check(errors.get(6).contains("starts with a separator"), "seventh error: " + errors.get(6));
+            check(errors.get(7).contains("text after the label"), "eighth error: " + errors.get(7));
+            check(errors.get(8).contains("label longer than 7 bytes"), "ninth error: " + errors.get(8));
+            checkEquals((long) invalid.length + 1, database.size(), "games in the database");
+        }
+    }
+
+    static void testLabelsStored() throws IOException {
+        Path directory = Checks.temporaryDirectory();
+        Path file = write(directory, "4453 -2\n44,win\n4\t0 \r\n1\n");
+        Map<String, String> labels = new HashMap<>();
+        try (GameDatabase database = GameDatabase.open(directory.resolve("games"))) {
+            GameImporter.Summary summary = GameImporter.importMoves(file, database, 1);
+            checkEquals(4L, summary.getImported(), "games imported");
+            checkEquals(3L, summary.getLabelled(), "games stored with a label");
+            for (GameCursor games = database.cursor(); games.next(); ) {
+                labels.put(moveString(games.toRecord()), games.getLabel());
+            }
+        }
+        checkEquals("-2", labels.get("4453"), "label of 4453");
+        checkEquals("win", labels.get("44"), "label of 44");
+        checkEquals("0", labels.get("4"), "label of 4");
+        check(labels.containsKey("1") && labels.get("1") == null, "no label on 1");
+    }
+
+    static void testReadOnlyDatabaseRejected() throws IOException {
+        Path directory = Checks.temporaryDirectory();
+        Path file = write(directory, "4453\n");
+        try (GameDatabase database = GameDatabase.openReadOnly(directory.resolve("games"))) {
+            checkThrows(IllegalArgumentException.class, () -> GameImporter.importMoves(file, database, 1),
+                    "import into a read-only database");
+        }
+    }
+
+    static void testExportRoundTrip() throws IOException {
+        Path directory = Checks.temporaryDirectory();
+        String lines = "4453 -2\n1212121\n" + drawnGame() + " 0\n";
+        Path file = write(directory, lines);
+        Path exported = directory.resolve("exported.txt");
+        try (GameDatabase database = GameDatabase.open(directory.resolve("games"))) {
+            GameImporter.importMoves(file, database, 1);
+            checkEquals(3L, GameExporter.exportMoves(database, exported), "games exported");
+        }
+        checkEquals(lines, Files.readString(exported, StandardCharsets.UTF_8), "exported moves");
+    }
+
+    static void testLabelsKeptByCompaction() throws IOException {
+        Path directory = Checks.temporaryDirectory();
+        Path file = write(directory, "4453 -2\n1212121 +21\n44\n");
+        try (GameDatabase database = GameDatabase.open(directory.resolve("games"))) {
+            GameImporter.importMoves(file, database, 1);
+        }
+        GameDatabase.compact(directory.resolve("games"), true);
+
+        Path exported = directory.resolve("exported.csv");
+        try (GameDatabase database = GameDatabase.openReadOnly(directory.resolve("games"))) {
+            checkEquals(1L, GameExporter.exportResults(database, exported), "games exported");
+        }
+        List<String> rows = Files.readAllLines(exported, StandardCharsets.UTF_8);
+        checkEquals(GameExporter.CSV_HEADER, rows.get(0), "CSV header");
+        check(rows.get(1).startsWith("0,1212121,PLAYER_ONE_WIN,PLAYER_VS_PLAYER,,"), "CSV row: " + rows.get(1));
+        check(rows.get(1).endsWith(",+21"), "label column: " + rows.get(1));
+    }
+
+    /**
+     * @return 42 moves that fill the board without four in a row for either player
+     */
+    private static String drawnGame() {
+        // Columns are filled in pairs so each column alternates colours row by row, and the
+        // pairs are offset so no row or diagonal lines up four of one colour
+        return "121212" + "343434" + "565656" + "212121" + "434343" + "656565" + "777777";
+    }
+
+    private static Path write(Path directory, String text) throws IOException {
+        return Files.writeString(directory.resolve("games.txt"), text, StandardCharsets.UTF_8);
+    }
+
+    private static String moveString(GameRecord record) {
+        StringBuilder moves = new StringBuilder();
+        for (int ply = 0; ply < record.getMoveCount(); ply++) {
+            moves.append((char) ('1' + record.getMove(ply)));
+        }
+        return moves.toString();
+    }
+}
@@ -0,0 +1,150 @@
+package storage;
+
+import testing.Checks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+import static testing.Checks.checkThrows;
+
+/**
+ * Recovering the game left in a {@link GameJournal}: an unfinished game, a finished one,
+ * a journal torn by a crash mid-write and one that was never a journal.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class GameJournalTest {
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int MOVE_RECORD_BYTES = Integer.BYTES + 2 + 2;
+    private static final long START_MILLIS = 1_700_000_000_000L;
+    private static final byte[] MOVES = {3, 3, 4};
+
+    private GameJournalTest() {
+    }
+
+    static void testUnfinishedGameRecovered() throws IOException {
+        Path file = Checks.temporaryDirectory().resolve("autosave.c4j");
+        writeGame(file, false);
+
+        SavedGame game = GameJournal.recover(file);
+        check(game != null, "unfinished game recovered");
+        checkEquals(PlayerMode.PLAYER_VS_COMPUTER, game.getMode(), "mode");
+        checkEquals("Hard", game.getDifficulty(), "difficulty");
+        checkEquals("Ada", game.getPlayerOneName(), "name of player 1");
+        checkEquals("Computer", game.getPlayerTwoName(), "name of player 2");
+        checkEquals(START_MILLIS, game.getStartMillis(), "start time");
+        check(Arrays.equals(MOVES, game.getMoves()), "moves: " + Arrays.toString(game.getMoves()));
+    }
+
+    static void testBeginWithoutMovesRecovered() throws IOException {
+        Path file = Checks.temporaryDirectory().resolve("autosave.c4j");
+        try (GameJournal journal = new GameJournal(file)) {
+            journal.beginGame(PlayerMode.PLAYER_VS_PLAYER, null, "Ada", "Grace", START_MILLIS);
+        }
+
+        SavedGame game = GameJournal.recover(file);
+        check(game != null, "game without moves recovered");
+        checkEquals(PlayerMode.PLAYER_VS_PLAYER, game.getMode(), "mode");
+        checkEquals(null, game.getDifficulty(), "difficulty without a computer player");
+        checkEquals(0, game.getMoveCount(), "moves");
+    }
+
+    static void testFinishedGameNotRecovered() throws IOException {
+        Path file = Checks.temporaryDirectory().resolve("autosave.c4j");
+        writeGame(file, true);
+        checkEquals(null, GameJournal.recover(file), "game recovered after it ended");
+
+        // The next game replaces the finished one
+        try (GameJournal journal = new GameJournal(file)) {
+            journal.beginGame(PlayerMode.PLAYER_VS_PLAYER, null, "Ada", "Grace", START_MILLIS + 1);
+            journal.recordMove(0, 6);
+        }
+        SavedGame game = GameJournal.recover(file);
+        check(game != null, "game begun after a finished one recovered");
+        checkEquals(START_MILLIS + 1, game.getStartMillis(), "start time of the new game");
+        check(Arrays.equals(new byte[]{6}, game.getMoves()), "moves: " + Arrays.toString(game.getMoves()));
+    }
+
+    static void testTornMoveIgnored() throws IOException {
+        Path file = Checks.temporaryDirectory().resolve("autosave.c4j");
+        writeGame(file, false);
+        byte[] whole = Files.readAllBytes(file);
+        byte[] kept = Arrays.copyOf(MOVES, MOVES.length - 1);
+
+        for (int cut = 1; cut < MOVE_RECORD_BYTES; cut++) {
+            Files.write(file, Arrays.copyOf(whole, whole.length - cut));
+            SavedGame game = GameJournal.recover(file);
+            check(game != null, "game recovered with " + cut + " bytes of the last move missing");
+            check(Arrays.equals(kept, game.getMoves()),
+                    "moves with " + cut + " bytes missing: " + Arrays.toString(game.getMoves()));
+        }
+
+        byte[] garbled = whole.clone();
+        garbled[garbled.length - 1] ^= 1;
+        Files.write(file, garbled);
+        SavedGame game = GameJournal.recover(file);
+        check(game != null, "game recovered with a garbled last move");
+        check(Arrays.equals(kept, game.getMoves()), "moves before the garbled one: " + Arrays.toString(game.getMoves()));
+    }
+
+    static void testCorruptJournalRejected() throws IOException {
+        Path directory = Checks.temporaryDirectory();
+        Path file = directory.resolve("autosave.c4j");
+        writeGame(file, false);
+        byte[] whole = Files.readAllBytes(file);
+
+        // A checksummed BEGIN record naming a mode that does not exist
+        byte[] badMode = whole.clone();
+        badMode[FILE_HEADER_BYTES + Integer.BYTES + 2] = (byte) PlayerMode.values().length;
+        rewriteChecksum(badMode, FILE_HEADER_BYTES);
+        Files.write(file, badMode);
+        checkThrows(IOException.class, () -> GameJournal.recover(file), "journal with an unknown mode");
+
+        byte[] badType = whole.clone();
+        badType[FILE_HEADER_BYTES + Integer.BYTES] = 9;
+        rewriteChecksum(badType, FILE_HEADER_BYTES);
+        Files.write(file, badType);
+        checkThrows(IOException.class, () -> GameJournal.recover(file), "journal with an unknown record type");
+
+        byte[] badMagic = whole.clone();
+        badMagic[0] = 'X';
+        Files.write(file, badMagic);
+        checkThrows(IOException.class, () -> GameJournal.recover(file), "file that is not a journal");
+
+        checkEquals(null, GameJournal.recover(directory.resolve("missing.c4j")), "game in a missing journal");
+        Files.write(file, Arrays.copyOf(whole, FILE_HEADER_BYTES - 1));
+        checkEquals(null, GameJournal.recover(file), "game in a journal cut inside its header");
+    }
+
+    /**
+     * Journals a game against the computer with three moves, optionally finishing it.
+     */
+    private static void writeGame(Path file, boolean finished) {
+        try (GameJournal journal = new GameJournal(file)) {
+            journal.beginGame(PlayerMode.PLAYER_VS_COMPUTER, "Hard", "Ada", "Computer", START_MILLIS);
+            for (int ply = 0; ply < MOVES.length; ply++) {
+                journal.recordMove(ply, MOVES[ply]);
+            }
+            if (finished) {
+                journal.endGame();
+            }
+        }
+    }
+
+    /**
+     * Recomputes the checksum of the record at an offset after its contents were changed.
+     */
+    private static void rewriteChecksum(byte[] journal, int offset) {
+        int length = journal[offset + Integer.BYTES + 1] & 0xFF;
+        CRC32 crc = new CRC32();
+        crc.update(journal, offset + Integer.BYTES, 2 + length);
+        ByteBuffer.wrap(journal).putInt(offset, (int) crc.getValue());
+    }
+}
@@ -0,0 +1,82 @@
+package storage;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+import static testing.Checks.checkThrows;
+
+/**
+ * Encoding and decoding of {@link GameRecord}.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class GameRecordTest {
+    private static final String[] DIFFICULTIES = {null, "Easy", "Medium", "Hard"};
+
+    private GameRecordTest() {
+    }
+
+    static void testRoundTripEveryMoveCount() {
+        SplittableRandom random = new SplittableRandom(1);
+        for (int count = 0; count <= GameRecord.MAX_MOVES; count++) {
+            byte[] moves = new byte[count];
+            for (int i = 0; i < count; i++) {
+                moves[i] = (byte) random.nextInt(7);
+            }
+            PlayerMode mode = PlayerMode.values()[count % PlayerMode.values().length];
+            GameResult result = GameResult.values()[count % GameResult.values().length];
+            GameRecord record = new GameRecord(mode, DIFFICULTIES[count % DIFFICULTIES.length], result,
+                    0xFFFFFFFFL - count, 60 * count, moves);
+
+            ByteBuffer buffer = ByteBuffer.allocate(GameRecord.MAX_ENCODED_BYTES);
+            record.writeTo(buffer);
+            checkEquals(record.getEncodedLength(), buffer.position(), "encoded length of " + count + " moves");
+            buffer.flip();
+            GameRecord decoded = GameRecord.readFrom(buffer);
+            checkEquals(record, decoded, "decoded record of " + count + " moves");
+            check(!buffer.hasRemaining(), "decoding consumes exactly the encoded bytes");
+        }
+    }
+
+    static void testRecordsBackToBack() {
+        GameRecord first = new GameRecord(PlayerMode.PLAYER_VS_COMPUTER, "Hard", GameResult.PLAYER_TWO_WIN,
+                1_700_000_000L, 95, new byte[]{3, 3, 4, 4, 5});
+        GameRecord second = new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null, GameResult.UNFINISHED,
+                0, 0, new byte[0]);
+        ByteBuffer buffer = ByteBuffer.allocate(first.getEncodedLength() + second.getEncodedLength());
+        first.writeTo(buffer);
+        second.writeTo(buffer);
+        buffer.flip();
+        checkEquals(first, GameRecord.readFrom(buffer), "first record");
+        checkEquals(second, GameRecord.readFrom(buffer), "second record");
+    }
+
+    static void testDurationSaturates() {
+        GameRecord record = new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null, GameResult.DRAW,
+                0, 1_000_000, new byte[]{0});
+        checkEquals(0xFFFF, record.getDurationSeconds(), "duration");
+    }
+
+    static void testInvalidFieldsRejected() {
+        checkThrows(IllegalArgumentException.class, () -> new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null,
+                GameResult.DRAW, 0, 0, new byte[]{7}), "column 7");
+        checkThrows(IllegalArgumentException.class, () -> new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null,
+                GameResult.DRAW, 0, 0, new byte[GameRecord.MAX_MOVES + 1]), "43 moves");
+        checkThrows(IllegalArgumentException.class, () -> new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null,
+                GameResult.DRAW, -1, 0, new byte[0]), "negative start time");
+        checkThrows(IllegalArgumentException.class, () -> new GameRecord(PlayerMode.PLAYER_VS_COMPUTER,
+                "Impossible", GameResult.DRAW, 0, 0, new byte[0]), "unknown difficulty");
+    }
+
+    static void testCorruptHeaderRejected() {
+        ByteBuffer wrongVersion = ByteBuffer.allocate(GameRecord.HEADER_BYTES);
+        checkThrows(IllegalArgumentException.class, () -> GameRecord.readFrom(wrongVersion), "version 0");
+
+        ByteBuffer tooManyMoves = ByteBuffer.allocate(GameRecord.HEADER_BYTES);
+        tooManyMoves.put(0, (byte) 0x40).put(1, (byte) (GameRecord.MAX_MOVES + 1));
+        checkThrows(IllegalArgumentException.class, () -> GameRecord.readFrom(tooManyMoves), "43 moves");
+    }
+}
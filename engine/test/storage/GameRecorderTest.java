@@ -0,0 +1,198 @@
+package storage;
+
+import testing.Checks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+import static testing.Checks.checkThrows;
+
+/**
+ * Writing and reading the game log of {@link GameRecorder}, including recovery from a
+ * record torn by a crash.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class GameRecorderTest {
+    private static final int LOG_HEADER_BYTES = 8;
+    private static final int FRAME_HEADER_BYTES = 5;
+    private static final long WAIT_MILLIS = 5000;
+
+    private GameRecorderTest() {
+    }
+
+    static void testRecordedGamesReadBack() throws IOException {
+        Path log = Checks.temporaryDirectory().resolve("games.c4r");
+        List<byte[]> games = record(log, 0, 20);
+
+        List<GameRecord> read = GameRecorder.readAll(log);
+        checkEquals(games.size(), read.size(), "records read");
+        for (int i = 0; i < games.size(); i++) {
+            checkEquals(GameResult.PLAYER_ONE_WIN, read.get(i).getResult(), "result of game " + i);
+            check(Arrays.equals(games.get(i), read.get(i).getMoves()), "moves of game " + i);
+        }
+    }
+
+    static void testEveryTornTailIsDropped() throws IOException {
+        Path log = Checks.temporaryDirectory().resolve("games.c4r");
+        record(log, 0, 3);
+        byte[] complete = Files.readAllBytes(log);
+        int lastFrame = lastFrameOffset(complete);
+
+        for (int cut = lastFrame + 1; cut < complete.length; cut++) {
+            Files.write(log, Arrays.copyOf(complete, cut));
+            checkEquals(2, GameRecorder.readAll(log).size(), "records before a tail cut at byte " + cut);
+        }
+    }
+
+    static void testCorruptRecordEndsTheLog() throws IOException {
+        Path log = Checks.temporaryDirectory().resolve("games.c4r");
+        record(log, 0, 3);
+        byte[] bytes = Files.readAllBytes(log);
+        int second = LOG_HEADER_BYTES + FRAME_HEADER_BYTES + (bytes[LOG_HEADER_BYTES + 4] & 0xFF);
+        bytes[second + FRAME_HEADER_BYTES + 2] ^= 0x10; // flip a bit of the second record's start time
+        Files.write(log, bytes);
+
+        checkEquals(1, GameRecorder.readAll(log).size(), "records before the corrupt one");
+    }
+
+    static void testLogLongerThanScanBuffer() throws IOException {
+        Path log = Checks.temporaryDirectory().resolve("games.c4r");
+        // Frames of these games take 16 bytes, so the log spans several 64 KB scan buffers
+        List<byte[]> games = record(log, 0, 20_000);
+        checkEquals(games.size(), GameRecorder.readAll(log).size(), "records in a long log");
+
+        // Corrupt a record well past the first buffer; the recorder drops it and all after it
+        byte[] bytes = Files.readAllBytes(log);
+        int frame = LOG_HEADER_BYTES;
+        for (int i = 0; i < 12_345; i++) {
+            frame += FRAME_HEADER_BYTES + (bytes[frame + 4] & 0xFF);
+        }
+        bytes[frame + FRAME_HEADER_BYTES + 2] ^= 0x10;
+        Files.write(log, bytes);
+        checkEquals(12_345, GameRecorder.readAll(log).size(), "records before the corrupt one");
+
+        games = games.subList(0, 12_345);
+        games.addAll(record(log, 20_000, 3));
+        List<GameRecord> read = GameRecorder.readAll(log);
+        checkEquals(games.size(), read.size(), "records after appending past the corrupt one");
+        for (int i = 0; i < games.size(); i++) {
+            check(Arrays.equals(games.get(i), read.get(i).getMoves()), "moves of game " + i);
+        }
+    }
+
+    static void testAppendAfterTornTailIsReadable() throws IOException {
+        Path log = Checks.temporaryDirectory().resolve("games.c4r");
+        List<byte[]> games = record(log, 0, 3);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+        games.remove(games.size() - 1);
+
+        games.addAll(record(log, 3, 2));
+        List<GameRecord> read = GameRecorder.readAll(log);
+        checkEquals(games.size(), read.size(), "records after appending to a torn log");
+        for (int i = 0; i < games.size(); i++) {
+            check(Arrays.equals(games.get(i), read.get(i).getMoves()), "moves of game " + i);
+        }
+    }
+
+    static void testTornHeaderIsRewritten() throws IOException {
+        Path log = Checks.temporaryDirectory().resolve("games.c4r");
+        Files.write(log, new byte[]{0x43, 0x34});
+        record(log, 0, 1);
+        checkEquals(1, GameRecorder.readAll(log).size(), "records after rewriting a torn header");
+    }
+
+    static void testSecondRecorderLeavesLogAlone() throws IOException, InterruptedException {
+        Path log = Checks.temporaryDirectory().resolve("games.c4r");
+        GameRecorder first = new GameRecorder(log);
+        try {
+            playGame(first, 0);
+            // Wait until the first recorder has opened, and so locked, the log
+            long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+            while (!Files.exists(log) || GameRecorder.readAll(log).isEmpty()) {
+                check(System.currentTimeMillis() < deadline, "first game written in time");
+                Thread.sleep(10);
+            }
+
+            GameRecorder second = new GameRecorder(log);
+            playGame(second, 1);
+            playGame(second, 3);
+            second.close();
+            playGame(first, 2);
+        } finally {
+            first.close();
+        }
+
+        List<GameRecord> read = GameRecorder.readAll(log);
+        checkEquals(2, read.size(), "records of the first recorder");
+        checkEquals((byte) 0, read.get(0).getMoves()[0], "first column of game 0");
+        checkEquals((byte) 2, read.get(1).getMoves()[0], "first column of game 2");
+    }
+
+    static void testOtherFilesRejected() throws IOException {
+        Path file = Checks.temporaryDirectory().resolve("games.c4r");
+        Files.write(file, ByteBuffer.allocate(16).putInt(0x12345678).array());
+        checkThrows(IOException.class, () -> GameRecorder.readAll(file), "reading a file that is not a log");
+    }
+
+    /**
+     * Records games in which player one stacks four in a column, each starting in a
+     * different column, and waits for the recorder to write them.
+     *
+     * @return the moves of each game in order
+     */
+    private static List<byte[]> record(Path log, int first, int count) {
+        List<byte[]> games = new ArrayList<>();
+        GameRecorder recorder = new GameRecorder(log);
+        try {
+            for (int game = first; game < first + count; game++) {
+                games.add(playGame(recorder, game));
+            }
+        } finally {
+            recorder.close();
+        }
+        return games;
+    }
+
+    /**
+     * Records one game in which player one stacks four in the column numbered after the game.
+     *
+     * @return the moves of the game
+     */
+    private static byte[] playGame(GameRecorder recorder, int game) {
+        int col = game % 7;
+        int other = (col + 1) % 7;
+        byte[] moves = {(byte) col, (byte) other, (byte) col, (byte) other, (byte) col, (byte) other, (byte) col};
+        recorder.startGame(PlayerMode.PLAYER_VS_PLAYER, null);
+        for (byte move : moves) {
+            recorder.recordMove(move);
+        }
+        recorder.finishGame(GameResult.PLAYER_ONE_WIN);
+        return moves;
+    }
+
+    /**
+     * @return the offset of the last frame in a log's contents
+     */
+    private static int lastFrameOffset(byte[] log) {
+        int offset = LOG_HEADER_BYTES;
+        int last = offset;
+        while (offset < log.length) {
+            last = offset;
+            offset += FRAME_HEADER_BYTES + (log[offset + 4] & 0xFF);
+        }
+        return last;
+    }
+}
@@ -0,0 +1,188 @@
+package storage;
+
+import testing.Checks;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+import static testing.Checks.checkThrows;
+
+/**
+ * {@link PositionIndex} lookups checked against a scan of the database, before and after
+ * {@link GameDatabase#compact} renumbers the games, and a read-only index beside its writer.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class PositionIndexTest {
+    private static final int SLOTS_PER_SEGMENT = 64;
+    private static final String[] PROBES = {"", "4", "44", "43", "1", "7", "4453", "3344"};
+
+    private PositionIndexTest() {
+    }
+
+    static void testLookupsMatchScan() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false);
+             PositionIndex index = PositionIndex.open(PositionIndex.defaultDirectory(database))) {
+            appendRandomGames(database, new SplittableRandom(2), 300);
+            checkEquals(300L, index.update(database), "games indexed");
+            checkEquals(0L, index.update(database), "games indexed by a second update");
+            checkAgainstScan(database, index);
+        }
+    }
+
+    static void testCompactionRebuildsIndex() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        SplittableRandom random = new SplittableRandom(3);
+        long unfinished;
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false);
+             PositionIndex index = PositionIndex.open(PositionIndex.defaultDirectory(database))) {
+            unfinished = appendRandomGames(database, random, 200);
+            index.update(database);
+            checkEquals(0L, database.getGeneration(), "generation before compaction");
+        }
+        check(unfinished > 0, "some games are unfinished");
+
+        long kept = GameDatabase.compact(directory, true);
+        checkEquals(200 - unfinished, kept, "games kept by compaction");
+
+        try (GameDatabase database = GameDatabase.open(directory);
+             PositionIndex index = PositionIndex.open(PositionIndex.defaultDirectory(database))) {
+            checkEquals(1L, database.getGeneration(), "generation after compaction");
+            checkEquals(kept, database.size(), "database size after compaction");
+            for (GameCursor games = database.cursor(); games.next(); ) {
+                check(games.getResult() != GameResult.UNFINISHED, "unfinished game " + games.getId() + " kept");
+            }
+
+            // Grow past the range the old index covered, so only the generation shows it is stale
+            appendRandomGames(database, random, 200);
+            check(database.size() >= 200, "database grew past the old index");
+            checkEquals(database.size(), index.update(database), "games indexed after compaction");
+            checkAgainstScan(database, index);
+        }
+    }
+
+    static void testReadOnlyOpenLeavesFilesAlone() throws IOException {
+        Path directory = Checks.temporaryDirectory().resolve("games");
+        try (GameDatabase database = GameDatabase.open(directory, SLOTS_PER_SEGMENT, false)) {
+            Path indexDirectory = PositionIndex.defaultDirectory(database);
+            try (PositionIndex reader = PositionIndex.openReadOnly(indexDirectory)) {
+                checkEquals(0L, reader.getIndexedGames(), "games in a missing index");
+            }
+            check(!Files.exists(indexDirectory), "read-only open creates no directory");
+
+            try (PositionIndex writer = PositionIndex.open(indexDirectory)) {
+                appendRandomGames(database, new SplittableRandom(4), 100);
+                writer.update(database);
+
+                // What an update in progress looks like: a run being written, and one merged
+                // into a larger run but not yet deleted
+                Path run = onlyRun(indexDirectory);
+                Path partial = indexDirectory.resolve(run.getFileName() + ".tmp");
+                Files.copy(run, partial);
+                Path merged = indexDirectory.resolve("run-000000000000-000000000050.c4px");
+                Files.copy(run, merged);
+
+                try (PositionIndex reader = PositionIndex.openReadOnly(indexDirectory)) {
+                    checkEquals(100L, reader.getIndexedGames(), "games seen by a reader");
+                    checkAgainstScan(database, reader);
+                    checkThrows(IllegalStateException.class, () -> reader.update(database),
+                            "update of a read-only index");
+                }
+                check(Files.exists(partial), "reader leaves the run being written");
+                check(Files.exists(merged), "reader leaves the merged run");
+
+                try (PositionIndex reopened = PositionIndex.open(indexDirectory)) {
+                    checkEquals(100L, reopened.getIndexedGames(), "games seen by the writer");
+                }
+                check(!Files.exists(partial), "writer removes the run being written");
+                check(!Files.exists(merged), "writer removes the merged run");
+            }
+        }
+    }
+
+    private static Path onlyRun(Path indexDirectory) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(indexDirectory, "run-*.c4px")) {
+            stream.forEach(runs::add);
+        }
+        checkEquals(1, runs.size(), "runs after one update");
+        return runs.get(0);
+    }
+
+    /**
+     * Compares the index with a scan of every game for a few positions.
+     */
+    private static void checkAgainstScan(GameDatabase database, PositionIndex index) {
+        for (String probe : PROBES) {
+            long key = PositionKey.ofMoves(probe);
+            List<Long> expected = new ArrayList<>();
+            long[] results = new long[GameResult.values().length];
+            for (GameCursor games = database.cursor(); games.next(); ) {
+                if (reaches(games.toRecord(), key)) {
+                    expected.add(games.getId());
+                    results[games.getResult().ordinal()]++;
+                }
+            }
+
+            PositionStats stats = index.lookup(key);
+            checkEquals((long) expected.size(), stats.getGames(), "games through \"" + probe + "\"");
+            for (GameResult result : GameResult.values()) {
+                checkEquals(results[result.ordinal()], stats.getCount(result), result + " through \"" + probe + "\"");
+            }
+            long[] found = index.findGames(key, Integer.MAX_VALUE);
+            checkEquals(expected.size(), found.length, "ids found through \"" + probe + "\"");
+            for (int i = 0; i < found.length; i++) {
+                checkEquals(expected.get(i), found[i], "id " + i + " through \"" + probe + "\"");
+            }
+        }
+    }
+
+    /**
+     * @return true if some prefix of the game's moves reaches the position, or its mirror image
+     */
+    private static boolean reaches(GameRecord record, long key) {
+        StringBuilder moves = new StringBuilder();
+        if (PositionKey.ofMoves(moves) == key) return true;
+        for (int ply = 0; ply < record.getMoveCount(); ply++) {
+            moves.append((char) ('1' + record.getMove(ply)));
+            if (PositionKey.ofMoves(moves) == key) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Appends random legal games, many of them opening in the centre so the probes match.
+     *
+     * @return the number of unfinished games appended
+     */
+    private static long appendRandomGames(GameDatabase database, SplittableRandom random, int count) {
+        GameResult[] results = GameResult.values();
+        long unfinished = 0;
+        for (int game = 0; game < count; game++) {
+            int length = random.nextInt(GameRecord.MAX_MOVES + 1);
+            byte[] moves = new byte[length];
+            int[] heights = new int[PositionKey.COLUMNS];
+            for (int ply = 0; ply < length; ply++) {
+                int col = ply < 2 && random.nextBoolean() ? 3 : random.nextInt(PositionKey.COLUMNS);
+                while (heights[col] == PositionKey.ROWS) {
+                    col = (col + 1) % PositionKey.COLUMNS;
+                }
+                heights[col]++;
+                moves[ply] = (byte) col;
+            }
+            GameResult result = results[random.nextInt(results.length)];
+            if (result == GameResult.UNFINISHED) unfinished++;
+            database.append(new GameRecord(PlayerMode.PLAYER_VS_PLAYER, null, result, game, 0, moves));
+        }
+        return unfinished;
+    }
+}
@@ -0,0 +1,64 @@
+package storage;
+
+import logic.GameLogic;
+
+import java.util.SplittableRandom;
+
+import static testing.Checks.check;
+import static testing.Checks.checkEquals;
+
+/**
+ * The bitboard rules of {@link PositionKey}, which {@link GameImporter} validates games
+ * with, checked against the {@link GameLogic} rules the game itself plays by.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class PositionKeyTest {
+    private static final int GAMES = 5000;
+
+    private PositionKeyTest() {
+    }
+
+    static void testRulesMatchGameLogic() {
+        SplittableRandom random = new SplittableRandom(5);
+        int wins = 0;
+        int draws = 0;
+        for (int game = 0; game < GAMES; game++) {
+            GameLogic logic = new GameLogic();
+            long[] pieces = new long[3];
+            long mask = 0;
+            StringBuilder moves = new StringBuilder();
+            for (int ply = 0; ; ply++) {
+                for (int col = 0; col < PositionKey.COLUMNS; col++) {
+                    checkEquals(logic.isColumnFull(col), PositionKey.isColumnFull(mask, col),
+                            "column " + (col + 1) + " full after \"" + moves + "\"");
+                }
+                if (logic.isBoardFull()) {
+                    draws++;
+                    break;
+                }
+
+                int col = random.nextInt(PositionKey.COLUMNS);
+                while (logic.isColumnFull(col)) {
+                    col = (col + 1) % PositionKey.COLUMNS;
+                }
+                int player = ply % 2 + 1;
+                check(logic.makeMove(col, player), "move " + (col + 1) + " after \"" + moves + "\"");
+                long next = PositionKey.play(mask, col);
+                pieces[player] |= next ^ mask;
+                mask = next;
+                moves.append(col + 1);
+
+                boolean won = logic.checkWinState(player);
+                checkEquals(won, PositionKey.hasFour(pieces[player]), "four in a row in \"" + moves + "\"");
+                checkEquals(PositionKey.ofMoves(moves), PositionKey.of(logic.getBoard()), "key of \"" + moves + "\"");
+                if (won) {
+                    wins++;
+                    break;
+                }
+            }
+        }
+        check(wins > 0 && draws > 0, "both wins (" + wins + ") and draws (" + draws + ") were played");
+    }
+}
@@ -0,0 +1,101 @@
+package testing;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * Assertions and fixtures shared by the engine tests.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public final class Checks {
+    private Checks() {
+    }
+
+    /**
+     * Fails the current test unless a condition holds.
+     *
+     * @param condition the condition
+     * @param message   what was expected
+     */
+    public static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    /**
+     * Fails the current test unless two values are equal.
+     *
+     * @param expected the expected value
+     * @param actual   the actual value
+     * @param what     what the values are
+     */
+    public static void checkEquals(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    /**
+     * Fails the current test unless the action throws the given exception.
+     *
+     * @param type   the expected exception type
+     * @param action the action
+     * @param what   what the action is
+     */
+    public static void checkThrows(Class<? extends Throwable> type, Action action, String what) {
+        try {
+            action.run();
+        } catch (Throwable e) {
+            if (type.isInstance(e)) return;
+            throw new AssertionError(what + ": expected " + type.getSimpleName() + " but got " + e, e);
+        }
+        throw new AssertionError(what + ": expected " + type.getSimpleName());
+    }
+
+    /**
+     * Creates an empty temporary directory that is deleted when the JVM exits.
+     *
+     * @return the directory
+     * @throws IOException if it cannot be created
+     */
+    public static Path temporaryDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("connect4-test");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteRecursively(directory)));
+        return directory;
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    Files.delete(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Failed to delete test directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * An action that is expected to throw.
+     */
+    public interface Action {
+        void run() throws Exception;
+    }
+}
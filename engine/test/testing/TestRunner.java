@@ -0,0 +1,56 @@
+package testing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Runs the engine tests without a test framework.
+ * <pre>
+ * TestRunner &lt;test class&gt;...
+ * </pre>
+ * Every static method whose name starts with {@code test} in the given classes is called
+ * in name order, and any exception it throws fails it. Test classes live in the package
+ * they test so they can reach its package-private classes. Exits with status 1 if a test
+ * failed.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public final class TestRunner {
+    private TestRunner() {
+    }
+
+    public static void main(String[] args) throws ClassNotFoundException {
+        int passed = 0;
+        int failed = 0;
+        for (String className : args) {
+            Class<?> suite = Class.forName(className);
+            Method[] methods = suite.getDeclaredMethods();
+            Arrays.sort(methods, Comparator.comparing(Method::getName));
+            for (Method method : methods) {
+                if (!method.getName().startsWith("test") || !Modifier.isStatic(method.getModifiers())) continue;
+                String name = suite.getSimpleName() + "." + method.getName();
+                try {
+                    method.setAccessible(true);
+                    method.invoke(null);
+                    passed++;
+                    System.out.println("PASS " + name);
+                } catch (InvocationTargetException e) {
+                    failed++;
+                    System.out.println("FAIL " + name + ": " + e.getCause());
+                    e.getCause().printStackTrace(System.out);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    failed++;
+                    System.out.println("FAIL " + name + ": " + e);
+                }
+            }
+        }
+        System.out.printf("%d passed, %d failed%n", passed, failed);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package animations;
+
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Central registry for every AnimationTimer and Animation started by the game.
+ * Each animation is registered against an owner node; once that node leaves its
+ * scene, or its scene is replaced on the stage, all of the owner's animations are
+ * stopped so loops never keep running against detached panes.
+ * Timers can also be suspended while idle and resumed on interaction.
+ * All methods must be called on the JavaFX Application Thread.
+ */
+public final class AnimationRegistry {
+    private static final Map<AnimationTimer, Node> timerOwners = new HashMap<>();
+    private static final Set<AnimationTimer> runningTimers = new HashSet<>();
+    private static final Map<Animation, Node> animationOwners = new HashMap<>();
+    private static final Set<Node> watchedOwners = new HashSet<>();
+    private static final ChangeListener<Animation.Status> STOP_LISTENER = (obs, oldStatus, newStatus) -> {
+        if (newStatus == Animation.Status.STOPPED) {
+            animationOwners.remove(((ReadOnlyProperty<?>) obs).getBean());
+        }
+    };
+
+    private AnimationRegistry() {
+        // Static registry, not instantiable
+    }
+
+    /**
+     * Registers and starts a timer owned by the given node.
+     *
+     * @param owner The node whose scene the timer animates.
+     * @param timer The timer to start.
+     */
+    public static void startTimer(Node owner, AnimationTimer timer) {
+        timerOwners.put(timer, owner);
+        watch(owner);
+        timer.start();
+        runningTimers.add(timer);
+    }
+
+    /**
+     * Stops a registered timer without unregistering it, so it can be resumed
+     * later with {@link #resumeTimer}. Used by loops that have nothing to animate.
+     *
+     * @param timer The timer to suspend.
+     */
+    public static void suspendTimer(AnimationTimer timer) {
+        if (runningTimers.remove(timer)) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Restarts a suspended timer. Does nothing if the timer is running or was
+     * stopped because its owner left the scene.
+     *
+     * @param timer The timer to resume.
+     */
+    public static void resumeTimer(AnimationTimer timer) {
+        if (timerOwners.containsKey(timer) && runningTimers.add(timer)) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Stops and unregisters a timer.
+     *
+     * @param timer The timer to stop.
+     */
+    public static void stopTimer(AnimationTimer timer) {
+        timer.stop();
+        runningTimers.remove(timer);
+        timerOwners.remove(timer);
+    }
+
+    /**
+     * Registers and plays an animation owned by the given node. The animation is
+     * unregistered automatically once it stops or finishes.
+     *
+     * @param owner     The node whose scene the animation belongs to.
+     * @param animation The animation to play.
+     */
+    public static void play(Node owner, Animation animation) {
+        animationOwners.put(animation, owner);
+        watch(owner);
+        // Re-adding keeps a single listener on animations that are replayed
+        animation.statusProperty().removeListener(STOP_LISTENER);
+        animation.statusProperty().addListener(STOP_LISTENER);
+        animation.play();
+    }
+
+    /**
+     * Returns whether a timer is registered, running or suspended. Timers are
+     * unregistered when stopped, including when their owner leaves its scene.
+     *
+     * @param timer The timer to look up.
+     * @return true if the timer can be resumed with {@link #resumeTimer}
+     */
+    public static boolean isRegistered(AnimationTimer timer) {
+        return timerOwners.containsKey(timer);
+    }
+
+    /**
+     * @return the number of timers currently running (suspended timers excluded)
+     */
+    public static int getActiveTimerCount() {
+        return runningTimers.size();
+    }
+
+    /**
+     * @return the number of registered animations that have not yet finished
+     */
+    public static int getActiveAnimationCount() {
+        return animationOwners.size();
+    }
+
+    /**
+     * Stops and unregisters every timer and animation owned by the given node.
+     *
+     * @param owner The owner node.
+     */
+    public static void stopAll(Node owner) {
+        List<AnimationTimer> timers = new ArrayList<>();
+        timerOwners.forEach((timer, node) -> {
+            if (node == owner) timers.add(timer);
+        });
+        timers.forEach(AnimationRegistry::stopTimer);
+
+        List<Animation> animations = new ArrayList<>();
+        animationOwners.forEach((animation, node) -> {
+            if (node == owner) animations.add(animation);
+        });
+        // Stopping fires the status listener, which unregisters each animation
+        animations.forEach(Animation::stop);
+
+        watchedOwners.remove(owner);
+    }
+
+    /**
+     * Installs listeners that stop the owner's animations when it is detached:
+     * either removed from its scene (e.g. the scene root was swapped) or its
+     * scene was replaced on the window.
+     *
+     * @param owner The owner node to watch.
+     */
+    private static void watch(Node owner) {
+        if (!watchedOwners.add(owner)) return;
+
+        ChangeListener<Window> windowListener = (obs, oldWindow, newWindow) -> {
+            if (newWindow == null && watchedOwners.contains(owner)) {
+                stopAll(owner);
+            }
+        };
+
+        Scene current = owner.getScene();
+        if (current != null) {
+            current.windowProperty().addListener(windowListener);
+        }
+
+        owner.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene != null) {
+                oldScene.windowProperty().removeListener(windowListener);
+            }
+            if (newScene == null) {
+                if (oldScene != null && watchedOwners.contains(owner)) {
+                    stopAll(owner);
+                }
+            } else {
+                newScene.windowProperty().addListener(windowListener);
+            }
+        });
+    }
+}
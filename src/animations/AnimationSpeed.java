@@ -0,0 +1,41 @@
+package animations;
+
+/**
+ * Playback speeds for game animations. The scale multiplies every drop
+ * animation duration and the pause before the computer moves; INSTANT skips
+ * both entirely for rapid play and replays.
+ */
+public enum AnimationSpeed {
+    NORMAL("Normal", 1.0),
+    FAST("Fast", 0.35),
+    INSTANT("Instant", 0.0);
+
+    private final String label;
+    private final double durationScale;
+
+    AnimationSpeed(String label, double durationScale) {
+        this.label = label;
+        this.durationScale = durationScale;
+    }
+
+    /**
+     * @return the name shown in menus
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the factor applied to animation and delay durations
+     */
+    public double getDurationScale() {
+        return durationScale;
+    }
+
+    /**
+     * @return true if animations and delays should be skipped
+     */
+    public boolean isInstant() {
+        return durationScale == 0.0;
+    }
+}
@@ -0,0 +1,23 @@
+package animations;
+
+/**
+ * A visual effect on the game board that is advanced once per frame by the
+ * {@link EffectScheduler} instead of running its own timer.
+ */
+public interface BoardEffect {
+
+    /**
+     * @return the priority used to decide which effects degrade first
+     */
+    EffectPriority getPriority();
+
+    /**
+     * Advances the effect by one frame.
+     *
+     * @param elapsedSeconds Time since the previous frame, in seconds.
+     * @param quality        Fraction of full detail to render, from 0 (minimum) to 1 (full);
+     *                       effects should scale particle counts and similar costs by it.
+     * @return true to keep running, false once the effect has finished or gone idle
+     */
+    boolean update(double elapsedSeconds, double quality);
+}
@@ -0,0 +1,82 @@
+package animations;
+
+import javafx.animation.Interpolator;
+
+/**
+ * An interpolator describing a whole piece drop in one curve: an eased fall
+ * followed by three decaying bounces. The curve is sampled once into a lookup
+ * table when constructed, so a single transition can play the complete drop
+ * without chaining one transition per bounce.
+ */
+final class BounceInterpolator extends Interpolator {
+    // Bounce heights in pixels above the resting position, and their half-durations in ms
+    private static final double[] BOUNCE_HEIGHTS = {12, 6, 3};
+    private static final double[] BOUNCE_HALF_MILLIS = {100, 80, 60};
+    private static final int SAMPLES = 512;
+
+    private final double[] table = new double[SAMPLES + 1];
+    private final double totalMillis;
+
+    /**
+     * Builds the curve for a drop of the given distance and fall duration.
+     *
+     * @param distance   The total fall distance in pixels.
+     * @param fallMillis The duration of the fall before the first bounce.
+     */
+    BounceInterpolator(double distance, double fallMillis) {
+        double bounceMillis = 0;
+        for (double half : BOUNCE_HALF_MILLIS) {
+            bounceMillis += 2 * half;
+        }
+        this.totalMillis = fallMillis + bounceMillis;
+
+        for (int i = 0; i <= SAMPLES; i++) {
+            table[i] = sample(i * totalMillis / SAMPLES, distance, fallMillis);
+        }
+    }
+
+    /**
+     * @return the unscaled duration of the whole drop in milliseconds
+     */
+    double getTotalMillis() {
+        return totalMillis;
+    }
+
+    @Override
+    protected double curve(double t) {
+        double pos = t * SAMPLES;
+        int index = (int) pos;
+        if (index >= SAMPLES) return table[SAMPLES];
+        double frac = pos - index;
+        return table[index] + (table[index + 1] - table[index]) * frac;
+    }
+
+    /**
+     * Evaluates the drop at a point in time, as a fraction of the fall distance.
+     *
+     * @param millis     Time since the drop started.
+     * @param distance   The total fall distance in pixels.
+     * @param fallMillis The duration of the fall.
+     * @return 0 at the start position, 1 at the resting position
+     */
+    private static double sample(double millis, double distance, double fallMillis) {
+        if (millis < fallMillis) {
+            return EASE_OUT.interpolate(0.0, 1.0, millis / fallMillis);
+        }
+
+        double elapsed = millis - fallMillis;
+        for (int i = 0; i < BOUNCE_HEIGHTS.length; i++) {
+            double half = BOUNCE_HALF_MILLIS[i];
+            double peak = 1.0 - BOUNCE_HEIGHTS[i] / distance;
+            if (elapsed < half) {
+                return EASE_BOTH.interpolate(1.0, peak, elapsed / half);
+            }
+            elapsed -= half;
+            if (elapsed < half) {
+                return EASE_BOTH.interpolate(peak, 1.0, elapsed / half);
+            }
+            elapsed -= half;
+        }
+        return 1.0;
+    }
+}
@@ -1,161 +1,241 @@
 package animations;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Random;
-import javafx.animation.Animation;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.ParallelTransition;
-import javafx.animation.PathTransition;
-import javafx.animation.RotateTransition;
-import javafx.animation.Timeline;
+import javafx.geometry.Point2D;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.shape.Circle;
-import javafx.scene.shape.MoveTo;
-import javafx.scene.shape.Path;
-import javafx.scene.shape.QuadCurveTo;
 import javafx.scene.shape.Rectangle;
-import javafx.util.Duration;
 
 /**
  * ConfettiAnimator handles visual effects related to confetti animations,
  * including falling confetti and explosion-style bursts from game pieces.
+ * <p>
+ * All confetti is simulated as one low-priority particle effect on the board's
+ * {@link EffectScheduler}. Particles are drawn in a dedicated layer and their
+ * Rectangle nodes are pooled, so a burst adds no scene-graph churn. When frames run
+ * over budget the scheduler lowers the effect's quality, which reduces the spawn
+ * rate, burst size and maximum number of live particles.
+ * </p>
  */
 public class ConfettiAnimator {
+    private static final double SPAWN_PER_SECOND = 20;
+    private static final int BURST_PARTICLES_PER_PIECE = 10;
+    private static final int MAX_PARTICLES = 600;
+    private static final double GRAVITY = 400;    // px/s^2
+    private static final double DRAG = 2.0;       // 1/s, gives a terminal fall speed of 200 px/s
+    private static final double OFFSCREEN_MARGIN = 50;
+
     private final StackPane root;
     private final Pane rollingContainer;
-    private final List<RollingPiece> rollingPieces;
-    private final List<Animation> activeConfettiAnimations = new ArrayList<>();
+    private final MovingPieceAnimator movingPieceAnimator;
+    private final EffectScheduler effectScheduler;
+    private final Pane particleLayer = new Pane();
+    private final List<Particle> particles = new ArrayList<>();
+    private final Deque<Rectangle> pool = new ArrayDeque<>();
+    private final ConfettiEffect effect = new ConfettiEffect();
     private final Random random = new Random();
+    private boolean raining;
 
     /**
      * Constructs a ConfettiAnimator.
      *
-     * @param root              The root StackPane for the scene.
-     * @param rollingContainer  The Pane containing rolling pieces.
-     * @param rollingPieces     The list of animated rolling game pieces.
+     * @param root                The root StackPane for the scene.
+     * @param rollingContainer    The Pane containing rolling pieces.
+     * @param movingPieceAnimator The animator owning the rolling pieces that explode on a win.
+     * @param effectScheduler     The board's effect scheduler.
      */
-    public ConfettiAnimator(StackPane root, Pane rollingContainer, List<RollingPiece> rollingPieces) {
+    public ConfettiAnimator(StackPane root, Pane rollingContainer,
+                            MovingPieceAnimator movingPieceAnimator, EffectScheduler effectScheduler) {
         this.root = root;
         this.rollingContainer = rollingContainer;
-        this.rollingPieces = new ArrayList<>(rollingPieces);
-
+        this.movingPieceAnimator = movingPieceAnimator;
+        this.effectScheduler = effectScheduler;
+        particleLayer.setMouseTransparent(true);
     }
 
     /**
      * Starts an ongoing confetti animation by generating falling confetti pieces.
      */
     public void startConfettiAnimation() {
-        Timeline timeline = new Timeline(new KeyFrame(Duration.millis(250), e -> {
-            for (int i = 0; i < 5; i++) {
-                double width = 4 + random.nextDouble() * 4;
-                double height = 8 + random.nextDouble() * 4;
-                Rectangle confetti = new Rectangle(width, height, Color.color(
-                        random.nextDouble(), random.nextDouble(), random.nextDouble()));
-
-                confetti.setTranslateX(random.nextDouble() * root.getWidth() - root.getWidth() / 2);
-                confetti.setTranslateY(-root.getHeight() / 2 - 20 - random.nextDouble() * 30);
-
-                root.getChildren().add(confetti);
-
-                // Path for falling effect
-                Path path = new Path();
-                path.getElements().add(new MoveTo(confetti.getTranslateX(), confetti.getTranslateY()));
-
-                double controlX = confetti.getTranslateX() + (random.nextDouble() - 0.5) * 100;
-                double controlY = root.getHeight() / 2 + random.nextDouble() * 100;
-                double endX = confetti.getTranslateX() + (random.nextDouble() - 0.5) * 100;
-                double endY = root.getHeight();
-
-                path.getElements().add(new QuadCurveTo(controlX, controlY, endX, endY));
-
-                PathTransition fall = new PathTransition(Duration.seconds(3 + random.nextDouble()), path, confetti);
-                fall.setInterpolator(Interpolator.EASE_OUT);
-
-                RotateTransition spin = new RotateTransition(Duration.seconds(3), confetti);
-                spin.setByAngle(360);
-                spin.setCycleCount(Animation.INDEFINITE);
-
-                ParallelTransition drop = new ParallelTransition(confetti, fall, spin);
-                drop.setOnFinished(ev -> root.getChildren().remove(confetti));
-                drop.play();
-
-                activeConfettiAnimations.add(drop);
-            }
-        }));
-
-        timeline.setCycleCount(Animation.INDEFINITE);
-        timeline.play();
-        activeConfettiAnimations.add(timeline);
+        attachLayer();
+        raining = true;
+        effectScheduler.add(effect);
     }
 
     /**
      * Creates a burst of confetti from each rolling piece and removes them from the scene.
      */
     public void explodeRollingPiecesIntoConfetti() {
-        for (RollingPiece rp : rollingPieces) {
+        attachLayer();
+        double quality = effectScheduler.getQuality(EffectPriority.LOW);
+        int perPiece = Math.max(1, (int) Math.round(BURST_PARTICLES_PER_PIECE * quality));
+
+        for (RollingPiece rp : movingPieceAnimator.removeAllPieces()) {
             Circle circle = rp.circle;
-            double startX = circle.getLayoutX();
-            double startY = circle.getLayoutY();
+            Point2D start = particleLayer.sceneToLocal(
+                    circle.localToScene(circle.getCenterX(), circle.getCenterY()));
             rollingContainer.getChildren().remove(circle);
+            if (!circle.isVisible()) continue; // hidden at reduced quality
 
-            for (int i = 0; i < 10; i++) {
-                Rectangle confetti = new Rectangle(4, 8);
-                confetti.setFill(circle.getFill());
-                confetti.setTranslateX(startX);
-                confetti.setTranslateY(startY);
-
-                root.getChildren().add(confetti);
-
-                // Create explosion trajectory
-                Path path = new Path(new MoveTo(startX, startY));
+            for (int i = 0; i < perPiece; i++) {
                 double angle = Math.toRadians(random.nextDouble() * 360);
-                double radius = 80 + random.nextDouble() * 40;
-                double midX = startX + Math.cos(angle) * radius;
-                double midY = startY + Math.sin(angle) * radius;
-
-                path.getElements().add(new QuadCurveTo(
-                        (startX + midX) / 2 + (random.nextDouble() - 0.5) * 40,
-                        startY - 80,
-                        midX,
-                        midY
-                ));
-
-                double fallX = midX + (random.nextDouble() - 0.5) * 60;
-                double fallY = root.getHeight() + 100;
-
-                path.getElements().add(new QuadCurveTo(
-                        (midX + fallX) / 2,
-                        midY + 100,
-                        fallX,
-                        fallY
-                ));
-
-                PathTransition fall = new PathTransition(Duration.seconds(3 + random.nextDouble()), path, confetti);
-                fall.setInterpolator(Interpolator.EASE_IN);
-
-                RotateTransition spin = new RotateTransition(Duration.seconds(2), confetti);
-                spin.setByAngle(360 * (random.nextBoolean() ? 1 : -1));
-                spin.setCycleCount(Animation.INDEFINITE);
-
-                ParallelTransition explosion = new ParallelTransition(confetti, fall, spin);
-                explosion.setOnFinished(e -> root.getChildren().remove(confetti));
-                explosion.play();
+                double speed = 150 + random.nextDouble() * 100;
+                spawn(start.getX(), start.getY(),
+                        Math.cos(angle) * speed, Math.sin(angle) * speed - 150,
+                        4, 8, circle.getFill());
             }
         }
 
-        rollingPieces.clear();
+        effectScheduler.add(effect);
     }
 
     /**
      * Stops all confetti animations and clears the confetti pane.
      */
     public void stopConfettiAnimation() {
-        activeConfettiAnimations.forEach(Animation::stop);
-        activeConfettiAnimations.clear();
+        raining = false;
+        while (!particles.isEmpty()) {
+            retire(particles.size() - 1);
+        }
+        effectScheduler.remove(effect);
         rollingContainer.getChildren().clear();
     }
+
+    /**
+     * Adds the particle layer on top of the board if it is not already there.
+     */
+    private void attachLayer() {
+        if (particleLayer.getParent() != root) {
+            root.getChildren().add(particleLayer);
+        }
+        particleLayer.toFront();
+    }
+
+    /**
+     * Spawns a single falling confetti piece just above the top edge.
+     */
+    private void spawnFalling() {
+        spawn(random.nextDouble() * root.getWidth(),
+                -20 - random.nextDouble() * 30,
+                (random.nextDouble() - 0.5) * 60,
+                50 + random.nextDouble() * 50,
+                4 + random.nextDouble() * 4,
+                8 + random.nextDouble() * 4,
+                Color.color(random.nextDouble(), random.nextDouble(), random.nextDouble()));
+    }
+
+    /**
+     * Activates a pooled rectangle as a new particle.
+     */
+    private void spawn(double x, double y, double vx, double vy, double width, double height, Paint fill) {
+        Rectangle node = pool.poll();
+        if (node == null) {
+            node = new Rectangle();
+            particleLayer.getChildren().add(node);
+        }
+        node.setWidth(width);
+        node.setHeight(height);
+        node.setFill(fill);
+        node.setVisible(true);
+
+        Particle p = new Particle(node, x, y, vx, vy, (random.nextBoolean() ? 1 : -1) * (120 + random.nextDouble() * 120));
+        p.apply();
+        particles.add(p);
+    }
+
+    /**
+     * Hides a live particle and returns its rectangle to the pool.
+     *
+     * @param index the particle's index in the live list
+     */
+    private void retire(int index) {
+        Particle p = particles.get(index);
+        // Swap-remove: particle order does not matter
+        particles.set(index, particles.get(particles.size() - 1));
+        particles.remove(particles.size() - 1);
+        p.node.setVisible(false);
+        pool.push(p.node);
+    }
+
+    /**
+     * A single confetti piece simulated with gravity, drag and spin.
+     */
+    private static final class Particle {
+        final Rectangle node;
+        double x;
+        double y;
+        double vx;
+        double vy;
+        final double spin; // degrees per second
+
+        Particle(Rectangle node, double x, double y, double vx, double vy, double spin) {
+            this.node = node;
+            this.x = x;
+            this.y = y;
+            this.vx = vx;
+            this.vy = vy;
+            this.spin = spin;
+        }
+
+        void step(double dt) {
+            vx -= DRAG * vx * dt;
+            vy += (GRAVITY - DRAG * vy) * dt;
+            x += vx * dt;
+            y += vy * dt;
+            node.setRotate(node.getRotate() + spin * dt);
+            apply();
+        }
+
+        void apply() {
+            node.setTranslateX(x);
+            node.setTranslateY(y);
+        }
+    }
+
+    /**
+     * The low-priority effect that spawns, moves and culls all confetti.
+     */
+    private final class ConfettiEffect implements BoardEffect {
+        private double spawnBudget;
+
+        @Override
+        public EffectPriority getPriority() {
+            return EffectPriority.LOW;
+        }
+
+        @Override
+        public boolean update(double elapsedSeconds, double quality) {
+            if (raining) {
+                spawnBudget += elapsedSeconds * SPAWN_PER_SECOND * quality;
+                while (spawnBudget >= 1) {
+                    spawnFalling();
+                    spawnBudget--;
+                }
+            }
+
+            // Shed particles first when the scheduler lowers quality
+            int cap = (int) (MAX_PARTICLES * quality);
+            while (particles.size() > cap) {
+                retire(particles.size() - 1);
+            }
+
+            double bottom = root.getHeight() + OFFSCREEN_MARGIN;
+            for (int i = particles.size() - 1; i >= 0; i--) {
+                Particle p = particles.get(i);
+                p.step(elapsedSeconds);
+                if (p.y > bottom) {
+                    retire(i);
+                }
+            }
+
+            return raining || !particles.isEmpty();
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package animations;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for one piece dropped by {@link GameAnimator}, from the
+ * request to the end of the animation. Disabled unless a recording enables
+ * {@code connect4.DropAnimation}.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+@Name("connect4.DropAnimation")
+@Label("Drop Animation")
+@Category({"Connect 4", "JavaFX"})
+@Description("A falling piece animated onto the board")
+@StackTrace(false)
+final class DropAnimationEvent extends Event {
+    @Label("Column")
+    int column;
+
+    @Label("Row")
+    int row;
+
+    @Label("Speed")
+    String speed;
+
+    @Label("Cancelled")
+    @Description("True if the drop was interrupted before it landed")
+    boolean cancelled;
+}
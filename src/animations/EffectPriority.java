@@ -0,0 +1,15 @@
+package animations;
+
+/**
+ * Priorities for board effects driven by the {@link EffectScheduler}.
+ * When frames run over budget, LOW effects are degraded first, then MEDIUM;
+ * HIGH effects always run at full quality.
+ */
+public enum EffectPriority {
+    /** Gameplay feedback that must stay intact, such as the win highlight. */
+    HIGH,
+    /** Ambient motion such as the rolling-piece physics. */
+    MEDIUM,
+    /** Decorative particles such as confetti and explosion bursts. */
+    LOW
+}
@@ -0,0 +1,162 @@
+package animations;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drives every board effect from a single AnimationTimer so they share one clock
+ * instead of competing for the pulse with their own timelines.
+ * <p>
+ * The scheduler keeps a smoothed average of the time the effects' updates take each
+ * frame, measured around the update calls rather than between pulses, so a display
+ * with a low refresh rate or an idle board never counts against it. While the average
+ * exceeds the work budget, the quality passed to LOW priority effects is reduced step
+ * by step; only once LOW effects are at their minimum are MEDIUM effects degraded.
+ * Quality recovers gradually once the work is comfortably within budget again. The
+ * timer is suspended whenever no effect is running.
+ * </p>
+ */
+public class EffectScheduler {
+    // A quarter of a 60 Hz frame, leaving the rest for layout, rendering and the game
+    private static final double WORK_BUDGET_SECONDS = 0.25 / 60.0;
+    private static final double RECOVER_THRESHOLD_SECONDS = 0.8 * WORK_BUDGET_SECONDS;
+    private static final double MAX_ELAPSED_SECONDS = 0.1;
+    private static final double SMOOTHING = 0.1;
+    private static final double DEGRADE_STEP = 0.05;
+    private static final double RECOVER_STEP = 0.01;
+    private static final double MIN_QUALITY = 0.2;
+
+    private final Node owner;
+    private final List<BoardEffect> effects = new ArrayList<>();
+    private final List<BoardEffect> pending = new ArrayList<>();
+    private double averageWorkSeconds;
+    private double lowQuality = 1.0;
+    private double mediumQuality = 1.0;
+    private long lastNanos = -1;
+
+    private final AnimationTimer clock = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            tick(now);
+        }
+    };
+
+    /**
+     * Constructs a scheduler whose clock is stopped when the owner leaves its scene.
+     * The clock is registered again by the next {@link #add} once the owner is back.
+     *
+     * @param owner the node the effects are drawn in, usually the board's root pane
+     */
+    public EffectScheduler(Node owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Adds an effect to be updated every frame until it reports it has finished.
+     * Adding an effect that is already running has no effect.
+     *
+     * @param effect the effect to run
+     */
+    public void add(BoardEffect effect) {
+        if (effects.contains(effect) || pending.contains(effect)) return;
+        pending.add(effect);
+
+        if (!AnimationRegistry.isRegistered(clock)) {
+            lastNanos = -1;
+            AnimationRegistry.startTimer(owner, clock);
+        } else {
+            AnimationRegistry.resumeTimer(clock);
+        }
+    }
+
+    /**
+     * Removes every effect and suspends the clock, e.g. when a board is reused for a new game.
+     */
+    public void clear() {
+        effects.clear();
+        pending.clear();
+        AnimationRegistry.suspendTimer(clock);
+        lastNanos = -1;
+    }
+
+    /**
+     * Removes an effect so it is no longer updated.
+     *
+     * @param effect the effect to remove
+     */
+    public void remove(BoardEffect effect) {
+        effects.remove(effect);
+        pending.remove(effect);
+    }
+
+    /**
+     * @return the number of effects currently being updated
+     */
+    public int getEffectCount() {
+        return effects.size() + pending.size();
+    }
+
+    /**
+     * Returns the quality currently given to effects of a priority.
+     *
+     * @param priority the effect priority
+     * @return a value between the minimum quality and 1
+     */
+    public double getQuality(EffectPriority priority) {
+        return switch (priority) {
+            case HIGH -> 1.0;
+            case MEDIUM -> mediumQuality;
+            case LOW -> lowQuality;
+        };
+    }
+
+    /**
+     * Advances every effect by one frame and adjusts quality against the budget.
+     *
+     * @param now the pulse timestamp in nanoseconds
+     */
+    private void tick(long now) {
+        double elapsed = lastNanos < 0 ? 0 : (now - lastNanos) / 1e9;
+        lastNanos = now;
+
+        effects.addAll(pending);
+        pending.clear();
+
+        double step = Math.min(elapsed, MAX_ELAPSED_SECONDS);
+        long workStart = System.nanoTime();
+        effects.removeIf(effect -> !effect.update(step, getQuality(effect.getPriority())));
+        double work = (System.nanoTime() - workStart) / 1e9;
+        if (elapsed > 0) {
+            averageWorkSeconds += (work - averageWorkSeconds) * SMOOTHING;
+            adjustQuality();
+        }
+
+        if (effects.isEmpty() && pending.isEmpty()) {
+            AnimationRegistry.suspendTimer(clock);
+            lastNanos = -1;
+        }
+    }
+
+    /**
+     * Degrades LOW then MEDIUM effects while over budget, and restores MEDIUM
+     * then LOW effects once the work is well within budget.
+     */
+    private void adjustQuality() {
+        if (averageWorkSeconds > WORK_BUDGET_SECONDS) {
+            if (lowQuality > MIN_QUALITY) {
+                lowQuality = Math.max(MIN_QUALITY, lowQuality - DEGRADE_STEP);
+            } else {
+                mediumQuality = Math.max(MIN_QUALITY, mediumQuality - DEGRADE_STEP);
+            }
+        } else if (averageWorkSeconds < RECOVER_THRESHOLD_SECONDS) {
+            if (mediumQuality < 1.0) {
+                mediumQuality = Math.min(1.0, mediumQuality + RECOVER_STEP);
+            } else {
+                lowQuality = Math.min(1.0, lowQuality + RECOVER_STEP);
+            }
+        }
+    }
+}
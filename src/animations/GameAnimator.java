@@ -1,13 +1,10 @@
 package animations;
 
-import javafx.animation.Interpolator;
-import javafx.animation.SequentialTransition;
 import javafx.animation.TranslateTransition;
 import javafx.application.Platform;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
-import javafx.scene.CacheHint;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -16,10 +13,27 @@ import javafx.util.Duration;
  * GameAnimator is responsible for animating Connect 4 game piece drops.
  * It creates a visual effect of a game piece falling from the top of the screen
  * to its destination on the game board.
+ * <p>
+ * A single falling disc is reused for every drop and moved by one transition whose
+ * interpolator contains the fall and all bounces. Cell positions are computed once
+ * and cached until the board is resized.
+ * </p>
  */
 public final class GameAnimator {
+    private static final double START_Y = -500;
+    private static final double DROP_SPEED = 2.5; // pixels per millisecond
+
     private final StackPane root;
     private final Circle[][] circles;
+    private final Circle falling = new Circle();
+    private final TranslateTransition drop = new TranslateTransition(Duration.ZERO, falling);
+    private Point2D[][] cellPositions;
+    private BounceInterpolator[] rowCurves;
+    private AnimationSpeed speed = AnimationSpeed.NORMAL;
+    // Incremented by cancel() so a drop still waiting for its pulse is dropped as well
+    private int generation;
+    private DropAnimationEvent dropEvent;
+
     /**
      * Constructs a GameAnimator instance.
      *
@@ -34,6 +48,24 @@ public final class GameAnimator {
         for (int i = 0; i < circles.length; i++) {
             this.circles[i] = circles[i].clone(); // shallow copy per row
         }
+
+        falling.setStroke(Color.BLACK);
+        falling.setVisible(false);
+        falling.setMouseTransparent(true);
+        StackPane.setAlignment(falling, Pos.TOP_LEFT);
+
+        // Cell positions only change when the board is resized
+        root.widthProperty().addListener((obs, oldVal, newVal) -> invalidateCellPositions());
+        root.heightProperty().addListener((obs, oldVal, newVal) -> invalidateCellPositions());
+    }
+
+    /**
+     * Sets how fast drops are animated.
+     *
+     * @param speed The animation speed; INSTANT places pieces without animating.
+     */
+    public void setSpeed(AnimationSpeed speed) {
+        this.speed = speed;
     }
 
     /**
@@ -55,65 +87,114 @@ public final class GameAnimator {
             System.err.printf("Target circle is null at row=%d, col=%d%n", row, col);
             return;
         }
+
+        DropAnimationEvent event = new DropAnimationEvent();
+        event.begin();
+        event.column = col;
+        event.row = row;
+        if (speed.isInstant()) {
+            commit(event, false);
+            onFinish.run();
+            return;
+        }
+        dropEvent = event;
+
         // Defer to next pulse to ensure layout is valid
+        int expected = generation;
         Platform.runLater(() -> {
+            if (expected != generation) return;
             if (root.getScene() == null) {
                 // Wait another pulse if scene not attached yet
                 Platform.runLater(() -> animateDrop(col, row, color, onFinish));
                 return;
             }
 
-            Circle falling = new Circle(target.getRadius(), color);
-            falling.setStroke(Color.BLACK);
-            falling.setCache(true);
-            falling.setCacheHint(CacheHint.SPEED);
-            StackPane.setAlignment(falling, Pos.TOP_LEFT);
-
-            Bounds targetBounds = target.localToScene(target.getBoundsInLocal());
-            Point2D localPoint = root.sceneToLocal(targetBounds.getMinX(), targetBounds.getMinY());
-
-            double startY = -500;
-            double endY = localPoint.getY();
-            double distance = endY - startY;
-            double speed = 2.5;
-            Duration dropDuration = Duration.millis(distance / speed);
+            if (cellPositions == null) {
+                computeCellPositions();
+            }
+            Point2D localPoint = cellPositions[row][col];
+            BounceInterpolator curve = rowCurves[row];
 
+            if (falling.getParent() != root) {
+                root.getChildren().add(falling);
+            }
+            falling.toFront();
+            falling.setRadius(target.getRadius());
+            falling.setFill(color);
             falling.setTranslateX(localPoint.getX());
-            falling.setTranslateY(startY);
-            root.getChildren().add(falling);
-
-            // Bounce animation sequence
-            TranslateTransition drop = new TranslateTransition(dropDuration, falling);
-            drop.setToY(endY);
-            drop.setInterpolator(Interpolator.EASE_OUT);
-
-            TranslateTransition bounceUp = new TranslateTransition(Duration.millis(100), falling);
-            bounceUp.setToY(endY - 12);
-
-            TranslateTransition settle1 = new TranslateTransition(Duration.millis(100), falling);
-            settle1.setToY(endY);
-
-            TranslateTransition bounceUp2 = new TranslateTransition(Duration.millis(80), falling);
-            bounceUp2.setToY(endY - 6);
+            falling.setTranslateY(START_Y);
+            falling.setVisible(true);
+
+            drop.stop();
+            drop.setDuration(Duration.millis(curve.getTotalMillis() * speed.getDurationScale()));
+            drop.setFromY(START_Y);
+            drop.setToY(localPoint.getY());
+            drop.setInterpolator(curve);
+            drop.setOnFinished(e -> {
+                falling.setVisible(false);
+                if (dropEvent == event) {
+                    dropEvent = null;
+                    commit(event, false);
+                }
+                onFinish.run();
+            });
+            AnimationRegistry.play(root, drop);
+        });
+    }
 
-            TranslateTransition settle2 = new TranslateTransition(Duration.millis(80), falling);
-            settle2.setToY(endY);
+    /**
+     * Stops a drop in progress without running its completion callback.
+     */
+    public void cancel() {
+        generation++;
+        drop.stop();
+        falling.setVisible(false);
+        if (dropEvent != null) {
+            commit(dropEvent, true);
+            dropEvent = null;
+        }
+    }
 
-            TranslateTransition bounceUp3 = new TranslateTransition(Duration.millis(60), falling);
-            bounceUp3.setToY(endY - 3);
+    /**
+     * Ends a drop's flight recorder event and records it if the recording wants it.
+     *
+     * @param event     the event begun when the drop was requested
+     * @param cancelled true if the drop was interrupted
+     */
+    private void commit(DropAnimationEvent event, boolean cancelled) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.speed = speed.name();
+            event.cancelled = cancelled;
+            event.commit();
+        }
+    }
 
-            TranslateTransition settle3 = new TranslateTransition(Duration.millis(60), falling);
-            settle3.setToY(endY);
+    /**
+     * Discards cached cell positions so they are recomputed on the next drop.
+     */
+    private void invalidateCellPositions() {
+        cellPositions = null;
+        rowCurves = null;
+    }
 
-            SequentialTransition sequence = new SequentialTransition(
-                    drop, bounceUp, settle1, bounceUp2, settle2, bounceUp3, settle3
-            );
+    /**
+     * Computes the top-left position of every board cell in the root's coordinate
+     * space, and the drop curve for each row.
+     */
+    private void computeCellPositions() {
+        cellPositions = new Point2D[circles.length][circles[0].length];
+        rowCurves = new BounceInterpolator[circles.length];
+
+        for (int row = 0; row < circles.length; row++) {
+            for (int col = 0; col < circles[row].length; col++) {
+                Circle target = circles[row][col];
+                Bounds targetBounds = target.localToScene(target.getBoundsInLocal());
+                cellPositions[row][col] = root.sceneToLocal(targetBounds.getMinX(), targetBounds.getMinY());
+            }
 
-            sequence.setOnFinished(e -> {
-                root.getChildren().remove(falling);
-                onFinish.run();
-            });
-            sequence.play();
-        });
+            double distance = cellPositions[row][0].getY() - START_Y;
+            rowCurves[row] = new BounceInterpolator(distance, distance / DROP_SPEED);
+        }
     }
-}
\ No newline at end of file
+}
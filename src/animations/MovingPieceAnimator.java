@@ -1,13 +1,13 @@
 package animations;
 
 import javafx.animation.Animation;
-import javafx.animation.AnimationTimer;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.SequentialTransition;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -36,6 +36,7 @@ public class MovingPieceAnimator {
     private static final double BOUNCE_DISTANCE_INITIAL = 60;
     private static final double BOUNCE_DURATION_BASE = 150;
     private static final int BOUNCE_ITERATIONS = 5;
+    private static final int MIN_BOUNCE_ITERATIONS = 1;
     private static final double RANDOM_OFFSET_SCALE = 0.5;
     private static final double BOUNCE_DECAY = 0.6;
 
@@ -43,10 +44,19 @@ public class MovingPieceAnimator {
     private static final double GRAVITY = 0.3;
     private static final double BOUNCE_ENERGY_LOSS = -0.85;
     private static final double FRICTION = 0.995;
+    // Physics constants above are tuned per step; steps run at a fixed 60 Hz
+    private static final double STEP_SECONDS = 1.0 / 60.0;
+    // Below these speeds a piece resting on the floor counts as idle
+    private static final double REST_SPEED_X = 0.05;
+    private static final double REST_SPEED_Y = 0.5;
+    // Pieces kept moving when the scheduler lowers quality to its minimum
+    private static final int MIN_ACTIVE_PIECES = 6;
 
     private final Pane rollingContainer;
     private final List<RollingPiece> rollingPieces = new ArrayList<>();
     private final PlayerSettings playerSettings;
+    private final EffectScheduler effectScheduler;
+    private PhysicsLoop physicsLoop;
     private static final double SPAWN_Y_RANDOM_RANGE = 100;
     private static final double BOUNCE_DURATION_INCREMENT = 30;
 
@@ -57,10 +67,13 @@ public class MovingPieceAnimator {
      * @param container The Pane that contains and renders rolling pieces.
      * @param settings   A shared reference to PlayerSettings, used for dynamic color updates.
      *                         This reference is expected to remain valid and shared.
+     * @param scheduler The board's effect scheduler, which drives the physics loop.
      */
-    public MovingPieceAnimator(Pane container, PlayerSettings settings) {
+    public MovingPieceAnimator(Pane container, PlayerSettings settings, EffectScheduler scheduler) {
         this.rollingContainer = container;
         this.playerSettings = settings;
+        this.effectScheduler = scheduler;
+        container.addEventHandler(MouseEvent.MOUSE_PRESSED, e -> wake());
     }
 
     /**
@@ -72,6 +85,18 @@ public class MovingPieceAnimator {
         return List.copyOf(rollingPieces);
     }
 
+    /**
+     * Removes every rolling piece from the simulation and returns them.
+     * The circles are left in the container for the caller to remove.
+     *
+     * @return the pieces that were rolling
+     */
+    public List<RollingPiece> removeAllPieces() {
+        List<RollingPiece> removed = List.copyOf(rollingPieces);
+        rollingPieces.clear();
+        return removed;
+    }
+
     /**
      * Starts the rolling animation by generating and dropping pieces into the container.
      * Each piece is assigned to a player color and is clickable for bounce effects.
@@ -98,11 +123,11 @@ public class MovingPieceAnimator {
                 piece.setLayoutX(x);
                 piece.setLayoutY(y);
 
-                piece.setOnMouseClicked(ev -> bounceRollingPiece(piece));
-
                 rollingContainer.getChildren().add(piece);
                 RollingPiece rp = new RollingPiece(piece, (Math.random() - RANDOM_OFFSET_SCALE) * 2, 0);
                 rollingPieces.add(rp);
+
+                piece.setOnMouseClicked(ev -> bounceRollingPiece(rp));
             }
 
             startPhysicsLoop(paneWidth, paneHeight);
@@ -112,10 +137,14 @@ public class MovingPieceAnimator {
 
     /**
      * Bounces a rolling piece upward and forward in a decreasing bounce sequence.
+     * The physics loop leaves the piece alone until the bounce has finished. At reduced
+     * quality the sequence is cut short, skipping the smallest bounces.
      *
-     * @param piece The Circle to animate.
+     * @param rp The RollingPiece to animate.
      */
-    private void bounceRollingPiece(Circle piece) {
+    private void bounceRollingPiece(RollingPiece rp) {
+        Circle piece = rp.circle;
+        rp.bouncing = true;
         double startX = piece.getLayoutX();
         double startY = piece.getLayoutY();
 
@@ -123,8 +152,10 @@ public class MovingPieceAnimator {
         double bounceDistance = BOUNCE_DISTANCE_INITIAL;
 
         List<Animation> bounceSequence = new ArrayList<>();
+        double quality = effectScheduler.getQuality(EffectPriority.MEDIUM);
+        int iterations = Math.max(MIN_BOUNCE_ITERATIONS, (int) Math.round(BOUNCE_ITERATIONS * quality));
 
-        for (int i = 0; i < BOUNCE_ITERATIONS; i++) {
+        for (int i = 0; i < iterations; i++) {
             double duration = BOUNCE_DURATION_BASE + i * BOUNCE_DURATION_INCREMENT;
             double offsetX = (Math.random() - RANDOM_OFFSET_SCALE) * bounceDistance;
 
@@ -153,18 +184,37 @@ public class MovingPieceAnimator {
 
         SequentialTransition fullBounce = new SequentialTransition();
         fullBounce.getChildren().addAll(bounceSequence);
-        fullBounce.play();
+        fullBounce.setOnFinished(e -> {
+            rp.syncFromCircle();
+            rp.bouncing = false;
+            wake();
+        });
+        AnimationRegistry.play(rollingContainer, fullBounce);
     }
 
     /**
      * Starts a physics loop that simulates gravity, friction, wall collision,
-     * and simple 1D elastic collisions between pieces.
+     * and velocity-exchange collisions between pieces.
      *
      * @param paneWidth  The width of the animation container.
      * @param paneHeight The height of the animation container.
      */
     private void startPhysicsLoop(double paneWidth, double paneHeight) {
-        new PhysicsLoop(MovingPieceAnimator.PIECE_RADIUS, paneWidth, paneHeight).start();
+        if (physicsLoop != null) {
+            effectScheduler.remove(physicsLoop);
+        }
+        physicsLoop = new PhysicsLoop(MovingPieceAnimator.PIECE_RADIUS, paneWidth, paneHeight);
+        effectScheduler.add(physicsLoop);
+    }
+
+    /**
+     * Resumes the physics loop if it went idle because every piece was at rest.
+     */
+    public void wake() {
+        if (physicsLoop != null) {
+            physicsLoop.accumulator = 0;
+            effectScheduler.add(physicsLoop);
+        }
     }
 
     /**
@@ -183,11 +233,25 @@ public class MovingPieceAnimator {
 
     /**
      * Handles the ongoing physics animation loop for rolling pieces.
+     * The simulation advances in fixed steps so pieces move at the same speed on
+     * any display refresh rate, and the rendered position is interpolated between
+     * the last two steps. Collisions use a uniform grid broad phase and squared
+     * distance checks. The loop is driven by the board's effect scheduler and
+     * drops out of it once every piece is at rest.
+     * <p>
+     * When the scheduler lowers the quality, pieces are hidden and left out of the
+     * simulation in proportion, the same number of each player's, and they come back
+     * where they stopped once quality recovers.
+     * </p>
      */
-    private class PhysicsLoop extends AnimationTimer {
+    private class PhysicsLoop implements BoardEffect {
         private final double radius;
         private final double paneWidth;
         private final double paneHeight;
+        private final double minDistanceSq;
+        private final SpatialGrid grid;
+        private double accumulator;
+        private int activeCount = Integer.MAX_VALUE;
 
         /**
          * Constructs the PhysicsLoop with required pane bounds and piece radius.
@@ -200,18 +264,88 @@ public class MovingPieceAnimator {
             this.radius = spawnRadius;
             this.paneWidth = width;
             this.paneHeight = height;
+            this.minDistanceSq = 4 * spawnRadius * spawnRadius;
+            this.grid = new SpatialGrid(2 * spawnRadius);
+            grid.resize(width, height);
         }
 
         @Override
-        public void handle(long now) {
+        public EffectPriority getPriority() {
+            return EffectPriority.MEDIUM;
+        }
+
+        @Override
+        public boolean update(double elapsedSeconds, double quality) {
+            setActiveCount(Math.max(MIN_ACTIVE_PIECES, (int) Math.round(rollingPieces.size() * quality)));
+
+            // The scheduler clamps long frames (window drags, GC pauses) so we never spiral
+            accumulator += elapsedSeconds;
+
+            while (accumulator >= STEP_SECONDS) {
+                step();
+                accumulator -= STEP_SECONDS;
+            }
+
+            render(accumulator / STEP_SECONDS);
+
+            return !allAtRest();
+        }
+
+        /**
+         * Shows and simulates the given number of pieces and hides the rest.
+         *
+         * @param count the number of pieces to keep moving
+         */
+        private void setActiveCount(int count) {
+            if (count == activeCount) return;
+            activeCount = count;
+            for (int i = 0; i < rollingPieces.size(); i++) {
+                rollingPieces.get(i).circle.setVisible(isActive(i));
+            }
+        }
+
+        /**
+         * Returns whether a piece is simulated at the current quality. Pieces are ranked
+         * alternately from each player's half of the list, so both colors thin out evenly.
+         *
+         * @param index the piece's index in the list of rolling pieces
+         * @return true if the piece is active
+         */
+        private boolean isActive(int index) {
+            int rank = index < PIECES_PER_PLAYER ? 2 * index : 2 * (index - PIECES_PER_PLAYER) + 1;
+            return rank < activeCount;
+        }
+
+        /**
+         * @return true if no active piece is bouncing and every one lies still on the floor
+         */
+        private boolean allAtRest() {
+            double floor = paneHeight - radius - 1;
             for (int i = 0; i < rollingPieces.size(); i++) {
                 RollingPiece rp = rollingPieces.get(i);
-                Circle c = rp.circle;
+                if (!isActive(i)) continue;
+                if (rp.bouncing || rp.y < floor
+                        || Math.abs(rp.vx) > REST_SPEED_X || Math.abs(rp.vy) > REST_SPEED_Y) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Advances the simulation by one fixed step.
+         */
+        private void step() {
+            for (int i = 0; i < rollingPieces.size(); i++) {
+                RollingPiece rp = rollingPieces.get(i);
+                if (rp.bouncing || !isActive(i)) continue;
 
+                rp.prevX = rp.x;
+                rp.prevY = rp.y;
                 rp.vy += GRAVITY;
 
-                double x = c.getLayoutX() + rp.vx;
-                double y = c.getLayoutY() + rp.vy;
+                double x = rp.x + rp.vx;
+                double y = rp.y + rp.vy;
 
                 if (x <= radius || x >= paneWidth - radius) {
                     rp.vx *= -1;
@@ -224,26 +358,67 @@ public class MovingPieceAnimator {
                     rp.vx *= FRICTION;
                 }
 
-                for (int j = i + 1; j < rollingPieces.size(); j++) {
-                    RollingPiece other = rollingPieces.get(j);
-                    Circle oc = other.circle;
-
-                    double dx = x - oc.getLayoutX();
-                    double dy = y - oc.getLayoutY();
-                    double dist = Math.hypot(dx, dy);
-
-                    if (dist < radius * 2) {
-                        double tempVx = rp.vx;
-                        double tempVy = rp.vy;
-                        rp.vx = other.vx;
-                        rp.vy = other.vy;
-                        other.vx = tempVx;
-                        other.vy = tempVy;
+                rp.x = x;
+                rp.y = y;
+            }
+
+            resolveCollisions();
+        }
+
+        /**
+         * Swaps velocities between touching pieces, checking only pieces in
+         * the same or adjacent grid cells.
+         */
+        private void resolveCollisions() {
+            grid.build(rollingPieces);
+
+            for (int i = 0; i < rollingPieces.size(); i++) {
+                RollingPiece rp = rollingPieces.get(i);
+                if (rp.bouncing || !isActive(i)) continue;
+
+                int cellCol = grid.cellColumn(rp.x);
+                int cellRow = grid.cellRow(rp.y);
+                int minCol = Math.max(0, cellCol - 1);
+                int maxCol = Math.min(grid.columns() - 1, cellCol + 1);
+                int minRow = Math.max(0, cellRow - 1);
+                int maxRow = Math.min(grid.rows() - 1, cellRow + 1);
+
+                for (int row = minRow; row <= maxRow; row++) {
+                    for (int col = minCol; col <= maxCol; col++) {
+                        for (int j = grid.head(col, row); j != -1; j = grid.next(j)) {
+                            if (j <= i || !isActive(j)) continue; // each active pair once
+
+                            RollingPiece other = rollingPieces.get(j);
+                            double dx = rp.x - other.x;
+                            double dy = rp.y - other.y;
+
+                            if (dx * dx + dy * dy < minDistanceSq) {
+                                double tempVx = rp.vx;
+                                double tempVy = rp.vy;
+                                rp.vx = other.vx;
+                                rp.vy = other.vy;
+                                other.vx = tempVx;
+                                other.vy = tempVy;
+                            }
+                        }
                     }
                 }
+            }
+        }
+
+        /**
+         * Moves each circle to its position interpolated between the last two steps.
+         *
+         * @param alpha Fraction of a step elapsed since the latest step (0-1).
+         */
+        private void render(double alpha) {
+            for (int i = 0; i < rollingPieces.size(); i++) {
+                RollingPiece rp = rollingPieces.get(i);
+                if (rp.bouncing || !isActive(i)) continue;
 
-                c.setLayoutX(x);
-                c.setLayoutY(y);
+                Circle c = rp.circle;
+                c.setLayoutX(rp.prevX + (rp.x - rp.prevX) * alpha);
+                c.setLayoutY(rp.prevY + (rp.y - rp.prevY) * alpha);
             }
         }
     }
@@ -6,14 +6,22 @@ import javafx.scene.shape.Circle;
 /**
  * Represents a single animated game piece with horizontal and vertical velocity,
  * used for rolling and bouncing effects on the main menu.
+ * The simulated position is kept separately from the Circle's layout so the
+ * physics can run at a fixed timestep and be interpolated for rendering.
  */
 public class RollingPiece {
     Circle circle;
     double vx;  // horizontal velocity
     double vy;  // vertical velocity
+    double x;   // simulated position after the latest physics step
+    double y;
+    double prevX;  // simulated position before the latest physics step
+    double prevY;
+    boolean bouncing;  // true while a click bounce animation owns the circle
 
     /**
      * Constructs a RollingPiece with a visual circle and initial velocities.
+     * The simulated position starts at the circle's current layout position.
      *
      * @param circle The Circle shape representing the piece.
      * @param vx     Initial horizontal velocity.
@@ -23,6 +31,7 @@ public class RollingPiece {
         this.circle = circle;
         this.vx = vx;
         this.vy = vy;
+        syncFromCircle();
     }
 
     /**
@@ -33,4 +42,15 @@ public class RollingPiece {
     public void setFill(Color color) {
         circle.setFill(color);
     }
+
+    /**
+     * Resets the simulated position to the circle's layout position.
+     * Used after another animation has moved the circle directly.
+     */
+    void syncFromCircle() {
+        x = circle.getLayoutX();
+        y = circle.getLayoutY();
+        prevX = x;
+        prevY = y;
+    }
 }
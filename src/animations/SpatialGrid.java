@@ -0,0 +1,117 @@
+package animations;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform grid used as the collision broad phase for rolling pieces.
+ * Each piece is bucketed by its centre into a square cell; only pieces in the
+ * same or neighbouring cells can touch, so each step does roughly O(n) checks
+ * instead of comparing every pair. Buckets are stored as intrusive linked lists
+ * in plain int arrays, which are reused between steps to avoid garbage.
+ */
+final class SpatialGrid {
+    private static final int EMPTY = -1;
+
+    private final double cellSize;
+    private int gridCols;
+    private int gridRows;
+    private int[] cellHeads = new int[0];
+    private int[] next = new int[0];
+
+    /**
+     * Constructs a grid with square cells of the given size.
+     *
+     * @param cellSize The cell edge length; should be at least one piece diameter.
+     */
+    SpatialGrid(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Sizes the grid to cover the given area. Positions outside the area are
+     * clamped into the border cells.
+     *
+     * @param width  Width of the simulated area.
+     * @param height Height of the simulated area.
+     */
+    void resize(double width, double height) {
+        gridCols = Math.max(1, (int) Math.ceil(width / cellSize));
+        gridRows = Math.max(1, (int) Math.ceil(height / cellSize));
+        if (cellHeads.length < gridCols * gridRows) {
+            cellHeads = new int[gridCols * gridRows];
+        }
+    }
+
+    /**
+     * Rebuilds the buckets from the pieces' current simulated positions.
+     * Pieces that are currently playing a bounce animation are left out.
+     *
+     * @param pieces The pieces to bucket; indices into this list are stored.
+     */
+    void build(List<RollingPiece> pieces) {
+        int count = pieces.size();
+        if (next.length < count) {
+            next = new int[Math.max(count, next.length * 2)];
+        }
+        Arrays.fill(cellHeads, 0, gridCols * gridRows, EMPTY);
+
+        for (int i = 0; i < count; i++) {
+            RollingPiece rp = pieces.get(i);
+            if (rp.bouncing) {
+                next[i] = EMPTY;
+                continue;
+            }
+            int cell = cellRow(rp.y) * gridCols + cellColumn(rp.x);
+            next[i] = cellHeads[cell];
+            cellHeads[cell] = i;
+        }
+    }
+
+    /**
+     * @param x A horizontal position.
+     * @return the clamped cell column containing it
+     */
+    int cellColumn(double x) {
+        return Math.max(0, Math.min(gridCols - 1, (int) (x / cellSize)));
+    }
+
+    /**
+     * @param y A vertical position.
+     * @return the clamped cell row containing it
+     */
+    int cellRow(double y) {
+        return Math.max(0, Math.min(gridRows - 1, (int) (y / cellSize)));
+    }
+
+    /** @return the number of cell columns. */
+    int columns() {
+        return gridCols;
+    }
+
+    /** @return the number of cell rows. */
+    int rows() {
+        return gridRows;
+    }
+
+    /**
+     * Returns the first piece index in a cell.
+     *
+     * @param col The cell column.
+     * @param row The cell row.
+     * @return the first piece index, or -1 if the cell is empty
+     */
+    int head(int col, int row) {
+        return cellHeads[row * gridCols + col];
+    }
+
+    /**
+     * Returns the next piece index in the same cell.
+     *
+     * @param index A piece index returned by {@link #head} or this method.
+     * @return the next piece index, or -1 at the end of the cell
+     */
+    int next(int index) {
+        return next[index];
+    }
+}
@@ -0,0 +1,221 @@
+package ui;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.BackgroundImage;
+import javafx.scene.layout.BackgroundPosition;
+import javafx.scene.layout.BackgroundRepeat;
+import javafx.scene.layout.BackgroundSize;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+/**
+ * The long-lived window of the graphical game. It owns the single {@link GameController},
+ * the single {@link Scene} on the primary stage and the views shown in it, and navigates
+ * between them by swapping the scene's root.
+ * <p>
+ * The main menu is built once, the replay viewer on its first visit, and the controller
+ * keeps one board per game mode, so returning to the menu and starting another game
+ * reuses the existing views instead of building a new controller, scene and node graph.
+ * Player names, colors and the sound and animation settings live in the controller and
+ * therefore carry over from one game to the next.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class AppShell {
+    private static final String MENU_BACKGROUND = "/images/menu_background.png";
+    // Average colour of the background image, shown while it is still loading
+    private static final Background PLACEHOLDER_BACKGROUND =
+            new Background(new BackgroundFill(Color.web("#9a9fb0"), null, null));
+
+    private final Stage stage;
+    private final GameController controller;
+    private final Parent mainMenu;
+    private final Scene scene;
+    private ReplayViewer replayViewer;
+
+    /**
+     * Creates the controller and the main menu and places the menu on the stage.
+     * The stage is not shown.
+     *
+     * @param primaryStage the primary stage provided by the JavaFX runtime
+     */
+    public AppShell(Stage primaryStage) {
+        this.stage = primaryStage;
+        ImageCache.preload(MENU_BACKGROUND);
+        this.controller = new GameController(primaryStage, this);
+        StartupTimer.mark("controller");
+        this.mainMenu = createMainMenu();
+
+        scene = new Scene(mainMenu);
+        stage.setTitle("Connect4Game");
+        stage.setScene(scene);
+        stage.setResizable(false);
+        stage.setOnCloseRequest(e -> controller.closeApplication());
+        PulseMonitor.install(stage, scene);
+    }
+
+    /** @return the scene that every view of the application is shown in. */
+    public Scene getScene() {
+        return scene;
+    }
+
+    /** @return the application's game controller. */
+    public GameController getController() {
+        return controller;
+    }
+
+    /**
+     * Shows the main menu.
+     */
+    public void showMainMenu() {
+        show(mainMenu, "Connect4Game");
+    }
+
+    /**
+     * Shows the replay viewer, building it on the first visit.
+     */
+    public void showReplays() {
+        if (replayViewer == null) {
+            replayViewer = new ReplayViewer(this);
+        }
+        replayViewer.show();
+    }
+
+    /**
+     * Replaces the current view and resizes the window to fit the new one.
+     *
+     * @param view  the root of the view to show
+     * @param title the window title
+     */
+    public void show(Parent view, String title) {
+        if (scene.getRoot() != view) {
+            scene.setRoot(view);
+        }
+        stage.setTitle(title);
+        stage.sizeToScene();
+        stage.show();
+
+        Platform.runLater(() -> {
+            view.applyCss();
+            view.layout();
+            stage.sizeToScene();
+        });
+    }
+
+    /**
+     * Builds the main menu allowing the user to select between Player vs. Player or
+     * Player vs. Computer game modes, watch replays, or exit the application.
+     *
+     * @return the root of the menu
+     */
+    private Parent createMainMenu() {
+        // Create and style buttons
+        Button playerButton = new Button("Player");
+        Button playerComputer = new Button("Computer");
+        Button replaysButton = new Button("Replays");
+        replaysButton.setOnAction(e -> showReplays());
+        Button exitButton = new Button("Exit");
+        exitButton.setOnAction(e -> controller.closeApplication());
+
+        for (Button button : new Button[]{playerButton, playerComputer, replaysButton, exitButton}) {
+            button.setPrefSize(150, 50);
+            button.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
+        }
+
+        // VBox for buttons, centered vertically
+        VBox buttonBox = new VBox(25, playerButton, playerComputer, replaysButton, exitButton);
+        buttonBox.setAlignment(Pos.CENTER);
+
+        // StackPane to center VBox inside right panel
+        StackPane rightPane = new StackPane(buttonBox);
+        rightPane.setPrefWidth(450); // Adjust this to match your gray area width
+
+        // Spacer to push content to the right
+        Region leftSpacer = new Region();
+        HBox.setHgrow(leftSpacer, Priority.ALWAYS);
+
+        // HBox to split left (Connect 4 board image) and right (buttons)
+        HBox mainLayout = new HBox(leftSpacer, rightPane);
+        mainLayout.setPrefSize(1250, 750);
+        applyMenuBackground(mainLayout);
+
+        // Button actions (defer name dialog to avoid IllegalStateException)
+        playerButton.setOnAction(e -> {
+            controller.setVsComputer(false);
+            PlayerNameDialog dialog = new PlayerNameDialog(controller.getPlayerSettings(), false);
+            if (dialog.showAndReturnResult()) {
+                controller.loadBoard("Player vs. Player");
+            }
+        });
+
+        playerComputer.setOnAction(e -> {
+            controller.setVsComputer(true);
+            PlayerNameDialog dialog = new PlayerNameDialog(controller.getPlayerSettings(), true);
+            if (dialog.showAndReturnResult()) {
+                controller.loadBoard("Player vs. Computer");
+            }
+        });
+
+        return mainLayout;
+    }
+
+    /**
+     * Sets the menu background image on the layout. The image is decoded in the
+     * background; until it is ready the layout shows a plain placeholder colour and
+     * swaps the image in when it is.
+     *
+     * @param layout the root of the main menu
+     */
+    private static void applyMenuBackground(Region layout) {
+        Image image = ImageCache.get(MENU_BACKGROUND);
+        if (image == null) return;
+        if (image.getProgress() >= 1 && !image.isError()) {
+            layout.setBackground(createMenuBackground(image));
+            return;
+        }
+
+        layout.setBackground(PLACEHOLDER_BACKGROUND);
+        InvalidationListener onLoaded = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                if (image.getProgress() < 1 && !image.isError()) return;
+                image.progressProperty().removeListener(this);
+                image.errorProperty().removeListener(this);
+                if (image.isError()) {
+                    System.err.println("Failed to load menu background: " + image.getException());
+                } else {
+                    layout.setBackground(createMenuBackground(image));
+                }
+            }
+        };
+        image.progressProperty().addListener(onLoaded);
+        image.errorProperty().addListener(onLoaded);
+    }
+
+    private static Background createMenuBackground(Image image) {
+        BackgroundImage bgImage = new BackgroundImage(
+                image,
+                BackgroundRepeat.NO_REPEAT,
+                BackgroundRepeat.NO_REPEAT,
+                BackgroundPosition.CENTER,
+                new BackgroundSize(100, 100, true, true, false, true)
+        );
+        return new Background(bgImage);
+    }
+}
@@ -1,6 +1,7 @@
 package ui;
 
 import animations.ConfettiAnimator;
+import animations.EffectScheduler;
 import animations.GameAnimator;
 import animations.MovingPieceAnimator;
 import javafx.application.Platform;
@@ -9,7 +10,6 @@ import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
-import javafx.scene.control.ChoiceDialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuBar;
 import javafx.scene.layout.Border;
@@ -29,22 +29,30 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontPosture;
 import javafx.scene.text.FontWeight;
-import logic.AIPlayer;
-import logic.BoardRenderer;
-import logic.GameController;
 import logic.GameLogic;
-import java.util.Optional;
 
 /**
  * BoardLayout is responsible for constructing and managing the layout of the Connect 4 game board,
  * including the game grid, player labels, animations, and menu bar.
  * It supports both Player vs. Player and Player vs. Computer modes.
+ * <p>
+ * A layout is built once per game mode and reused for every game in that mode:
+ * {@link #attach(GameController)} hands its renderer and animators to the controller and
+ * {@link #reset(int)} clears it for a new or resumed game.
+ * </p>
  */
 public class BoardLayout {
     private final GameLogic gameLogic;
     private final PlayerSettings playerSettings;
     private Label player1Label;
     private Label player2Label;
+    private StackPane root;
+    private EffectScheduler effectScheduler;
+    private BoardRenderer boardRenderer;
+    private GameAnimator gameAnimator;
+    private MovingPieceAnimator movingPieceAnimator;
+    private ConfettiAnimator confettiAnimator;
+    private PerformanceOverlay performanceOverlay;
 
     /**
      * Constructs a new BoardLayout instance with the provided game logic and player settings.
@@ -69,27 +77,27 @@ public class BoardLayout {
      *
      * @param labelText  the game mode label (e.g., "Player vs. Player")
      * @param controller the main game controller for coordinating game flow
-     * @return an Optional containing the StackPane layout, or empty if the user cancels AI selection
+     * @return the root pane of the board
      */
-    public Optional<StackPane> createBoardLayout(String labelText, GameController controller) {
-        StackPane root = new StackPane();
+    public StackPane createBoardLayout(String labelText, GameController controller) {
+        root = new StackPane();
         root.setPrefSize(850, 850);
         // --- Rolling pieces container ---
         Pane rollingPieceContainer = new Pane();
         rollingPieceContainer.setPrefHeight(200);
         rollingPieceContainer.setStyle("-fx-background-color: transparent;");
 
+        // One clock drives every board effect (win highlight, physics, confetti)
+        effectScheduler = new EffectScheduler(root);
+
         // Set up board renderer
-        BoardRenderer boardRenderer = new BoardRenderer(root);
+        boardRenderer = new BoardRenderer(root, effectScheduler);
         GridPane grid = boardRenderer.createGrid();
-        GameAnimator gameAnimator = new GameAnimator(root, boardRenderer.getCircles());
-        controller.setGameAnimator(gameAnimator);
+        gameAnimator = new GameAnimator(root, boardRenderer.getCircles());
 
         // Setup animations
-        MovingPieceAnimator movingPieceAnimator = new MovingPieceAnimator(rollingPieceContainer, playerSettings);
-        controller.setMovingPieceAnimator(movingPieceAnimator);
-        ConfettiAnimator confettiAnimator = new ConfettiAnimator(root, rollingPieceContainer, movingPieceAnimator.getRollingPieces());
-        controller.setConfettiAnimator(confettiAnimator);
+        movingPieceAnimator = new MovingPieceAnimator(rollingPieceContainer, playerSettings, effectScheduler);
+        confettiAnimator = new ConfettiAnimator(root, rollingPieceContainer, movingPieceAnimator, effectScheduler);
 
         grid.setHgap(10);
         grid.setVgap(10);
@@ -103,7 +111,7 @@ public class BoardLayout {
                     playerSettings.getPlayerOneColor(),
                     playerSettings.getPlayerTwoColor()
             );
-            controller.getMovingPieceAnimator().refreshRollingPieceColors();
+            movingPieceAnimator.refreshRollingPieceColors();
             refreshTurnHighlight(controller.getGameStateManager().getCurrentPlayer());
         });
 
@@ -113,7 +121,7 @@ public class BoardLayout {
                     playerSettings.getPlayerOneColor(),
                     playerSettings.getPlayerTwoColor()
             );
-            controller.getMovingPieceAnimator().refreshRollingPieceColors();
+            movingPieceAnimator.refreshRollingPieceColors();
             refreshTurnHighlight(controller.getGameStateManager().getCurrentPlayer());
         });
 
@@ -123,7 +131,7 @@ public class BoardLayout {
                 controller.getStage(),
                 playerSettings,
                 controller,
-                controller.isVsComputer()
+                labelText.equals("Player vs. Computer")
         );
 
         MenuBar menuBar = menuFactory.createMenuBar();
@@ -164,34 +172,56 @@ public class BoardLayout {
         // Add layout to persistent root field
         root.getChildren().clear();
         root.getChildren().add(layout);
+        performanceOverlay = new PerformanceOverlay(root, controller);
 
         Button[] buttons = new Button[7];
         if (labelText.equals("Player vs. Player")) {
             setupPlayerVsPlayer(grid, controller, labelText, buttons);
         } else {
-            ChoiceDialog<String> dialog = new ChoiceDialog<>("Easy", "Easy", "Medium", "Hard");
-            dialog.setTitle("AI Difficulty");
-            dialog.setHeaderText("Select AI Difficulty");
-            dialog.setContentText("Difficulty:");
-            Optional<String> result = dialog.showAndWait();
-
-            if (result.isEmpty()) return Optional.empty();
-
-            String aiDifficulty = result.get();
-            AIPlayer aiPlayer = new AIPlayer(gameLogic, aiDifficulty, 2);
-            controller.setAIPlayer(aiPlayer);
-
             setupPlayerVsAI(grid, controller, labelText, buttons);
         }
-
         boardRenderer.setButtons(buttons);
+
+        return root;
+    }
+
+    /** @return the root pane built by {@link #createBoardLayout}. */
+    public StackPane getRoot() {
+        return root;
+    }
+
+    /**
+     * Makes this board the one the controller plays on, handing it the board's
+     * renderer, animators and performance overlay.
+     *
+     * @param controller the main game controller
+     */
+    public void attach(GameController controller) {
+        controller.setGameAnimator(gameAnimator);
+        controller.setMovingPieceAnimator(movingPieceAnimator);
+        controller.setConfettiAnimator(confettiAnimator);
         controller.setBoardRenderer(boardRenderer);
+        controller.setPerformanceOverlay(performanceOverlay);
+    }
+
+    /**
+     * Clears what the previous game left on the board (pieces, win highlight, confetti, a
+     * drop in flight) and shows the current game logic's board with fresh rolling pieces.
+     *
+     * @param currentPlayer the player to move
+     */
+    public void reset(int currentPlayer) {
+        gameAnimator.cancel();
+        confettiAnimator.stopConfettiAnimation();
+        effectScheduler.clear();
+        boardRenderer.refreshColors(gameLogic.getBoard(),
+                playerSettings.getPlayerOneColor(), playerSettings.getPlayerTwoColor());
+        boardRenderer.setButtonsDisabled(false);
+        updateTurnHighlight(currentPlayer);
         movingPieceAnimator.startRollingPieceAnimation();
 
         // Ensure color refresh happens after rolling pieces are fully added
         Platform.runLater(movingPieceAnimator::refreshRollingPieceColors);
-
-        return Optional.of(root);
     }
 
     /**
@@ -1,8 +1,8 @@
-package logic;
+package ui;
 
-import javafx.animation.Animation;
-import javafx.animation.FillTransition;
-import javafx.animation.PauseTransition;
+import animations.BoardEffect;
+import animations.EffectPriority;
+import animations.EffectScheduler;
 import javafx.beans.binding.Bindings;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -15,8 +15,6 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
-import javafx.util.Duration;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -26,17 +24,22 @@ import java.util.List;
  */
 public class BoardRenderer {
     private final StackPane root;
+    private final EffectScheduler effectScheduler;
     private static final int ROWS = 6;
     private static final int COLS = 7;
+    private static final double FLASH_HALF_PERIOD_SECONDS = 0.3;
+    private static final double FLASH_TOTAL_SECONDS = 6.0;
     private final Circle[][] circles = new Circle[ROWS][COLS];
     private Button[] buttons;
 
     /**
      * Constructs a BoardRenderer using the given root StackPane.
      * @param root the root pane to bind size constraints against
+     * @param effectScheduler the scheduler that drives the win highlight
      */
-    public BoardRenderer(StackPane root) {
+    public BoardRenderer(StackPane root, EffectScheduler effectScheduler) {
         this.root = root;
+        this.effectScheduler = effectScheduler;
     }
 
     /**
@@ -148,31 +151,63 @@ public class BoardRenderer {
 
     /**
      * Highlights a winning line on the board with a flashing effect.
+     * The flash runs as a high-priority effect on the board's scheduler.
      * @param winningCoords list of coordinate pairs representing the winning line
      * @param playerColor the player's original piece color
      */
     public void highlightWinningLine(List<int[]> winningCoords, Color playerColor) {
         Color flashColor = getContrastingColor(playerColor);
-        List<FillTransition> transitions = new ArrayList<>();
+        Circle[] winningCircles = new Circle[winningCoords.size()];
 
-        for (int[] pos : winningCoords) {
-            int row = pos[0];
-            int col = pos[1];
-            Circle circle = circles[row][col];
+        for (int i = 0; i < winningCircles.length; i++) {
+            int[] pos = winningCoords.get(i);
+            winningCircles[i] = circles[pos[0]][pos[1]];
+        }
+
+        effectScheduler.add(new WinHighlightEffect(winningCircles, playerColor, flashColor));
+    }
 
-            FillTransition flash = new FillTransition(Duration.millis(300), circle);
-            flash.setFromValue(playerColor);
-            flash.setToValue(flashColor);
-            flash.setCycleCount(Animation.INDEFINITE);
-            flash.setAutoReverse(true);
-            flash.play();
+    /**
+     * Flashes the winning discs back and forth between the player's color and a
+     * contrasting color, then restores the player's color.
+     */
+    private static final class WinHighlightEffect implements BoardEffect {
+        private final Circle[] targets;
+        private final Color playerColor;
+        private final Color flashColor;
+        private double elapsed;
+
+        WinHighlightEffect(Circle[] targets, Color playerColor, Color flashColor) {
+            this.targets = targets;
+            this.playerColor = playerColor;
+            this.flashColor = flashColor;
+        }
 
-            transitions.add(flash);
+        @Override
+        public EffectPriority getPriority() {
+            return EffectPriority.HIGH;
+        }
+
+        @Override
+        public boolean update(double elapsedSeconds, double quality) {
+            elapsed += elapsedSeconds;
+            if (elapsed >= FLASH_TOTAL_SECONDS) {
+                setFill(playerColor);
+                return false;
+            }
+
+            // Triangle wave: 0 -> 1 -> 0 over two half periods, like an auto-reversing transition
+            double phase = (elapsed / FLASH_HALF_PERIOD_SECONDS) % 2.0;
+            double t = phase <= 1.0 ? phase : 2.0 - phase;
+            setFill(playerColor.interpolate(flashColor, t));
+            return true;
+        }
+
+        private void setFill(Color color) {
+            for (Circle circle : targets) {
+                circle.setFill(color);
+            }
         }
-        // Stop flashing after 5 seconds
-        PauseTransition stopFlashing = new PauseTransition(Duration.seconds(6));
-        stopFlashing.setOnFinished(e -> transitions.forEach(Animation::stop));
-        stopFlashing.play();
     }
 
     /**
@@ -194,6 +229,28 @@ public class BoardRenderer {
         }
     }
 
+    /**
+     * Recolors only the cells that differ between two board states, so jumping between
+     * distant positions costs one update per changed cell.
+     * @param previous the board currently shown
+     * @param next the board to show
+     * @param p1Color color for player 1
+     * @param p2Color color for player 2
+     */
+    public void applyBoardChanges(int[][] previous, int[][] next, Color p1Color, Color p2Color) {
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                if (previous[row][col] != next[row][col]) {
+                    switch (next[row][col]) {
+                        case 1 -> circles[row][col].setFill(p1Color);
+                        case 2 -> circles[row][col].setFill(p2Color);
+                        default -> circles[row][col].setFill(Color.WHITE);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Updates the board's circle colors based on the board state and player colors.
      * @param board the game board matrix
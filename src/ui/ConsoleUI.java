@@ -1,7 +1,6 @@
 package ui;
 
-import core.AgainstComputerLogic;
-import core.LogicForConsole;
+import cli.ConsolePlay;
 import javafx.application.Application;
 
 import java.nio.charset.StandardCharsets;
@@ -57,41 +56,10 @@ public class ConsoleUI {
     }
 
     /**
-     * Prompts the user to select either Player vs. Player or Player vs. Computer mode.
-     * Starts the corresponding console-based game session.
+     * Starts the console game, which asks for Player vs. Player or Player vs. Computer
+     * mode. The same game runs without JavaFX from the engine image's console launcher.
      */
     private static void consoleBased_UI(){
-        Scanner scanner = new Scanner(System.in, StandardCharsets.UTF_8);
-
-        LogicForConsole game = new LogicForConsole();
-        AgainstComputerLogic againstComputer = new AgainstComputerLogic();
-
-        String reset = "\u001B[0m";
-        String green = "\u001B[32m";
-
-        char P = 'P';
-        char C = 'C';
-
-        boolean validInput = false;
-        while (!validInput) {
-            try {
-                System.out.print(green + "Begin game. Enter 'P' if you want to play against another player; enter 'C' to play against the computer: " + reset);
-                char letter = Character.toUpperCase(scanner.next().charAt(0)); // Convert input to uppercase
-                System.out.println();
-
-                if (letter == P || letter == C) {
-                    if (letter == P) {
-                        game.playGame();
-                    } else  {
-                        againstComputer.playGame_againstComputer();
-                    }
-                    validInput = true; // exit loop
-                } else {
-                    throw new InputMismatchException("Invalid input");
-                }
-            } catch (InputMismatchException e) {
-                System.out.println("Please choose a valid input.");
-            }
-        }
+        ConsolePlay.main(new String[0]);
     }
 }
\ No newline at end of file
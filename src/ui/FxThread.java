@@ -0,0 +1,53 @@
+package ui;
+
+import javafx.application.Platform;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a query on the JavaFX Application Thread for a caller on another thread, such
+ * as a JMX client, and waits briefly for the answer. Game and animation state is only
+ * ever touched on that thread.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class FxThread {
+    private static final long TIMEOUT_MILLIS = 1000;
+
+    private FxThread() {
+    }
+
+    /**
+     * Returns the value of a query evaluated on the JavaFX Application Thread.
+     *
+     * @param query    the query to run
+     * @param fallback the value returned if the thread does not answer in time
+     * @param <T>      the type of the value
+     * @return the query's value, or the fallback
+     */
+    static <T> T call(Callable<T> query, T fallback) {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                return query.call();
+            } catch (Exception e) {
+                System.err.println("Query failed: " + e.getMessage());
+                return fallback;
+            }
+        }
+
+        FutureTask<T> task = new FutureTask<>(query);
+        Platform.runLater(task);
+        try {
+            return task.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        } catch (ExecutionException | TimeoutException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,905 @@
+package ui;
+
+import animations.AnimationSpeed;
+import animations.ConfettiAnimator;
+import animations.GameAnimator;
+import animations.MovingPieceAnimator;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ChoiceDialog;
+import javafx.scene.layout.StackPane;
+import javafx.scene.media.AudioClip;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import logic.AIPlayer;
+import logic.DifficultyPreset;
+import logic.GameLogic;
+import logic.GameStateManager;
+import storage.DatabaseLockedException;
+import storage.GameDatabase;
+import storage.GameJournal;
+import storage.GameRecorder;
+import storage.GameResult;
+import storage.PositionIndex;
+import storage.PositionStats;
+import storage.SavedGame;
+import storage.PlayerMode;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * GameController acts as the mediator between the GUI, game logic, AI, and board rendering.
+ * It manages user and AI moves, updates the board view, handles sound/music, confetti, and restarts.
+ * Supports both Player vs. Player and Player vs. Computer game modes.
+ * One controller lives as long as the {@link AppShell}; it keeps a board per game mode
+ * and reuses it for every game in that mode.
+ *
+ * @author Weronika
+ * @version 2.0
+ */
+public class GameController {
+    // Core components
+    private final GameLogic gameLogic;
+    private final GameStateManager gameState;
+    private final PlayerSettings playerSettings;
+    private AIPlayer aiPlayer;
+    // JavaFX stage and rendering
+    private final Stage stage;
+    private final AppShell shell;
+    private final Map<String, BoardLayout> boardLayouts = new HashMap<>();
+    private BoardRenderer boardRenderer;
+    private BoardLayout boardLayout;
+    // Animators and media
+    private static volatile MediaPlayer backgroundPlayer;
+    private static AudioClip dropSound;
+    private static final GameStatistics statistics = new GameStatistics();
+    // Shared across controllers so one writer thread serves the whole application. All are
+    // null until the first frame has been shown, and the recorder and journal stay null in
+    // a second running instance; see openStorage
+    private static GameRecorder gameRecorder;
+    private static GameDatabase gameDatabase;
+    private static PositionIndex positionIndex;
+    // Write-ahead log of the game in progress, offered for resuming on the next launch
+    private static GameJournal gameJournal;
+    private static boolean storageOpened;
+    private static boolean resumeOffered;
+    private static boolean shutDown;
+    private GameAnimator gameAnimator;
+    private ConfettiAnimator confettiAnimator;
+    private MovingPieceAnimator movingPieceAnimator;
+    private PerformanceOverlay performanceOverlay;
+    private boolean performanceOverlayEnabled;
+    private boolean musicEnabled = true;
+    private boolean dropSoundEnabled = true;
+    private AnimationSpeed animationSpeed = AnimationSpeed.NORMAL;
+    private volatile long aiSearchBudgetMillis;
+    private boolean vsComputer;
+    // Incremented whenever a game starts or is left, so pending AI moves and drops of the old game are ignored
+    private int gameGeneration;
+    // Constants
+    private static final int MIN_STAGE_WIDTH = 850;
+    private static final int MIN_STAGE_HEIGHT = 850;
+    private static final int MAX_MOVES = 42;
+    private static final double AI_MOVE_DELAY_SECONDS = 0.5;
+    private static final int NUM_COLUMNS = 7;
+
+    /**
+     * Constructor to initialize the controller with the primary stage and core game components.
+     * Starting the background music, opening the game storage and registering the
+     * management beans wait until the first frame has been shown.
+     *
+     * @param primaryStage the main JavaFX stage
+     * @param shell        the application shell that shows the menu and boards
+     */
+    public GameController(Stage primaryStage, AppShell shell) {
+        this.stage = primaryStage;
+        this.shell = shell;
+        stage.setMinWidth(MIN_STAGE_WIDTH);
+        stage.setMinHeight(MIN_STAGE_HEIGHT);
+        this.gameLogic = new GameLogic();
+        this.gameState = new GameStateManager();
+        this.playerSettings = new PlayerSettings();
+        // Will be instantiated fresh in loadBoard
+
+        if (backgroundPlayer == null) {
+            StartupTimer.afterFirstFrame(GameController::playBackgroundMusic);
+        }
+        StartupTimer.afterFirstFrame(GameController::openStorage);
+        StartupTimer.afterFirstFrame(this::registerManagementBeans);
+    }
+
+    /**
+     * Registers the statistics and settings MXBeans with the platform MBean server so
+     * the running game can be watched and tuned from JConsole. Failures are reported
+     * and otherwise ignored.
+     */
+    private void registerManagementBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName statisticsName = new ObjectName("connect4:type=Statistics");
+            ObjectName settingsName = new ObjectName("connect4:type=Settings");
+            if (!server.isRegistered(statisticsName)) {
+                server.registerMBean(statistics, statisticsName);
+            }
+            if (server.isRegistered(settingsName)) {
+                server.unregisterMBean(settingsName);
+            }
+            server.registerMBean(new GameSettings(this), settingsName);
+        } catch (JMException e) {
+            System.err.println("Failed to register management beans: " + e.getMessage());
+        }
+    }
+
+    /** Sets whether the game mode is versus computer. */
+    public void setVsComputer(boolean isVsComputer) {
+        this.vsComputer = isVsComputer;
+    }
+
+    /** @return true if game mode is Player vs. Computer. */
+    public boolean isVsComputer() {
+        return vsComputer;
+    }
+
+    /** @return the current JavaFX Stage object. */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /** @return the rolling piece animator for the main menu screen. */
+    public MovingPieceAnimator getMovingPieceAnimator() {
+        return movingPieceAnimator;
+    }
+
+    /**
+     * Returns the player settings. Changes to the returned object
+     * will affect the internal state of the game controller.
+     *
+     * @return the shared PlayerSettings instance
+     */
+    public PlayerSettings getPlayerSettings() {
+        return playerSettings;
+    }
+
+    /**
+     * Returns the game state manager. Changes to the returned object
+     * will affect the internal state of the game controller.
+     *
+     * @return the shared GameStateManager instance
+     */
+    public GameStateManager getGameStateManager() {
+        return gameState;
+    }
+
+    /**
+     * Enables or disables drop sound effects.
+     *
+     * @param enabled true to enable sounds, false to mute
+     */
+    public void setDropSoundEnabled(boolean enabled) {
+        this.dropSoundEnabled = enabled;
+    }
+
+    /** @return true if drop sound effects are enabled. */
+    public boolean isDropSoundEnabled() {
+        return dropSoundEnabled;
+    }
+
+    /**
+     * Turns the background music on or off. The choice is kept when returning to the menu.
+     *
+     * @param enabled true to play music, false to stop it
+     */
+    public void setMusicEnabled(boolean enabled) {
+        this.musicEnabled = enabled;
+        if (!enabled) {
+            stopBackgroundMusic();
+        } else if (!isMusicPlaying()) {
+            playBackgroundMusic();
+        }
+    }
+
+    /** @return true if background music is turned on. */
+    public boolean isMusicEnabled() {
+        return musicEnabled;
+    }
+
+
+    /**
+     * Sets the board renderer responsible for updating the grid view.
+     * This method intentionally stores a reference to the provided {@code BoardRenderer}
+     * instance, as it is created and managed by {@code BoardLayout} during board setup,
+     * and is not reused across sessions. The renderer is used exclusively for UI updates
+     * during a single game session, and not modified externally.
+     *
+     * @param renderer the BoardRenderer to use for updating the game board UI
+     */
+    public void setBoardRenderer(BoardRenderer renderer) {
+        this.boardRenderer = renderer;
+    }
+
+    /** Sets the animator that visually drops game pieces. */
+    public void setGameAnimator(GameAnimator animator) {
+        this.gameAnimator = animator;
+        animator.setSpeed(animationSpeed);
+    }
+
+    /** @return the current speed of drop animations and AI move delays. */
+    public AnimationSpeed getAnimationSpeed() {
+        return animationSpeed;
+    }
+
+    /**
+     * Sets how fast pieces drop and how long the computer pauses before moving.
+     *
+     * @param speed the new animation speed; INSTANT disables both
+     */
+    public void setAnimationSpeed(AnimationSpeed speed) {
+        this.animationSpeed = speed;
+        if (gameAnimator != null) {
+            gameAnimator.setSpeed(speed);
+        }
+    }
+
+    /** @return the time limit for the computer's search in milliseconds, or 0 for none. */
+    public long getAISearchBudgetMillis() {
+        return aiSearchBudgetMillis;
+    }
+
+    /**
+     * Limits how long the computer may search for a move. With a budget, difficulties
+     * that search deepen one ply at a time up to their usual depth and play the deepest
+     * search finished in time; with 0 they search to their fixed depth.
+     *
+     * @param millis the budget in milliseconds, or 0 for none
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public void setAISearchBudgetMillis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Search budget must not be negative");
+        }
+        this.aiSearchBudgetMillis = millis;
+    }
+
+    /** @return the statistics shared by every game of this session. */
+    public static GameStatistics getStatistics() {
+        return statistics;
+    }
+
+    /** Sets the AI player logic for Player vs. Computer mode. */
+    public void setAIPlayer(AIPlayer ai) {
+        this.aiPlayer = ai;
+    }
+
+    /** Sets the confetti animator for post-win celebration effects. */
+    public void setConfettiAnimator(ConfettiAnimator animator) {
+        this.confettiAnimator = animator;
+    }
+
+    /** Sets the animator for bouncing pieces on the main menu. */
+    public void setMovingPieceAnimator(MovingPieceAnimator animator) {
+        this.movingPieceAnimator = animator;
+    }
+
+    /**
+     * Sets the debug overlay for the current board and applies the saved visibility.
+     *
+     * @param overlay the performance overlay created with the board layout
+     */
+    public void setPerformanceOverlay(PerformanceOverlay overlay) {
+        this.performanceOverlay = overlay;
+        overlay.setShowing(performanceOverlayEnabled);
+    }
+
+    /** @return true if the performance overlay should be shown on the board. */
+    public boolean isPerformanceOverlayEnabled() {
+        return performanceOverlayEnabled;
+    }
+
+    /**
+     * Shows or hides the performance overlay on the current board.
+     *
+     * @param enabled true to show the overlay, false to hide it
+     */
+    public void setPerformanceOverlayEnabled(boolean enabled) {
+        this.performanceOverlayEnabled = enabled;
+        if (performanceOverlay != null) {
+            performanceOverlay.setShowing(enabled);
+        }
+    }
+
+    /**
+     * Returns how long the AI took to choose its most recent move.
+     *
+     * @return the last AI search time in nanoseconds, or -1 if the AI has not moved yet
+     */
+    public long getLastAISearchNanos() {
+        return aiPlayer != null ? aiPlayer.getLastSearchNanos() : -1;
+    }
+
+    /** @return true if background music is currently playing. */
+    public static boolean isMusicPlaying() {
+        return backgroundPlayer != null && backgroundPlayer.getStatus() == MediaPlayer.Status.PLAYING;
+    }
+
+    /** @return true if the drop sound is currently playing. */
+    public static boolean isDropSoundPlaying() {
+        return dropSound != null && dropSound.isPlaying();
+    }
+
+    /**
+     * Plays the sound for dropping a piece, if sound is enabled. The clip is loaded on
+     * the first drop and reused, so overlapping drops play from the same sample.
+     */
+    public void playDropSound() {
+        if (!dropSoundEnabled) return;
+
+        if (dropSound == null) {
+            URL soundURL = getClass().getResource("/sound/drop_piece.wav");
+            if (soundURL == null) {
+                System.err.println("Sound file not found: /sound/drop_piece.wav");
+                return;
+            }
+            dropSound = new AudioClip(soundURL.toString());
+        }
+        dropSound.play();
+        statistics.dropSoundPlayed();
+    }
+
+    /**
+     * Loads a new game board scene into the stage with appropriate layout and handlers.
+     *
+     * @param labelText The mode label ("Player vs. Player" or "Player vs. Computer")
+     */
+    public void loadBoard(String labelText) {
+        loadBoard(labelText, null);
+    }
+
+    /**
+     * Loads the board scene for a new game, or for a recovered game whose moves have
+     * already been replayed into the game logic.
+     *
+     * @param labelText the mode label ("Player vs. Player" or "Player vs. Computer")
+     * @param resumed   the recovered game, or null to start a new one
+     */
+    private void loadBoard(String labelText, SavedGame resumed) {
+        boolean againstComputer = labelText.equals("Player vs. Computer");
+        if (againstComputer) {
+            Optional<String> difficulty = resumed != null
+                    ? Optional.of(resumed.getDifficulty())
+                    : chooseAIDifficulty();
+            if (difficulty.isEmpty()) return;
+            if (aiPlayer == null || !aiPlayer.getDifficulty().equals(difficulty.get())) {
+                aiPlayer = new AIPlayer(gameLogic, difficulty.get(), 2);
+            }
+        }
+        gameGeneration++;
+        statistics.gameStarted();
+        if (resumed == null) {
+            gameState.reset();
+            gameLogic.resetBoard();
+        }
+
+        // Each mode's board is built on first use and reused for later games
+        boardLayout = boardLayouts.get(labelText);
+        if (boardLayout == null) {
+            boardLayout = new BoardLayout(gameLogic, playerSettings);
+            boardLayout.createBoardLayout(labelText, this);
+            boardLayouts.put(labelText, boardLayout);
+        }
+        boardLayout.attach(this);
+
+        PlayerMode mode = againstComputer ? PlayerMode.PLAYER_VS_COMPUTER : PlayerMode.PLAYER_VS_PLAYER;
+        String aiDifficulty = againstComputer ? aiPlayer.getDifficulty() : null;
+        if (gameRecorder != null) {
+            gameRecorder.abandonGame();
+            if (resumed != null) {
+                gameRecorder.resumeGame(resumed);
+                gameJournal.resumeGame(resumed);
+            } else {
+                gameRecorder.startGame(mode, aiDifficulty);
+                gameJournal.beginGame(mode, aiDifficulty, playerSettings.getPlayerOneName(),
+                        playerSettings.getPlayerTwoName(), System.currentTimeMillis());
+            }
+        }
+
+        StackPane layout = boardLayout.getRoot();
+        shell.show(layout, "Connect4");
+        // Shows the replayed pieces of a resumed game, or an empty board
+        boardLayout.reset(gameState.getCurrentPlayer());
+
+        if (resumed != null && againstComputer && gameState.getCurrentPlayer() == 2) {
+            // Hand the turn to the computer if it was to move
+            boardRenderer.setButtonsDisabled(true);
+            triggerAIMove(labelText);
+        }
+    }
+
+    /**
+     * Asks which difficulty the computer should play at.
+     *
+     * @return the chosen difficulty, or empty if the player cancelled
+     */
+    private Optional<String> chooseAIDifficulty() {
+        String current = aiPlayer != null ? aiPlayer.getDifficulty() : "Easy";
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(current, "Easy", "Medium", "Hard");
+        dialog.initOwner(stage);
+        dialog.setTitle("AI Difficulty");
+        dialog.setHeaderText("Select AI Difficulty");
+        dialog.setContentText("Difficulty:");
+        return dialog.showAndWait();
+    }
+
+    /**
+     * Leaves the current game, if any, and shows the main menu. A game in progress is
+     * recorded as unfinished when the next game starts.
+     */
+    public void showMainMenu() {
+        gameGeneration++;
+        if (gameAnimator != null) {
+            gameAnimator.cancel();
+        }
+        if (musicEnabled && !isMusicPlaying()) {
+            playBackgroundMusic();
+        }
+        shell.showMainMenu();
+    }
+
+    /**
+     * Handles the logic of dropping a piece into a column. Validates the move,
+     * plays animation and sound, updates the board, and checks win/draw state.
+     *
+     * @param col       the column to drop into
+     * @param labelText mode label for display
+     */
+    public void dropPiece(int col, String labelText) {
+        if (!validateMove(col, labelText)) return;
+
+        int row = gameLogic.getAvailableRow(col);
+        int currentPlayer = gameState.getCurrentPlayer();
+        Color currentColor = (currentPlayer == 1)
+                ? playerSettings.getPlayerOneColor()
+                : playerSettings.getPlayerTwoColor();
+
+        MoveEvent event = new MoveEvent();
+        event.begin();
+        boardRenderer.setButtonsDisabled(true);
+        playDropSound();
+
+        int game = gameGeneration;
+        gameAnimator.animateDrop(col, row, currentColor, () -> {
+            if (game != gameGeneration) return;
+            if (!gameLogic.makeMove(col, currentPlayer)) {
+                displayMessage("Move could not be completed.", false, labelText);
+                boardRenderer.setButtonsDisabled(false);
+                return;
+            }
+            if (gameRecorder != null) {
+                gameRecorder.recordMove(col);
+                gameJournal.recordMove(gameState.getMoveCount(), col);
+            }
+
+            handlePostMove(col, row, currentPlayer, currentColor, labelText, event);
+        });
+    }
+    /**
+     * Handles the result of a move after the piece has been placed.
+     * Updates the UI, checks win/draw state, switches players, and triggers AI if needed.
+     *
+     * @param col           the column the piece was dropped into
+     * @param row           the row the piece landed in
+     * @param currentPlayer the current player's number (1 or 2)
+     * @param currentColor  the color of the current player's piece
+     * @param labelText     the mode label used for displaying messages
+     * @param event         the flight recorder event begun when the move was requested
+     */
+    private void handlePostMove(int col, int row, int currentPlayer, Color currentColor, String labelText,
+                                MoveEvent event) {
+        boardRenderer.setPiece(row, col, currentColor);
+        gameState.incrementMoveCount();
+        statistics.moveMade();
+        String outcome = "NONE";
+
+        if (gameLogic.checkWinState(currentPlayer)) {
+            outcome = "WIN";
+            gameState.setGameOver(true);
+            statistics.gameFinished();
+            finishRecording(currentPlayer == 1 ? GameResult.PLAYER_ONE_WIN : GameResult.PLAYER_TWO_WIN);
+            String winnerName = (currentPlayer == 1)
+                    ? playerSettings.getPlayerOneName()
+                    : playerSettings.getPlayerTwoName();
+            displayMessage(winnerName + " Wins!", true, labelText);
+            List<int[]> winPositions = gameLogic.getWinningPositions();
+            boardRenderer.highlightWinningLine(winPositions, currentColor);
+            confettiAnimator.explodeRollingPiecesIntoConfetti();
+            confettiAnimator.startConfettiAnimation();
+        } else if (gameState.getMoveCount() == MAX_MOVES || gameLogic.isBoardFull()) {
+            outcome = "DRAW";
+            gameState.setGameOver(true);
+            statistics.gameFinished();
+            finishRecording(GameResult.DRAW);
+            displayMessage("It's a Draw!", true, labelText);
+        } else {
+            gameState.switchPlayer();
+            if (boardLayout != null) {
+                boardLayout.refreshTurnHighlight(gameState.getCurrentPlayer());
+            }
+
+            if (labelText.equals("Player vs. Computer") && gameState.getCurrentPlayer() == 2) {
+                triggerAIMove(labelText);
+            } else {
+                boardRenderer.setButtonsDisabled(false);
+            }
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.mode = labelText;
+            event.player = currentPlayer;
+            event.column = col;
+            event.row = row;
+            event.moveNumber = gameState.getMoveCount();
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * Validates whether a move can be made in the given column.
+     * Displays an error message if the move is invalid.
+     *
+     * @param col       the column to validate
+     * @param labelText the mode label used for displaying messages
+     * @return true if the move is valid and can proceed; false otherwise
+     */
+    private boolean validateMove(int col, String labelText) {
+        if (gameState.isGameOver() || gameLogic.isColumnFull(col)) {
+            displayMessage("Column is full. Please choose another column!", false, labelText);
+            return false;
+        }
+
+        int row = gameLogic.getAvailableRow(col);
+        if (row == -1) {
+            displayMessage("No available row in this column.", false, labelText);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Triggers AI move after a small delay, scaled by the animation speed.
+     * In instant mode the move is made on the next pulse instead.
+     *
+     * @param labelText game mode label
+     */
+    private void triggerAIMove(String labelText) {
+        int game = gameGeneration;
+        Runnable makeMove = () -> {
+            if (game != gameGeneration) return;
+            int aiMove = chooseAIMove();
+            statistics.recordAIMove(aiPlayer.getDifficulty(), aiPlayer.getLastSearchNanos());
+
+            if (aiMove >= 0 && aiMove < NUM_COLUMNS) {
+                dropPiece(aiMove, labelText); // Let AI drop a piece
+            } else {
+                displayMessage("AI attempted invalid move.", true, labelText);
+            }
+        };
+
+        if (animationSpeed.isInstant()) {
+            Platform.runLater(makeMove);
+            return;
+        }
+
+        PauseTransition delay = new PauseTransition(
+                Duration.seconds(AI_MOVE_DELAY_SECONDS * animationSpeed.getDurationScale()));
+        delay.setOnFinished(event -> makeMove.run());
+        delay.play();
+    }
+
+    /**
+     * Asks the AI for its move. Searching difficulties respect the search budget set
+     * through {@link GameSettingsMXBean}, if any.
+     *
+     * @return the column the AI chose
+     */
+    private int chooseAIMove() {
+        long budget = aiSearchBudgetMillis;
+        DifficultyPreset preset = DifficultyPreset.forName(aiPlayer.getDifficulty());
+        if (budget > 0 && preset.getStrategy() == DifficultyPreset.Strategy.SEARCH) {
+            return aiPlayer.analyze(preset.getSearchDepth(), budget * 1_000_000).getBestMove();
+        }
+        return aiPlayer.getMove();
+    }
+
+    /**
+     * Records the result of the finished game and clears it from the journal.
+     *
+     * @param result the outcome of the game
+     */
+    private static void finishRecording(GameResult result) {
+        if (gameRecorder == null) return;
+        gameRecorder.finishGame(result);
+        gameJournal.endGame();
+    }
+
+    /**
+     * Opens the game log, the game database and its position index, and the autosave
+     * journal shared by every controller. Finished games are stored in the database as
+     * well as the log. Only the first call has an effect, and none after {@link #shutdown()}.
+     * <p>
+     * If another running instance is already writing to the database, the database and
+     * index are opened read-only for replays and position statistics, and games played
+     * here are neither recorded nor journaled, so that instance's log and journal are
+     * left alone.
+     * </p>
+     */
+    private static synchronized void openStorage() {
+        if (storageOpened || shutDown) return;
+        storageOpened = true;
+
+        boolean secondInstance = false;
+        try {
+            gameDatabase = GameDatabase.open(GameDatabase.defaultDirectory());
+        } catch (DatabaseLockedException e) {
+            System.err.println(e.getMessage() + "; games played here are not recorded");
+            secondInstance = true;
+            try {
+                gameDatabase = GameDatabase.openReadOnly(GameDatabase.defaultDirectory());
+            } catch (IOException | RuntimeException readOnlyError) {
+                System.err.println("Game database unavailable: " + readOnlyError.getMessage());
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Game database unavailable: " + e.getMessage());
+        }
+        positionIndex = openPositionIndex();
+        if (secondInstance) return;
+
+        gameRecorder = new GameRecorder(GameRecorder.defaultLogFile());
+        gameRecorder.setDatabase(gameDatabase);
+        if (gameDatabase != null) {
+            gameRecorder.setPositionIndex(positionIndex);
+        }
+        gameJournal = new GameJournal(GameJournal.defaultJournalFile());
+    }
+
+    /**
+     * Opens the position index of the game database, read-only if the database is.
+     *
+     * @return the open index, or null without a database or if it could not be opened
+     */
+    private static PositionIndex openPositionIndex() {
+        if (gameDatabase == null) return null;
+        try {
+            Path directory = PositionIndex.defaultDirectory(gameDatabase);
+            // A read-only database's writer owns the index and keeps it up to date
+            return gameDatabase.isReadOnly() ? PositionIndex.openReadOnly(directory) : PositionIndex.open(directory);
+        } catch (IOException e) {
+            System.err.println("Position index unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Offers to resume a game that was interrupted by a crash or by closing the
+     * application. Only checked once per launch, and not at all in a second running
+     * instance, whose journal belongs to the first; declining records the game as
+     * unfinished.
+     */
+    public void offerResume() {
+        if (resumeOffered || gameJournal == null) return;
+        resumeOffered = true;
+
+        SavedGame saved;
+        try {
+            saved = GameJournal.recover(GameJournal.defaultJournalFile());
+        } catch (IOException e) {
+            System.err.println("Failed to read autosave journal: " + e.getMessage());
+            return;
+        }
+        if (saved == null || saved.getMoveCount() == 0) return;
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.initOwner(stage);
+        alert.setTitle("Resume Game");
+        alert.setHeaderText(null);
+        alert.setContentText(String.format("An unfinished game between %s and %s (%d moves) was saved.%n"
+                        + "Do you want to resume it?",
+                saved.getPlayerOneName(), saved.getPlayerTwoName(), saved.getMoveCount()));
+        ButtonType yesButton = new ButtonType("Yes");
+        ButtonType noButton = new ButtonType("No");
+        alert.getButtonTypes().setAll(yesButton, noButton);
+
+        Optional<ButtonType> result = alert.showAndWait();
+        if (result.isPresent() && result.get() == yesButton && resumeGame(saved)) return;
+
+        gameRecorder.resumeGame(saved);
+        gameRecorder.abandonGame();
+        gameJournal.endGame();
+    }
+
+    /**
+     * Replays a recovered game into the game logic and opens its board.
+     *
+     * @param saved the recovered game
+     * @return false if the moves do not form a game that can be continued
+     */
+    private boolean resumeGame(SavedGame saved) {
+        gameState.reset();
+        gameLogic.resetBoard();
+        for (byte col : saved.getMoves()) {
+            int player = gameState.getCurrentPlayer();
+            if (!gameLogic.makeMove(col, player) || gameLogic.checkWinState(player)) {
+                System.err.println("Autosaved game cannot be resumed; it is over or corrupt.");
+                gameState.reset();
+                gameLogic.resetBoard();
+                return false;
+            }
+            gameState.incrementMoveCount();
+            gameState.switchPlayer();
+        }
+        if (gameLogic.isBoardFull()) {
+            gameState.reset();
+            gameLogic.resetBoard();
+            return false;
+        }
+
+        playerSettings.setPlayerOneName(saved.getPlayerOneName());
+        playerSettings.setPlayerTwoName(saved.getPlayerTwoName());
+        vsComputer = saved.getMode() == PlayerMode.PLAYER_VS_COMPUTER;
+        loadBoard(vsComputer ? "Player vs. Computer" : "Player vs. Player", saved);
+        return true;
+    }
+
+    /**
+     * Returns the shared game database, used by the replay viewer.
+     *
+     * @return the open database, or null if it could not be opened or is not open yet
+     */
+    public static GameDatabase getGameDatabase() {
+        return gameDatabase;
+    }
+
+    /**
+     * Looks up how often the current board position was reached in recorded games.
+     *
+     * @return the statistics for the current position, or null if the index is unavailable
+     *         or not open yet
+     */
+    public PositionStats getPositionStats() {
+        return positionIndex == null ? null : positionIndex.lookup(gameLogic.getBoard());
+    }
+
+    /** Starts playing the background music if not already playing. */
+    public static void playBackgroundMusic() {
+        if (isMusicPlaying()) return;  // Already playing
+
+        stopBackgroundMusic();  // Just in case something's hanging
+
+        try {
+            URL musicURL = GameController.class.getResource("/sound/background_music.wav");
+            if (musicURL != null) {
+                Media media = new Media(musicURL.toURI().toString());
+                backgroundPlayer = new MediaPlayer(media);
+                backgroundPlayer.setCycleCount(MediaPlayer.INDEFINITE);
+                backgroundPlayer.play();
+            } else {
+                System.err.println("Background music file not found.");
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to play background music: " + e.getMessage());
+        }
+    }
+
+    /** Stops the background music if it is currently playing. */
+    public static void stopBackgroundMusic() {
+        if (backgroundPlayer != null) {
+            backgroundPlayer.stop();
+            backgroundPlayer.dispose();
+            backgroundPlayer = null;
+        }
+    }
+
+    /**
+     * Resets the game state and reloads the board to start a new game.
+     *
+     * @param labelText the mode label to reload
+     */
+    public void playAgain(String labelText) {
+        loadBoard(labelText);
+    }
+
+    /**
+     * Displays an information or confirmation dialog. Offers replay if the game has ended.
+     *
+     * @param message    the message to show
+     * @param closeGame  if true, prompts to restart the game
+     * @param labelText  current game mode label
+     */
+    private void displayMessage(String message, boolean closeGame, String labelText) {
+        Platform.runLater(() -> {
+            Alert alert;
+            if (closeGame) {
+                alert = new Alert(Alert.AlertType.CONFIRMATION);
+                alert.setTitle("Game Over");
+                alert.setHeaderText(null);
+                alert.setContentText(message + "\nDo you want to play again?");
+
+                ButtonType yesButton = new ButtonType("Yes");
+                ButtonType noButton = new ButtonType("No");
+                alert.getButtonTypes().setAll(yesButton, noButton);
+
+                alert.setResultConverter(buttonType -> {
+                    if (buttonType == yesButton) return ButtonType.YES;
+                    if (buttonType == noButton) return ButtonType.NO;
+                    return null;
+                });
+            } else {
+                alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Game Over");
+                alert.setHeaderText(null);
+                alert.setContentText(message);
+            }
+
+            Optional<ButtonType> result = alert.showAndWait();
+
+            if (closeGame && result.isPresent() && result.get() == ButtonType.YES) {
+                playAgain(labelText);
+            } else {
+                // Only return to main menu if this is not the "column full" message
+                if (!"Column is full. Please choose another column!".equals(message)) {
+                    Platform.runLater(this::showMainMenu);
+                }
+                // Otherwise, do nothing and let the game continue
+            }
+        });
+    }
+
+    /**
+     * Exits the application. {@link GUI#stop()} then runs {@link #shutdown()}, as it does
+     * for every other way the application ends, so a game in progress stays in the
+     * autosave journal and queued game records are written.
+     */
+    public void closeApplication() {
+        Platform.exit();
+    }
+
+    /**
+     * Flushes and closes the journal, the recorder, the position index and the game
+     * database, in that order so records still queued reach the database. Only the first
+     * call has an effect.
+     */
+    public static synchronized void shutdown() {
+        if (shutDown) return;
+        shutDown = true;
+
+        if (gameJournal != null) {
+            gameJournal.close();
+            gameRecorder.close();
+        }
+        if (positionIndex != null) {
+            positionIndex.close();
+        }
+        if (gameDatabase != null) {
+            try {
+                gameDatabase.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close game database: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ui;
+
+import animations.AnimationSpeed;
+import javafx.application.Platform;
+import java.util.Locale;
+
+/**
+ * Exposes the settings of a {@link GameController} as {@link GameSettingsMXBean}.
+ * Changes arrive on JMX threads and are handed to the JavaFX Application Thread, where
+ * the controller applies them as if chosen from the Settings menu.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class GameSettings implements GameSettingsMXBean {
+    private final GameController controller;
+
+    /**
+     * Creates the settings bean for a controller.
+     *
+     * @param controller the controller whose settings are exposed
+     */
+    GameSettings(GameController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public String getAnimationSpeed() {
+        return FxThread.call(() -> controller.getAnimationSpeed().name(), "");
+    }
+
+    @Override
+    public void setAnimationSpeed(String speed) {
+        AnimationSpeed parsed;
+        try {
+            parsed = AnimationSpeed.valueOf(speed.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Animation speed must be NORMAL, FAST or INSTANT: " + speed);
+        }
+        Platform.runLater(() -> controller.setAnimationSpeed(parsed));
+    }
+
+    @Override
+    public long getAISearchBudgetMillis() {
+        return controller.getAISearchBudgetMillis();
+    }
+
+    @Override
+    public void setAISearchBudgetMillis(long millis) {
+        controller.setAISearchBudgetMillis(millis);
+    }
+
+    @Override
+    public boolean isMusicEnabled() {
+        return FxThread.call(controller::isMusicEnabled, false);
+    }
+
+    @Override
+    public void setMusicEnabled(boolean enabled) {
+        Platform.runLater(() -> controller.setMusicEnabled(enabled));
+    }
+
+    @Override
+    public boolean isDropSoundEnabled() {
+        return FxThread.call(controller::isDropSoundEnabled, false);
+    }
+
+    @Override
+    public void setDropSoundEnabled(boolean enabled) {
+        Platform.runLater(() -> controller.setDropSoundEnabled(enabled));
+    }
+}
@@ -0,0 +1,55 @@
+package ui;
+
+/**
+ * Settings of the running game that can be changed without a restart, registered as
+ * {@code connect4:type=Settings}. Changes take effect from the next move or animation.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public interface GameSettingsMXBean {
+
+    /** @return the animation speed: NORMAL, FAST or INSTANT */
+    String getAnimationSpeed();
+
+    /**
+     * Sets how fast pieces drop and how long the computer pauses before moving.
+     *
+     * @param speed NORMAL, FAST or INSTANT, in any case
+     * @throws IllegalArgumentException if the speed is not one of those
+     */
+    void setAnimationSpeed(String speed);
+
+    /** @return the time limit for the computer's search in milliseconds, or 0 for none */
+    long getAISearchBudgetMillis();
+
+    /**
+     * Limits how long the computer may search for a move. Searching difficulties then
+     * deepen one ply at a time up to their usual depth and play the deepest search
+     * finished within the budget; 0 restores the fixed-depth search.
+     *
+     * @param millis the budget in milliseconds, or 0 for none
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    void setAISearchBudgetMillis(long millis);
+
+    /** @return true if background music is turned on */
+    boolean isMusicEnabled();
+
+    /**
+     * Turns background music on or off.
+     *
+     * @param enabled true to play music
+     */
+    void setMusicEnabled(boolean enabled);
+
+    /** @return true if the drop sound is turned on */
+    boolean isDropSoundEnabled();
+
+    /**
+     * Turns the drop sound on or off.
+     *
+     * @param enabled true to play the sound
+     */
+    void setDropSoundEnabled(boolean enabled);
+}
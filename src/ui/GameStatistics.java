@@ -0,0 +1,237 @@
+package ui;
+
+import animations.AnimationRegistry;
+import java.beans.ConstructorProperties;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts games, moves and AI move times for {@link GameStatisticsMXBean}.
+ * <p>
+ * The game records its events from the JavaFX Application Thread and JMX reads them
+ * from its own threads, so the counters are guarded by this object's lock. The move
+ * rate and the AI move times are kept in fixed-size rings, the latter one per
+ * difficulty, and sorted only when read, so recording never allocates. Animation counts
+ * and the audio state are read on the JavaFX Application Thread.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class GameStatistics implements GameStatisticsMXBean {
+    private static final int LATENCY_SAMPLES = 512;
+    private static final int MOVE_SAMPLES = 1024;
+    private static final long RATE_WINDOW_NANOS = 60_000_000_000L;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long[] moveTimes = new long[MOVE_SAMPLES];
+    private final Map<String, LatencySamples> aiLatency = new LinkedHashMap<>();
+    private int moveIndex;
+    private long gamesStarted;
+    private long gamesFinished;
+    private long movesPlayed;
+    private long dropSoundsPlayed;
+
+    /**
+     * Records that a game was started or resumed.
+     */
+    public synchronized void gameStarted() {
+        gamesStarted++;
+    }
+
+    /**
+     * Records that a game ended in a win or a draw.
+     */
+    public synchronized void gameFinished() {
+        gamesFinished++;
+    }
+
+    /**
+     * Records a move played by a player or the computer.
+     */
+    public synchronized void moveMade() {
+        movesPlayed++;
+        moveTimes[moveIndex] = System.nanoTime();
+        moveIndex = (moveIndex + 1) % MOVE_SAMPLES;
+    }
+
+    /**
+     * Records how long the computer took to choose a move.
+     *
+     * @param difficulty the AI's difficulty
+     * @param nanos      the time spent choosing, in nanoseconds
+     */
+    public synchronized void recordAIMove(String difficulty, long nanos) {
+        if (nanos < 0) return;
+        aiLatency.computeIfAbsent(difficulty, d -> new LatencySamples()).add(nanos);
+    }
+
+    /**
+     * Records that the drop sound was played.
+     */
+    public synchronized void dropSoundPlayed() {
+        dropSoundsPlayed++;
+    }
+
+    @Override
+    public synchronized long getGamesStarted() {
+        return gamesStarted;
+    }
+
+    @Override
+    public synchronized long getGamesFinished() {
+        return gamesFinished;
+    }
+
+    @Override
+    public synchronized long getMovesPlayed() {
+        return movesPlayed;
+    }
+
+    @Override
+    public synchronized double getMovesPerSecond() {
+        long since = System.nanoTime() - RATE_WINDOW_NANOS;
+        int recent = 0;
+        int recorded = (int) Math.min(movesPlayed, MOVE_SAMPLES);
+        for (int i = 0; i < recorded; i++) {
+            if (moveTimes[i] - since > 0) recent++;
+        }
+        return recent / (RATE_WINDOW_NANOS / 1e9);
+    }
+
+    @Override
+    public synchronized List<AILatency> getAILatency() {
+        List<AILatency> latencies = new ArrayList<>();
+        for (Map.Entry<String, LatencySamples> entry : aiLatency.entrySet()) {
+            latencies.add(entry.getValue().summarize(entry.getKey()));
+        }
+        return latencies;
+    }
+
+    @Override
+    public synchronized void resetAILatency() {
+        aiLatency.clear();
+    }
+
+    @Override
+    public int getActiveAnimations() {
+        return FxThread.call(AnimationRegistry::getActiveAnimationCount, -1);
+    }
+
+    @Override
+    public int getActiveTimers() {
+        return FxThread.call(AnimationRegistry::getActiveTimerCount, -1);
+    }
+
+    @Override
+    public synchronized long getDropSoundsPlayed() {
+        return dropSoundsPlayed;
+    }
+
+    @Override
+    public boolean isDropSoundPlaying() {
+        return FxThread.call(GameController::isDropSoundPlaying, false);
+    }
+
+    @Override
+    public boolean isMusicPlaying() {
+        return GameController.isMusicPlaying();
+    }
+
+    /**
+     * The most recent AI move times of one difficulty, overwriting the oldest when full.
+     */
+    private static final class LatencySamples {
+        private final long[] samples = new long[LATENCY_SAMPLES];
+        private long count;
+        private long max;
+
+        void add(long nanos) {
+            samples[(int) (count % LATENCY_SAMPLES)] = nanos;
+            count++;
+            max = Math.max(max, nanos);
+        }
+
+        AILatency summarize(String difficulty) {
+            int size = (int) Math.min(count, LATENCY_SAMPLES);
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new AILatency(difficulty, count,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    max / NANOS_PER_MILLI);
+        }
+
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) return 0;
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / NANOS_PER_MILLI;
+        }
+    }
+
+    /**
+     * How long the computer took to choose its moves at one difficulty. The percentiles
+     * cover the last {@value #LATENCY_SAMPLES} moves; the count and maximum cover all.
+     */
+    public static final class AILatency {
+        private final String difficulty;
+        private final long moves;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        /**
+         * Creates a latency summary.
+         *
+         * @param difficulty the AI's difficulty
+         * @param moves      the number of moves recorded
+         * @param p50Millis  the median move time in milliseconds
+         * @param p90Millis  the 90th percentile move time in milliseconds
+         * @param p99Millis  the 99th percentile move time in milliseconds
+         * @param maxMillis  the longest move time in milliseconds
+         */
+        @ConstructorProperties({"difficulty", "moves", "p50Millis", "p90Millis", "p99Millis", "maxMillis"})
+        public AILatency(String difficulty, long moves, double p50Millis, double p90Millis,
+                         double p99Millis, double maxMillis) {
+            this.difficulty = difficulty;
+            this.moves = moves;
+            this.p50Millis = p50Millis;
+            this.p90Millis = p90Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        /** @return the AI's difficulty */
+        public String getDifficulty() {
+            return difficulty;
+        }
+
+        /** @return the number of moves recorded */
+        public long getMoves() {
+            return moves;
+        }
+
+        /** @return the median move time in milliseconds */
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        /** @return the 90th percentile move time in milliseconds */
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        /** @return the 99th percentile move time in milliseconds */
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        /** @return the longest move time in milliseconds */
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ui;
+
+import java.util.List;
+
+/**
+ * Live statistics of the running game, registered as {@code connect4:type=Statistics}
+ * so JConsole or a local scraper can watch an instance.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public interface GameStatisticsMXBean {
+
+    /** @return the number of games started since launch, including resumed ones */
+    long getGamesStarted();
+
+    /** @return the number of games played to a win or a draw since launch */
+    long getGamesFinished();
+
+    /** @return the number of moves played since launch, by players and the computer */
+    long getMovesPlayed();
+
+    /** @return the average number of moves per second over the last minute */
+    double getMovesPerSecond();
+
+    /** @return the computer's move time percentiles, one entry per difficulty that has moved */
+    List<GameStatistics.AILatency> getAILatency();
+
+    /** @return the number of registered animations that have not finished, or -1 if unavailable */
+    int getActiveAnimations();
+
+    /** @return the number of animation timers currently running, or -1 if unavailable */
+    int getActiveTimers();
+
+    /** @return the number of drop sounds played since launch */
+    long getDropSoundsPlayed();
+
+    /** @return true if the drop sound clip is currently playing */
+    boolean isDropSoundPlaying();
+
+    /** @return true if background music is currently playing */
+    boolean isMusicPlaying();
+
+    /**
+     * Forgets the recorded AI move times.
+     */
+    void resetAILatency();
+}
@@ -0,0 +1,71 @@
+package ui;
+
+import javafx.scene.image.Image;
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads images from the application's resources once and shares them between screens.
+ * <p>
+ * The first request for an image starts decoding it on a JavaFX background thread and
+ * returns immediately; later requests get the same {@link Image}, finished or not.
+ * Callers that need to show something before the image is ready can check
+ * {@link Image#getProgress()} and listen to its progress property. An image that ends
+ * in an error is not kept, so the next request tries to load it again.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public final class ImageCache {
+    private static final Map<String, Optional<Image>> images = new ConcurrentHashMap<>();
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns the cached image for a resource, starting to load it if this is the first
+     * request. A resource that does not exist is reported once and then remembered as
+     * missing. An image that failed to decode is dropped from the cache, and loading it
+     * is started again.
+     *
+     * @param resource the absolute resource path, e.g. {@code /images/menu_background.png}
+     * @return the image, possibly still loading, or null if the resource does not exist
+     */
+    public static Image get(String resource) {
+        Optional<Image> image = images.computeIfAbsent(resource, ImageCache::load);
+        if (image.isPresent() && image.get().isError()) {
+            images.remove(resource, image);
+            image = images.computeIfAbsent(resource, ImageCache::load);
+        }
+        return image.orElse(null);
+    }
+
+    /**
+     * Starts loading an image so that it is ready by the time it is first shown.
+     *
+     * @param resource the absolute resource path
+     */
+    public static void preload(String resource) {
+        get(resource);
+    }
+
+    private static Optional<Image> load(String resource) {
+        URL url = ImageCache.class.getResource(resource);
+        if (url == null) {
+            System.err.println("Error: image not found: " + resource);
+            return Optional.empty();
+        }
+        Image image = new Image(url.toExternalForm(), true);
+        Optional<Image> entry = Optional.of(image);
+        // Forget a failed decode as soon as it is known, not just on the next request
+        image.errorProperty().addListener((obs, wasError, isError) -> {
+            if (isError) {
+                images.remove(resource, entry);
+            }
+        });
+        return entry;
+    }
+}
@@ -10,6 +10,7 @@ package ui;
  */
 public class Main {
     public static void main(String[] args) {
+        StartupTimer.mark("main");
         GUI.main(args);
     }
 }
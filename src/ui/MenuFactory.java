@@ -1,12 +1,16 @@
 package ui;
 
+import animations.AnimationSpeed;
 import javafx.scene.control.Alert;
 import javafx.scene.control.CheckMenuItem;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.RadioMenuItem;
+import javafx.scene.control.ToggleGroup;
 import javafx.stage.Stage;
-import logic.GameController;
+import storage.GameResult;
+import storage.PositionStats;
 
 /**
  * A factory class responsible for creating the menu bar in the Connect 4 GUI.
@@ -47,8 +51,8 @@ public class MenuFactory {
     /**
      * Creates the full menu bar, including:
      * <ul>
-     *     <li>File menu (Main Menu, Exit)</li>
-     *     <li>Settings menu (Player Preferences, Sounds)</li>
+     *     <li>File menu (Main Menu, Position Statistics, Exit)</li>
+     *     <li>Settings menu (Player Preferences, Sounds, Animation Speed, Performance Overlay)</li>
      *     <li>Help menu (How to Play)</li>
      * </ul>
      *
@@ -61,15 +65,15 @@ public class MenuFactory {
         Menu fileMenu = new Menu("File");
 
         MenuItem mainMenuItem = new MenuItem("Main Menu");
-        mainMenuItem.setOnAction(e -> {
-            controller.stopBackgroundMusic(); // Stop existing music
-            new GUI().start(primaryStage);    // Reload initial GUI
-        });
+        mainMenuItem.setOnAction(e -> controller.showMainMenu());
 
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> onExit.run());
 
-        fileMenu.getItems().addAll(mainMenuItem, exitItem);
+        MenuItem positionStatsItem = new MenuItem("Position Statistics");
+        positionStatsItem.setOnAction(e -> showPositionStats());
+
+        fileMenu.getItems().addAll(mainMenuItem, positionStatsItem, exitItem);
 
         // Settings Menu
         Menu settingsMenu = new Menu("Settings");
@@ -84,19 +88,9 @@ public class MenuFactory {
         Menu soundsSubMenu = new Menu("Sounds");
 
         CheckMenuItem toggleMusic = new CheckMenuItem("Background Music");
-        toggleMusic.setSelected(true);
-        toggleMusic.setOnAction(e -> {
-            if (toggleMusic.isSelected()) {
-                if (!GameController.isMusicPlaying()) {
-                    controller.playBackgroundMusic();
-                }
-            } else {
-                controller.stopBackgroundMusic();
-            }
-        });
+        toggleMusic.setOnAction(e -> controller.setMusicEnabled(toggleMusic.isSelected()));
 
         CheckMenuItem toggleDropSound = new CheckMenuItem("Piece Drop Sound");
-        toggleDropSound.setSelected(true);
         toggleDropSound.setOnAction(e -> controller.setDropSoundEnabled(toggleDropSound.isSelected()));
 
         soundsSubMenu.getItems().addAll(toggleMusic, toggleDropSound);
@@ -104,6 +98,32 @@ public class MenuFactory {
         // Add sounds submenu to settings menu
         settingsMenu.getItems().add(soundsSubMenu);
 
+        // Animation speed submenu under Settings
+        Menu speedSubMenu = new Menu("Animation Speed");
+        ToggleGroup speedGroup = new ToggleGroup();
+        RadioMenuItem[] speedItems = new RadioMenuItem[AnimationSpeed.values().length];
+        for (AnimationSpeed speed : AnimationSpeed.values()) {
+            RadioMenuItem speedItem = new RadioMenuItem(speed.getLabel());
+            speedItem.setToggleGroup(speedGroup);
+            speedItem.setOnAction(e -> controller.setAnimationSpeed(speed));
+            speedSubMenu.getItems().add(speedItem);
+            speedItems[speed.ordinal()] = speedItem;
+        }
+        settingsMenu.getItems().add(speedSubMenu);
+
+        CheckMenuItem togglePerformanceOverlay = new CheckMenuItem("Performance Overlay");
+        togglePerformanceOverlay.setOnAction(e ->
+                controller.setPerformanceOverlayEnabled(togglePerformanceOverlay.isSelected()));
+        settingsMenu.getItems().add(togglePerformanceOverlay);
+
+        // The settings are shared by every board, so show their current values on each opening
+        settingsMenu.setOnShowing(e -> {
+            toggleMusic.setSelected(controller.isMusicEnabled());
+            toggleDropSound.setSelected(controller.isDropSoundEnabled());
+            speedItems[controller.getAnimationSpeed().ordinal()].setSelected(true);
+            togglePerformanceOverlay.setSelected(controller.isPerformanceOverlayEnabled());
+        });
+
         // Help Menu
         Menu helpMenu = new Menu("Help");
         MenuItem howToPlay = new MenuItem("How to Play");
@@ -114,6 +134,32 @@ public class MenuFactory {
         return menuBar;
     }
 
+    /**
+     * Displays how often the current board position occurred in recorded games and how
+     * those games ended.
+     */
+    private void showPositionStats() {
+        PositionStats stats = controller.getPositionStats();
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.initOwner(primaryStage);
+        alert.setTitle("Position Statistics");
+        alert.setHeaderText("Current Position");
+        if (stats == null) {
+            alert.setContentText("The game database is not available.");
+        } else if (stats.getGames() == 0) {
+            alert.setContentText("This position has not been reached in any recorded game.");
+        } else {
+            alert.setContentText(String.format(
+                    "Reached in %d recorded games.%n%n• Player 1 wins: %d%n• Player 2 wins: %d%n• Draws: %d%n• Unfinished: %d",
+                    stats.getGames(),
+                    stats.getCount(GameResult.PLAYER_ONE_WIN),
+                    stats.getCount(GameResult.PLAYER_TWO_WIN),
+                    stats.getCount(GameResult.DRAW),
+                    stats.getCount(GameResult.UNFINISHED)));
+        }
+        alert.showAndWait();
+    }
+
     /**
      * Displays a pop-up dialog explaining the rules of Connect 4.
      */
@@ -0,0 +1,43 @@
+package ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for one move on the game board, from
+ * {@link GameController#dropPiece(int, String)} to the end of the controller's post-move
+ * handling, so it includes the drop animation. Disabled unless a recording enables
+ * {@code connect4.Move}.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+@Name("connect4.Move")
+@Label("Move")
+@Category({"Connect 4", "Game"})
+@Description("A piece dropped on the board, from the click or AI decision to the board being updated")
+@StackTrace(false)
+final class MoveEvent extends Event {
+    @Label("Mode")
+    String mode;
+
+    @Label("Player")
+    int player;
+
+    @Label("Column")
+    int column;
+
+    @Label("Row")
+    int row;
+
+    @Label("Move Number")
+    int moveNumber;
+
+    @Label("Outcome")
+    @Description("WIN, DRAW or NONE if the game goes on")
+    String outcome;
+}
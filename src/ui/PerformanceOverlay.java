@@ -0,0 +1,206 @@
+package ui;
+
+import animations.AnimationRegistry;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.text.Font;
+import java.util.Arrays;
+
+/**
+ * A debug overlay drawn in the corner of the game board that reports frame rate,
+ * pulse duration percentiles, scene-graph size, active animations, heap usage and
+ * the last AI search time. Sampling only runs while the overlay is showing.
+ * <p>
+ * The pulse duration is measured on the JavaFX Application Thread from the
+ * animation phase of a pulse (when timers run) to the end of its layout pass,
+ * which covers animations, CSS and layout but not the render thread.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 3.0
+ */
+public class PerformanceOverlay {
+    private static final int SAMPLE_COUNT = 240;
+    private static final long REFRESH_INTERVAL_NANOS = 500_000_000L;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private final StackPane root;
+    private final GameController controller;
+    private final Label label = new Label();
+    private final long[] pulseSamples = new long[SAMPLE_COUNT];
+    private final long[] sortedSamples = new long[SAMPLE_COUNT];
+    private final Runnable postLayoutListener = this::onPostLayout;
+    private int sampleCount;
+    private int nextSample;
+    private long pulseStartNanos;
+    private long lastRefreshNanos;
+    private int framesSinceRefresh;
+    private Scene attachedScene;
+    private boolean showing;
+
+    private final AnimationTimer frameTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onFrame();
+        }
+    };
+
+    /**
+     * Constructs the overlay and adds its (initially hidden) label to the root pane.
+     *
+     * @param root       the board's root pane; the overlay is pinned to its top-right corner
+     * @param controller the game controller, queried for the last AI search time
+     */
+    public PerformanceOverlay(StackPane root, GameController controller) {
+        this.root = root;
+        this.controller = controller;
+
+        label.setFont(Font.font("Monospaced", 12));
+        label.setStyle("-fx-background-color: rgba(0, 0, 0, 0.7); -fx-text-fill: white; -fx-padding: 6;");
+        label.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        StackPane.setAlignment(label, Pos.TOP_RIGHT);
+        StackPane.setMargin(label, new Insets(30, 10, 0, 0));
+
+        root.getChildren().add(label);
+    }
+
+    /**
+     * Shows or hides the overlay, starting or stopping sampling accordingly. Showing
+     * it again restarts sampling if it was stopped because the board left the stage.
+     *
+     * @param show true to show the overlay, false to hide it
+     */
+    public void setShowing(boolean show) {
+        if (show == showing && (!show || AnimationRegistry.isRegistered(frameTimer))) return;
+        showing = show;
+        label.setVisible(show);
+
+        if (show) {
+            sampleCount = 0;
+            nextSample = 0;
+            framesSinceRefresh = 0;
+            lastRefreshNanos = System.nanoTime();
+            label.toFront();
+            detachPulseListener();
+            AnimationRegistry.startTimer(root, frameTimer);
+        } else {
+            AnimationRegistry.stopTimer(frameTimer);
+            detachPulseListener();
+        }
+    }
+
+    /**
+     * Marks the start of a pulse and refreshes the text twice a second.
+     */
+    private void onFrame() {
+        pulseStartNanos = System.nanoTime();
+        framesSinceRefresh++;
+
+        if (root.getScene() != attachedScene) {
+            detachPulseListener();
+            attachedScene = root.getScene();
+            if (attachedScene != null) {
+                attachedScene.addPostLayoutPulseListener(postLayoutListener);
+            }
+        }
+
+        long elapsed = pulseStartNanos - lastRefreshNanos;
+        if (elapsed >= REFRESH_INTERVAL_NANOS) {
+            refresh(framesSinceRefresh * 1e9 / elapsed);
+            framesSinceRefresh = 0;
+            lastRefreshNanos = pulseStartNanos;
+        }
+    }
+
+    /**
+     * Records the duration of the pulse that has just finished its layout pass.
+     */
+    private void onPostLayout() {
+        if (pulseStartNanos == 0) return;
+
+        pulseSamples[nextSample] = System.nanoTime() - pulseStartNanos;
+        nextSample = (nextSample + 1) % SAMPLE_COUNT;
+        sampleCount = Math.min(sampleCount + 1, SAMPLE_COUNT);
+        pulseStartNanos = 0;
+    }
+
+    /**
+     * Removes the pulse listener from the scene it was attached to, if any.
+     */
+    private void detachPulseListener() {
+        if (attachedScene != null) {
+            attachedScene.removePostLayoutPulseListener(postLayoutListener);
+            attachedScene = null;
+        }
+    }
+
+    /**
+     * Rebuilds the overlay text from the latest samples.
+     *
+     * @param fps the frame rate measured since the previous refresh
+     */
+    private void refresh(double fps) {
+        System.arraycopy(pulseSamples, 0, sortedSamples, 0, sampleCount);
+        Arrays.sort(sortedSamples, 0, sampleCount);
+
+        Runtime runtime = Runtime.getRuntime();
+        long usedMb = (runtime.totalMemory() - runtime.freeMemory()) / BYTES_PER_MB;
+        long totalMb = runtime.totalMemory() / BYTES_PER_MB;
+
+        long aiNanos = controller.getLastAISearchNanos();
+        String aiText = aiNanos < 0 ? "-" : String.format("%.1f ms", aiNanos / NANOS_PER_MILLI);
+
+        label.setText(String.format(
+                "FPS:        %.1f%n"
+                        + "Pulse ms:   p50 %.2f  p95 %.2f  p99 %.2f%n"
+                        + "Nodes:      %d%n"
+                        + "Timers:     %d  Animations: %d%n"
+                        + "Heap:       %d / %d MB%n"
+                        + "AI search:  %s",
+                fps,
+                percentile(0.50), percentile(0.95), percentile(0.99),
+                countNodes(root.getScene() != null ? root.getScene().getRoot() : root),
+                AnimationRegistry.getActiveTimerCount(), AnimationRegistry.getActiveAnimationCount(),
+                usedMb, totalMb,
+                aiText
+        ));
+    }
+
+    /**
+     * Returns a percentile of the sorted pulse samples.
+     *
+     * @param fraction the percentile as a fraction (e.g. 0.95)
+     * @return the sample at that percentile in milliseconds, or 0 if there are no samples
+     */
+    private double percentile(double fraction) {
+        if (sampleCount == 0) return 0;
+        int index = Math.min(sampleCount - 1, (int) Math.ceil(fraction * sampleCount) - 1);
+        return sortedSamples[Math.max(0, index)] / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Counts a node and all of its descendants.
+     *
+     * @param node the subtree root
+     * @return the number of nodes in the subtree
+     */
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,105 @@
+package ui;
+
+import animations.AnimationRegistry;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+
+/**
+ * Emits a {@link SlowPulseEvent} for every pulse of the game window that takes longer
+ * than the recording's threshold.
+ * <p>
+ * A pulse is timed like in {@link PerformanceOverlay}: from an AnimationTimer, which runs
+ * in the pulse's animation phase, to a post-layout pulse listener on the scene. Because
+ * a running AnimationTimer makes JavaFX pulse every frame, the monitor only runs while a
+ * Flight Recorder recording has the event enabled; it follows recordings being started
+ * and stopped, including ones started later with {@code jcmd JFR.start}. The timer
+ * belongs to the window rather than to a view, so it is not registered with
+ * {@link AnimationRegistry}.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+final class PulseMonitor {
+    private final Stage stage;
+    private final Scene scene;
+    private final Runnable postLayoutListener = this::onPostLayout;
+    private SlowPulseEvent event;
+    private boolean running;
+
+    private final AnimationTimer pulseTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulseStart();
+        }
+    };
+
+    private PulseMonitor(Stage stage, Scene scene) {
+        this.stage = stage;
+        this.scene = scene;
+    }
+
+    /**
+     * Starts watching the pulses of a window's scene whenever a recording enables
+     * {@code connect4.SlowPulse}.
+     *
+     * @param stage the window, whose title names the view in each event
+     * @param scene the scene shown in the window for the lifetime of the application
+     */
+    static void install(Stage stage, Scene scene) {
+        if (!FlightRecorder.isAvailable()) return;
+
+        PulseMonitor monitor = new PulseMonitor(stage, scene);
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                Platform.runLater(monitor::update);
+            }
+        });
+        monitor.update();
+    }
+
+    /**
+     * Starts or stops timing pulses to match whether the event is currently recorded.
+     */
+    private void update() {
+        // Checking isInitialized first keeps Flight Recorder from starting up just to say no
+        boolean enabled = FlightRecorder.isInitialized()
+                && EventType.getEventType(SlowPulseEvent.class).isEnabled();
+        if (enabled == running) return;
+        running = enabled;
+
+        if (enabled) {
+            scene.addPostLayoutPulseListener(postLayoutListener);
+            pulseTimer.start();
+        } else {
+            pulseTimer.stop();
+            scene.removePostLayoutPulseListener(postLayoutListener);
+            event = null;
+        }
+    }
+
+    private void onPulseStart() {
+        event = new SlowPulseEvent();
+        event.begin();
+    }
+
+    private void onPostLayout() {
+        if (event == null) return;
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.view = stage.getTitle();
+            event.activeTimers = AnimationRegistry.getActiveTimerCount();
+            event.activeAnimations = AnimationRegistry.getActiveAnimationCount();
+            event.commit();
+        }
+        event = null;
+    }
+}
@@ -0,0 +1,338 @@
+package ui;
+
+import animations.AnimationRegistry;
+import animations.EffectScheduler;
+import animations.GameAnimator;
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.Slider;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontPosture;
+import javafx.scene.text.FontWeight;
+import javafx.util.Duration;
+import logic.GameReplay;
+import storage.GameCursor;
+import storage.GameDatabase;
+import storage.GameRecord;
+import storage.PlayerMode;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A screen for watching recorded games from the game database.
+ * <p>
+ * Playing drops each piece with the usual {@link GameAnimator} animation. Stepping,
+ * jumping to either end and dragging the slider seek straight to the requested
+ * position: the board is rebuilt from the nearest {@link GameReplay} keyframe and only
+ * the cells that differ from what is shown are recolored, so scrubbing through a game
+ * stays responsive. Space toggles playback and the arrow keys step.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public class ReplayViewer {
+    private static final int RECENT_GAMES = 200;
+    private static final double MOVE_PAUSE_SECONDS = 0.4;
+    private static final double MIN_MOVE_PAUSE_SECONDS = 0.05;
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+    private final AppShell shell;
+    private final GameController controller;
+    private final PlayerSettings playerSettings;
+    private final StackPane root = new StackPane();
+    private final PauseTransition movePause = new PauseTransition();
+    private BoardRenderer boardRenderer;
+    private GameAnimator gameAnimator;
+    private ListView<ReplayEntry> gameList;
+    private Slider slider;
+    private Label moveLabel;
+    private Button playButton;
+
+    private GameReplay replay;
+    private int[][] shown = new int[6][7];
+    private int position;
+    private boolean playing;
+    private boolean updatingSlider;
+    // Incremented on every seek so callbacks of an interrupted drop are ignored
+    private int generation;
+
+    /**
+     * Constructs a replay viewer that shows in the application shell. The screen itself
+     * is built on the first call to {@link #show()}.
+     *
+     * @param shell the application shell, for its controller, player colors and animation speed
+     */
+    public ReplayViewer(AppShell shell) {
+        this.shell = shell;
+        this.controller = shell.getController();
+        this.playerSettings = controller.getPlayerSettings();
+    }
+
+    /**
+     * Shows the replay screen in place of the current view, with the list of games
+     * reloaded from the database and the newest one selected. The screen is built on
+     * the first visit and reused afterwards.
+     */
+    public void show() {
+        if (gameList == null) {
+            build();
+        }
+        stopPlayback();
+        gameAnimator.setSpeed(controller.getAnimationSpeed());
+        replay = null;
+        showPosition(0);
+
+        gameList.getSelectionModel().clearSelection();
+        gameList.getItems().setAll(loadRecentGames());
+        shell.show(root, "Connect4 Replays");
+        if (!gameList.getItems().isEmpty()) {
+            gameList.getSelectionModel().selectFirst();
+        }
+    }
+
+    /**
+     * Builds the replay screen.
+     */
+    private void build() {
+        root.setPrefSize(1150, 850);
+
+        boardRenderer = new BoardRenderer(root, new EffectScheduler(root));
+        GridPane grid = boardRenderer.createGrid();
+        gameAnimator = new GameAnimator(root, boardRenderer.getCircles());
+
+        gameList = new ListView<>();
+        gameList.setPlaceholder(new Label("No recorded games yet."));
+        gameList.setPrefWidth(330);
+        gameList.getSelectionModel().selectedItemProperty().addListener((obs, oldEntry, entry) -> {
+            if (entry != null) load(entry.record);
+        });
+
+        Button menuButton = new Button("Main Menu");
+        menuButton.setOnAction(e -> {
+            stopPlayback();
+            controller.showMainMenu();
+        });
+
+        Label title = new Label(" Replays ");
+        title.setFont(Font.font("Ariel", FontWeight.BOLD, FontPosture.ITALIC, 22));
+        HBox top = new HBox(20, menuButton, title);
+        top.setAlignment(Pos.CENTER_LEFT);
+        top.setPadding(new Insets(10));
+
+        Button startButton = new Button("|<");
+        Button backButton = new Button("<");
+        playButton = new Button("Play");
+        Button forwardButton = new Button(">");
+        Button endButton = new Button(">|");
+        startButton.setOnAction(e -> seek(0));
+        backButton.setOnAction(e -> seek(position - 1));
+        playButton.setOnAction(e -> togglePlayback());
+        forwardButton.setOnAction(e -> seek(position + 1));
+        endButton.setOnAction(e -> seek(replay == null ? 0 : replay.getMoveCount()));
+        for (Button button : new Button[]{startButton, backButton, playButton, forwardButton, endButton}) {
+            button.setPrefWidth(70);
+            button.setFocusTraversable(false);
+        }
+
+        moveLabel = new Label();
+        moveLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        HBox controls = new HBox(10, startButton, backButton, playButton, forwardButton, endButton, moveLabel);
+        controls.setAlignment(Pos.CENTER);
+
+        slider = new Slider(0, 0, 0);
+        slider.setMajorTickUnit(1);
+        slider.setMinorTickCount(0);
+        slider.setSnapToTicks(true);
+        slider.setFocusTraversable(false);
+        slider.valueProperty().addListener((obs, oldValue, newValue) -> {
+            if (!updatingSlider) seek((int) Math.round(newValue.doubleValue()));
+        });
+
+        VBox bottom = new VBox(10, slider, controls);
+        bottom.setPadding(new Insets(10, 20, 20, 20));
+
+        BorderPane layout = new BorderPane();
+        layout.setTop(top);
+        layout.setLeft(gameList);
+        layout.setCenter(grid);
+        layout.setBottom(bottom);
+        BorderPane.setMargin(gameList, new Insets(0, 10, 0, 10));
+        root.getChildren().add(layout);
+
+        root.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.SPACE) togglePlayback();
+            else if (e.getCode() == KeyCode.LEFT) seek(position - 1);
+            else if (e.getCode() == KeyCode.RIGHT) seek(position + 1);
+            else return;
+            e.consume();
+        });
+    }
+
+    /**
+     * Reads the most recent games from the database, newest first.
+     */
+    private List<ReplayEntry> loadRecentGames() {
+        List<ReplayEntry> entries = new ArrayList<>();
+        GameDatabase database = GameController.getGameDatabase();
+        if (database == null) return entries;
+
+        long size = database.size();
+        GameCursor games = database.cursor(Math.max(0, size - RECENT_GAMES), size);
+        while (games.next()) {
+            if (games.getMoveCount() > 0) {
+                entries.add(new ReplayEntry(games.getId(), games.toRecord()));
+            }
+        }
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    /**
+     * Loads a game and shows its starting position.
+     */
+    private void load(GameRecord record) {
+        try {
+            replay = new GameReplay(record);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Cannot replay game: " + e.getMessage());
+            replay = null;
+        }
+        updatingSlider = true;
+        slider.setMax(replay == null ? 0 : replay.getMoveCount());
+        updatingSlider = false;
+        seek(0);
+    }
+
+    /**
+     * Jumps to the position after the given number of moves, interrupting playback.
+     */
+    private void seek(int movesPlayed) {
+        if (replay == null) {
+            showPosition(0);
+            return;
+        }
+        stopPlayback();
+        showPosition(Math.max(0, Math.min(movesPlayed, replay.getMoveCount())));
+    }
+
+    /**
+     * Shows a position by recoloring only the cells that differ from the current board.
+     */
+    private void showPosition(int movesPlayed) {
+        int[][] next = replay == null ? new int[6][7] : replay.getBoardAfter(movesPlayed);
+        boardRenderer.applyBoardChanges(shown, next,
+                playerSettings.getPlayerOneColor(), playerSettings.getPlayerTwoColor());
+        shown = next;
+        position = movesPlayed;
+        updateControls();
+    }
+
+    private void togglePlayback() {
+        if (replay == null) return;
+        if (playing) {
+            stopPlayback();
+            updateControls();
+            return;
+        }
+        if (position == replay.getMoveCount()) {
+            showPosition(0);
+        }
+        playing = true;
+        generation++;
+        updateControls();
+        playNextMove();
+    }
+
+    /**
+     * Animates the next move, then waits briefly and continues until the game ends.
+     */
+    private void playNextMove() {
+        if (!playing) return;
+        if (position >= replay.getMoveCount()) {
+            playing = false;
+            updateControls();
+            return;
+        }
+
+        int ply = position;
+        int expected = generation;
+        Color color = replay.getPlayer(ply) == 1
+                ? playerSettings.getPlayerOneColor()
+                : playerSettings.getPlayerTwoColor();
+        gameAnimator.animateDrop(replay.getColumn(ply), replay.getRow(ply), color, () -> {
+            if (expected != generation) return;
+            showPosition(ply + 1);
+            movePause.setDuration(Duration.seconds(Math.max(MIN_MOVE_PAUSE_SECONDS,
+                    MOVE_PAUSE_SECONDS * controller.getAnimationSpeed().getDurationScale())));
+            movePause.setOnFinished(e -> {
+                if (expected == generation) playNextMove();
+            });
+            AnimationRegistry.play(root, movePause);
+        });
+    }
+
+    private void stopPlayback() {
+        playing = false;
+        generation++;
+        movePause.stop();
+        if (gameAnimator != null) {
+            gameAnimator.cancel();
+        }
+    }
+
+    private void updateControls() {
+        int total = replay == null ? 0 : replay.getMoveCount();
+        updatingSlider = true;
+        slider.setValue(position);
+        updatingSlider = false;
+        playButton.setText(playing ? "Pause" : "Play");
+        moveLabel.setText(replay == null ? "" : String.format("Move %d / %d", position, total));
+    }
+
+    /**
+     * A game in the list, described by date, mode, result and length.
+     */
+    private static final class ReplayEntry {
+        private final long id;
+        private final GameRecord record;
+
+        ReplayEntry(long id, GameRecord record) {
+            this.id = id;
+            this.record = record;
+        }
+
+        @Override
+        public String toString() {
+            String mode = record.getMode() == PlayerMode.PLAYER_VS_PLAYER
+                    ? "vs Player"
+                    : "vs Computer (" + record.getDifficulty() + ")";
+            String result = switch (record.getResult()) {
+                case PLAYER_ONE_WIN -> "Player 1 won";
+                case PLAYER_TWO_WIN -> "Player 2 won";
+                case DRAW -> "Draw";
+                case UNFINISHED -> "Unfinished";
+            };
+            return String.format("#%d  %s%n%s, %s, %d moves", id,
+                    DATE_FORMAT.format(Instant.ofEpochSecond(record.getStartEpochSeconds())),
+                    mode, result, record.getMoveCount());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for a JavaFX pulse on the game window, measured on the
+ * JavaFX Application Thread from its animation phase to the end of its layout pass.
+ * Only pulses longer than the recording's threshold for {@code connect4.SlowPulse} are
+ * kept. See {@link PulseMonitor}.
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+@Name("connect4.SlowPulse")
+@Label("Slow Pulse")
+@Category({"Connect 4", "JavaFX"})
+@Description("A JavaFX pulse whose animation, CSS and layout work took longer than the threshold")
+@StackTrace(false)
+final class SlowPulseEvent extends Event {
+    @Label("View")
+    @Description("Title of the window, which names the screen being shown")
+    String view;
+
+    @Label("Active Timers")
+    int activeTimers;
+
+    @Label("Active Animations")
+    int activeAnimations;
+}
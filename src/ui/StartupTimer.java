@@ -0,0 +1,142 @@
+package ui;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Measures how long the application takes to start, from the launch of the JVM to the
+ * first rendered frame of the main menu and the first frame at which it accepts input,
+ * and holds back work that is not needed for that first frame.
+ * <p>
+ * Phases are timed from the start of the JVM process when the operating system reports
+ * it, and from class initialisation otherwise. The report is printed once, when the menu
+ * becomes interactive. Tasks queued with {@link #afterFirstFrame(Runnable)} run after
+ * that, so loading music and other resources that are not visible does not delay it.
+ * </p>
+ * <p>
+ * With the system property {@code connect4.exitAfterStartup} set to true the application
+ * exits as soon as it is interactive; the build uses this for the AppCDS training run.
+ * </p>
+ *
+ * @author Weronika Golden
+ * @version 1.0
+ */
+public final class StartupTimer {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final long ORIGIN_NANOS;
+    private static final boolean FROM_JVM_START;
+
+    static {
+        long now = System.nanoTime();
+        Optional<Instant> processStart = ProcessHandle.current().info().startInstant();
+        FROM_JVM_START = processStart.isPresent();
+        ORIGIN_NANOS = processStart
+                .map(start -> now - Duration.between(start, Instant.now()).toNanos())
+                .orElse(now);
+    }
+
+    private static final Map<String, Long> phases = new LinkedHashMap<>();
+    private static final List<Runnable> deferredTasks = new ArrayList<>();
+    private static boolean firstFrameShown;
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Records that startup has reached the given phase. Only the first time each phase
+     * is reached counts, and nothing is recorded once the application is interactive.
+     *
+     * @param phase a short name for the phase, printed in the report
+     */
+    public static synchronized void mark(String phase) {
+        if (!firstFrameShown) {
+            phases.putIfAbsent(phase, System.nanoTime() - ORIGIN_NANOS);
+        }
+    }
+
+    /**
+     * Runs a task once the first frame has been shown and the application accepts input,
+     * or immediately if that has already happened. Must be called on the JavaFX
+     * Application Thread once the toolkit is running.
+     *
+     * @param task the work to defer, such as loading media
+     */
+    public static void afterFirstFrame(Runnable task) {
+        synchronized (StartupTimer.class) {
+            if (!firstFrameShown) {
+                deferredTasks.add(task);
+                return;
+            }
+        }
+        task.run();
+    }
+
+    /**
+     * Watches the scene that is about to be shown for the first time. Its first layout
+     * pulse marks the first frame; the next turn of the event loop, once that pulse has
+     * been rendered and input can be handled, marks the application as interactive and
+     * starts the deferred tasks. Later scenes are ignored.
+     *
+     * @param scene the first scene placed on the primary stage
+     */
+    public static void watchFirstFrame(Scene scene) {
+        synchronized (StartupTimer.class) {
+            if (firstFrameShown) return;
+        }
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            mark("first frame");
+            Platform.runLater(StartupTimer::onInteractive);
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    private static void onInteractive() {
+        List<Runnable> tasks;
+        synchronized (StartupTimer.class) {
+            mark("interactive");
+            firstFrameShown = true;
+            tasks = new ArrayList<>(deferredTasks);
+            deferredTasks.clear();
+        }
+        System.out.println(report());
+
+        if (Boolean.getBoolean("connect4.exitAfterStartup")) {
+            // Queued first so a dialog opened by a deferred task cannot hold it up
+            Platform.runLater(Platform::exit);
+        }
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                System.err.println("Deferred startup task failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Formats the recorded phases as a single line, e.g.
+     * {@code Startup (from JVM start): main 95 ms, start 310 ms, first frame 520 ms, interactive 540 ms}.
+     *
+     * @return the startup report
+     */
+    public static synchronized String report() {
+        StringBuilder sb = new StringBuilder(FROM_JVM_START
+                ? "Startup (from JVM start):" : "Startup (from class load):");
+        String separator = " ";
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            sb.append(separator).append(phase.getKey()).append(' ')
+                    .append(String.format("%.0f ms", phase.getValue() / NANOS_PER_MILLI));
+            separator = ", ";
+        }
+        return sb.toString();
+    }
+}